@@ -150,6 +150,35 @@ public interface DataAdapter {
      */
     CreateSmsAuthorizationResponse createAndSendAuthorizationSms(String userId, String organizationId, AccountStatus accountStatus, AuthMethod authMethod, OperationContext operationContext, String lang) throws InvalidOperationContextException, DataAdapterRemoteException;
 
+    /**
+     * Create authorization SMS message and send it idempotently. Repeated requests with the same operation,
+     * authentication method and request key receive the response of the first request, no other message is created.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param accountStatus User account status.
+     * @param authMethod Authentication method.
+     * @param operationContext Operation context.
+     * @param lang Language for localization.
+     * @param requestKey Client supplied request key, null in case the request is not idempotent.
+     * @return Message ID.
+     * @throws InvalidOperationContextException Thrown when operation context is invalid.
+     * @throws DataAdapterRemoteException Thrown when remote communication fails or SMS message could not be delivered.
+     */
+    CreateSmsAuthorizationResponse createAndSendAuthorizationSms(String userId, String organizationId, AccountStatus accountStatus, AuthMethod authMethod, OperationContext operationContext, String lang, String requestKey) throws InvalidOperationContextException, DataAdapterRemoteException;
+
+    /**
+     * Resend an existing authorization SMS message. The stored message text is sent again, the authorization code
+     * is not regenerated and the expiration of the message is reset.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID of the resent message.
+     * @param operationContext Operation context.
+     * @return Message ID and delivery result.
+     * @throws InvalidOperationContextException Thrown when operation context is invalid.
+     * @throws DataAdapterRemoteException Thrown when remote communication fails or SMS message could not be delivered.
+     */
+    CreateSmsAuthorizationResponse resendAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext) throws InvalidOperationContextException, DataAdapterRemoteException;
+
     /**
      * Send an authorization SMS message with generated authorization code, which is received as a parameter.
      * The authorization code is not expected to be stored by Data Adapter because it can be verified
@@ -42,6 +42,408 @@ public class DataAdapterConfiguration {
     @Value("${powerauth.authorization.sms-otp.max-verify-tries-per-message}")
     private int smsOtpMaxVerifyTriesPerMessage;
 
+    /**
+     * Whether SMS OTP verification uses a single conditional update statement.
+     */
+    @Value("${powerauth.authorization.sms-otp.atomic-verification-enabled}")
+    private boolean smsOtpAtomicVerificationEnabled;
+
+    /**
+     * Whether verification of unknown SMS OTP message IDs is rejected using an in-process message ID filter.
+     */
+    @Value("${powerauth.authorization.sms-otp.message-id-filter.enabled}")
+    private boolean smsOtpMessageIdFilterEnabled;
+
+    /**
+     * Expected number of SMS OTP messages created within one expiration period.
+     */
+    @Value("${powerauth.authorization.sms-otp.message-id-filter.expected-messages}")
+    private int smsOtpMessageIdFilterExpectedMessages;
+
+    /**
+     * False positive probability of the message ID filter.
+     */
+    @Value("${powerauth.authorization.sms-otp.message-id-filter.false-positive-probability}")
+    private double smsOtpMessageIdFilterFalsePositiveProbability;
+
+    /**
+     * Whether purging of expired and verified SMS OTP messages is enabled.
+     */
+    @Value("${powerauth.authorization.sms-otp.cleanup.enabled}")
+    private boolean smsOtpCleanupEnabled;
+
+    /**
+     * Whether purged SMS OTP messages are moved to the archive table instead of being deleted.
+     */
+    @Value("${powerauth.authorization.sms-otp.cleanup.archive-enabled}")
+    private boolean smsOtpCleanupArchiveEnabled;
+
+    /**
+     * Time in seconds for which expired and verified SMS OTP messages are retained before purging.
+     */
+    @Value("${powerauth.authorization.sms-otp.cleanup.retention-time-in-seconds}")
+    private int smsOtpCleanupRetentionTime;
+
+    /**
+     * Maximum number of SMS OTP messages purged in a single batch.
+     */
+    @Value("${powerauth.authorization.sms-otp.cleanup.batch-size}")
+    private int smsOtpCleanupBatchSize;
+
+    /**
+     * Maximum number of batches purged in a single cleanup run.
+     */
+    @Value("${powerauth.authorization.sms-otp.cleanup.max-batches-per-run}")
+    private int smsOtpCleanupMaxBatchesPerRun;
+
+    /**
+     * Pause in milliseconds between purged batches.
+     */
+    @Value("${powerauth.authorization.sms-otp.cleanup.batch-pause-in-millis}")
+    private long smsOtpCleanupBatchPause;
+
+    /**
+     * Whether maintenance of daily partitions of table da_sms_authorization is enabled.
+     */
+    @Value("${powerauth.authorization.sms-otp.partitioning.enabled}")
+    private boolean smsOtpPartitioningEnabled;
+
+    /**
+     * Number of days for which partitions are created in advance.
+     */
+    @Value("${powerauth.authorization.sms-otp.partitioning.precreate-days}")
+    private int smsOtpPartitioningPrecreateDays;
+
+    /**
+     * Number of days for which partitions are retained.
+     */
+    @Value("${powerauth.authorization.sms-otp.partitioning.retention-days}")
+    private int smsOtpPartitioningRetentionDays;
+
+    /**
+     * Whether partitions are dropped after they are detached.
+     */
+    @Value("${powerauth.authorization.sms-otp.partitioning.drop-enabled}")
+    private boolean smsOtpPartitioningDropEnabled;
+
+    /**
+     * Maximum number of SMS OTP messages held by the in-memory OTP store.
+     */
+    @Value("${powerauth.authorization.sms-otp.store.in-memory.max-entries}")
+    private int smsOtpStoreInMemoryMaxEntries;
+
+    /**
+     * Whether SMS OTP messages held by the in-memory OTP store are written to the database asynchronously.
+     */
+    @Value("${powerauth.authorization.sms-otp.store.in-memory.write-behind-enabled}")
+    private boolean smsOtpStoreInMemoryWriteBehindEnabled;
+
+    /**
+     * Maximum number of pending database writes of the in-memory OTP store.
+     */
+    @Value("${powerauth.authorization.sms-otp.store.in-memory.write-behind-queue-capacity}")
+    private int smsOtpStoreInMemoryWriteBehindQueueCapacity;
+
+    /**
+     * Whether SMS OTP messages are delivered asynchronously using the outbox table.
+     */
+    @Value("${powerauth.authorization.sms-otp.outbox.enabled}")
+    private boolean smsOtpOutboxEnabled;
+
+    /**
+     * Maximum number of messages claimed from the outbox in a single batch.
+     */
+    @Value("${powerauth.authorization.sms-otp.outbox.batch-size}")
+    private int smsOtpOutboxBatchSize;
+
+    /**
+     * Number of worker threads delivering messages from the outbox.
+     */
+    @Value("${powerauth.authorization.sms-otp.outbox.workers}")
+    private int smsOtpOutboxWorkers;
+
+    /**
+     * Time in milliseconds for which a claimed message is not claimed again.
+     */
+    @Value("${powerauth.authorization.sms-otp.outbox.lease-time-in-millis}")
+    private long smsOtpOutboxLeaseTime;
+
+    /**
+     * Maximum number of delivery attempts of a message from the outbox.
+     */
+    @Value("${powerauth.authorization.sms-otp.outbox.max-attempts}")
+    private int smsOtpOutboxMaxAttempts;
+
+    /**
+     * Initial delay in milliseconds before a failed delivery is retried, the delay doubles with each attempt.
+     */
+    @Value("${powerauth.authorization.sms-otp.outbox.retry-backoff-in-millis}")
+    private long smsOtpOutboxRetryBackoff;
+
+    /**
+     * Whether SMS OTP messages are delivered asynchronously using the in-process dispatch queue.
+     */
+    @Value("${powerauth.authorization.sms-otp.dispatch.enabled}")
+    private boolean smsOtpDispatchEnabled;
+
+    /**
+     * Maximum number of SMS OTP messages waiting in the dispatch queue.
+     */
+    @Value("${powerauth.authorization.sms-otp.dispatch.queue-capacity}")
+    private int smsOtpDispatchQueueCapacity;
+
+    /**
+     * Maximum number of SMS OTP messages delivered concurrently.
+     */
+    @Value("${powerauth.authorization.sms-otp.dispatch.max-concurrency}")
+    private int smsOtpDispatchMaxConcurrency;
+
+    /**
+     * Maximum number of SMS OTP messages delivered concurrently through a single gateway.
+     */
+    @Value("${powerauth.authorization.sms-otp.dispatch.gateway-concurrency}")
+    private int smsOtpDispatchGatewayConcurrency;
+
+    /**
+     * Policy applied when the dispatch queue is full: BLOCK, FAIL or CALLER_RUNS.
+     */
+    @Value("${powerauth.authorization.sms-otp.dispatch.full-queue-policy}")
+    private String smsOtpDispatchFullQueuePolicy;
+
+    /**
+     * Maximum time in milliseconds the caller waits for free space in the dispatch queue with the BLOCK policy.
+     */
+    @Value("${powerauth.authorization.sms-otp.dispatch.block-timeout-in-millis}")
+    private long smsOtpDispatchBlockTimeout;
+
+    /**
+     * Languages for which SMS text templates are compiled at startup, the first language is used for other languages.
+     */
+    @Value("${powerauth.authorization.sms-otp.template.preload-languages}")
+    private String[] smsOtpTemplatePreloadLanguages;
+
+    /**
+     * Minimum time in seconds between two sends of the same SMS OTP message.
+     */
+    @Value("${powerauth.authorization.sms-otp.resend.cooldown-in-seconds}")
+    private int smsOtpResendCooldown;
+
+    /**
+     * Maximum number of resends of a single SMS OTP message.
+     */
+    @Value("${powerauth.authorization.sms-otp.resend.max-count}")
+    private int smsOtpResendMaxCount;
+
+    /**
+     * Whether sending of SMS OTP messages is rate limited per user and per operation.
+     */
+    @Value("${powerauth.authorization.sms-otp.rate-limit.enabled}")
+    private boolean smsOtpRateLimitEnabled;
+
+    /**
+     * Number of SMS OTP messages per second which may be sent to a single user.
+     */
+    @Value("${powerauth.authorization.sms-otp.rate-limit.user.rate-per-second}")
+    private double smsOtpRateLimitUserRatePerSecond;
+
+    /**
+     * Maximum number of SMS OTP messages which may be sent to a single user in a burst.
+     */
+    @Value("${powerauth.authorization.sms-otp.rate-limit.user.burst}")
+    private int smsOtpRateLimitUserBurst;
+
+    /**
+     * Number of SMS OTP messages per second which may be sent for a single operation.
+     */
+    @Value("${powerauth.authorization.sms-otp.rate-limit.operation.rate-per-second}")
+    private double smsOtpRateLimitOperationRatePerSecond;
+
+    /**
+     * Maximum number of SMS OTP messages which may be sent for a single operation in a burst.
+     */
+    @Value("${powerauth.authorization.sms-otp.rate-limit.operation.burst}")
+    private int smsOtpRateLimitOperationBurst;
+
+    /**
+     * Maximum number of user and operation keys held by the SMS OTP rate limiter.
+     */
+    @Value("${powerauth.authorization.sms-otp.rate-limit.max-keys}")
+    private int smsOtpRateLimitMaxKeys;
+
+    /**
+     * Whether SMS OTP messages are stored as a template reference instead of the full message text.
+     */
+    @Value("${powerauth.authorization.sms-otp.template-reference-storage-enabled}")
+    private boolean smsOtpTemplateReferenceStorageEnabled;
+
+    /**
+     * Number of SMS delivery receipts written to the database in a single JDBC batch.
+     */
+    @Value("${powerauth.authorization.sms-otp.delivery-receipt.batch-size}")
+    private int smsOtpDeliveryReceiptBatchSize;
+
+    /**
+     * Maximum number of SMS delivery receipts accepted in a single request.
+     */
+    @Value("${powerauth.authorization.sms-otp.delivery-receipt.max-receipts-per-request}")
+    private int smsOtpDeliveryReceiptMaxReceiptsPerRequest;
+
+    /**
+     * Whether SMS OTP message creation requests with a request key are idempotent.
+     */
+    @Value("${powerauth.authorization.sms-otp.idempotency.enabled}")
+    private boolean smsOtpIdempotencyEnabled;
+
+    /**
+     * Time in seconds for which responses of idempotent SMS OTP message creation requests are cached.
+     */
+    @Value("${powerauth.authorization.sms-otp.idempotency.ttl-in-seconds}")
+    private long smsOtpIdempotencyTtl;
+
+    /**
+     * Time in milliseconds for which a duplicate request waits for the response of the original request.
+     */
+    @Value("${powerauth.authorization.sms-otp.idempotency.wait-timeout-in-millis}")
+    private long smsOtpIdempotencyWaitTimeout;
+
+    /**
+     * Maximum number of cached responses of idempotent SMS OTP message creation requests.
+     */
+    @Value("${powerauth.authorization.sms-otp.idempotency.max-entries}")
+    private int smsOtpIdempotencyMaxEntries;
+
+    /**
+     * Whether user details are cached.
+     */
+    @Value("${powerauth.dataAdapter.userDetailCache.enabled}")
+    private boolean userDetailCacheEnabled;
+
+    /**
+     * Time in seconds for which user details are cached.
+     */
+    @Value("${powerauth.dataAdapter.userDetailCache.ttlInSeconds}")
+    private long userDetailCacheTtl;
+
+    /**
+     * Time in seconds for which a missing user is cached.
+     */
+    @Value("${powerauth.dataAdapter.userDetailCache.notFoundTtlInSeconds}")
+    private long userDetailCacheNotFoundTtl;
+
+    /**
+     * Maximum number of entries held by the user detail cache.
+     */
+    @Value("${powerauth.dataAdapter.userDetailCache.maxEntries}")
+    private int userDetailCacheMaxEntries;
+
+    /**
+     * Whether users are authenticated against table da_user_credentials.
+     */
+    @Value("${powerauth.dataAdapter.userCredentials.enabled}")
+    private boolean userCredentialsEnabled;
+
+    /**
+     * Bcrypt cost factor of stored password hashes.
+     */
+    @Value("${powerauth.dataAdapter.userCredentials.bcryptStrength}")
+    private int userCredentialsBcryptStrength;
+
+    /**
+     * Number of threads verifying password hashes, 0 for the number of CPU cores.
+     */
+    @Value("${powerauth.dataAdapter.userCredentials.hashThreads}")
+    private int userCredentialsHashThreads;
+
+    /**
+     * Maximum number of password verifications waiting for a hash thread.
+     */
+    @Value("${powerauth.dataAdapter.userCredentials.hashQueueCapacity}")
+    private int userCredentialsHashQueueCapacity;
+
+    /**
+     * Maximum time in milliseconds a request waits for password verification.
+     */
+    @Value("${powerauth.dataAdapter.userCredentials.hashTimeoutInMillis}")
+    private long userCredentialsHashTimeout;
+
+    /**
+     * Whether usernames are translated to user IDs using the in-process username index.
+     */
+    @Value("${powerauth.dataAdapter.usernameIndex.enabled}")
+    private boolean usernameIndexEnabled;
+
+    /**
+     * Interval in milliseconds for rebuilding the username index snapshot.
+     */
+    @Value("${powerauth.dataAdapter.usernameIndex.fullRefreshIntervalInMillis}")
+    private long usernameIndexFullRefreshInterval;
+
+    /**
+     * Time in milliseconds by which refreshes of the username index overlap to cover updates committed with a delay.
+     */
+    @Value("${powerauth.dataAdapter.usernameIndex.refreshOverlapInMillis}")
+    private long usernameIndexRefreshOverlap;
+
+    /**
+     * Maximum number of updated usernames held by the username index before the snapshot is rebuilt.
+     */
+    @Value("${powerauth.dataAdapter.usernameIndex.maxOverlayEntries}")
+    private int usernameIndexMaxOverlayEntries;
+
+    /**
+     * Whether failed authentication attempts are counted and users are blocked temporarily.
+     */
+    @Value("${powerauth.dataAdapter.failedAttempts.enabled}")
+    private boolean failedAttemptsEnabled;
+
+    /**
+     * Maximum number of failed authentication attempts in the counting window before the user is blocked.
+     */
+    @Value("${powerauth.dataAdapter.failedAttempts.maxAttempts}")
+    private int failedAttemptsMaxAttempts;
+
+    /**
+     * Length of the sliding window for counting of failed attempts in seconds.
+     */
+    @Value("${powerauth.dataAdapter.failedAttempts.windowInSeconds}")
+    private long failedAttemptsWindow;
+
+    /**
+     * Time in seconds for which a user is blocked after reaching the limit of failed attempts.
+     */
+    @Value("${powerauth.dataAdapter.failedAttempts.blockDurationInSeconds}")
+    private long failedAttemptsBlockDuration;
+
+    /**
+     * Maximum number of failed attempt counters held in memory.
+     */
+    @Value("${powerauth.dataAdapter.failedAttempts.maxEntries}")
+    private int failedAttemptsMaxEntries;
+
+    /**
+     * Number of failed attempt counters written to the database in a single JDBC batch.
+     */
+    @Value("${powerauth.dataAdapter.failedAttempts.flushBatchSize}")
+    private int failedAttemptsFlushBatchSize;
+
+    /**
+     * Whether SMS authorization code and password are verified concurrently.
+     */
+    @Value("${powerauth.dataAdapter.parallelVerification.enabled}")
+    private boolean parallelVerificationEnabled;
+
+    /**
+     * Shared deadline in milliseconds for concurrent verification of SMS authorization code and password.
+     */
+    @Value("${powerauth.dataAdapter.parallelVerification.timeoutInMillis}")
+    private long parallelVerificationTimeout;
+
+    /**
+     * Maximum number of concurrently running threads used for concurrent verification.
+     */
+    @Value("${powerauth.dataAdapter.parallelVerification.maxThreads}")
+    private int parallelVerificationMaxThreads;
+
     /**
      * Application name.
      */
@@ -78,6 +480,610 @@ public class DataAdapterConfiguration {
         return smsOtpMaxVerifyTriesPerMessage;
     }
 
+    /**
+     * Get whether SMS OTP verification uses a single conditional update statement.
+     *
+     * @return Whether atomic SMS OTP verification is enabled.
+     */
+    public boolean isSmsOtpAtomicVerificationEnabled() {
+        return smsOtpAtomicVerificationEnabled;
+    }
+
+    /**
+     * Get whether verification of unknown SMS OTP message IDs is rejected using an in-process message ID filter.
+     *
+     * @return Whether the message ID filter is enabled.
+     */
+    public boolean isSmsOtpMessageIdFilterEnabled() {
+        return smsOtpMessageIdFilterEnabled;
+    }
+
+    /**
+     * Get the expected number of SMS OTP messages created within one expiration period.
+     *
+     * @return Expected number of messages.
+     */
+    public int getSmsOtpMessageIdFilterExpectedMessages() {
+        return smsOtpMessageIdFilterExpectedMessages;
+    }
+
+    /**
+     * Get the false positive probability of the message ID filter.
+     *
+     * @return False positive probability.
+     */
+    public double getSmsOtpMessageIdFilterFalsePositiveProbability() {
+        return smsOtpMessageIdFilterFalsePositiveProbability;
+    }
+
+    /**
+     * Get whether purging of expired and verified SMS OTP messages is enabled.
+     *
+     * @return Whether SMS OTP cleanup is enabled.
+     */
+    public boolean isSmsOtpCleanupEnabled() {
+        return smsOtpCleanupEnabled;
+    }
+
+    /**
+     * Get whether purged SMS OTP messages are moved to the archive table instead of being deleted.
+     *
+     * @return Whether SMS OTP archival is enabled.
+     */
+    public boolean isSmsOtpCleanupArchiveEnabled() {
+        return smsOtpCleanupArchiveEnabled;
+    }
+
+    /**
+     * Get the time for which expired and verified SMS OTP messages are retained before purging.
+     *
+     * @return Retention time in seconds.
+     */
+    public int getSmsOtpCleanupRetentionTime() {
+        return smsOtpCleanupRetentionTime;
+    }
+
+    /**
+     * Get the maximum number of SMS OTP messages purged in a single batch.
+     *
+     * @return Batch size.
+     */
+    public int getSmsOtpCleanupBatchSize() {
+        return smsOtpCleanupBatchSize;
+    }
+
+    /**
+     * Get the maximum number of batches purged in a single cleanup run.
+     *
+     * @return Maximum number of batches per run.
+     */
+    public int getSmsOtpCleanupMaxBatchesPerRun() {
+        return smsOtpCleanupMaxBatchesPerRun;
+    }
+
+    /**
+     * Get the pause between purged batches.
+     *
+     * @return Pause in milliseconds.
+     */
+    public long getSmsOtpCleanupBatchPause() {
+        return smsOtpCleanupBatchPause;
+    }
+
+    /**
+     * Get whether maintenance of daily partitions of table da_sms_authorization is enabled.
+     *
+     * @return Whether partition maintenance is enabled.
+     */
+    public boolean isSmsOtpPartitioningEnabled() {
+        return smsOtpPartitioningEnabled;
+    }
+
+    /**
+     * Get the number of days for which partitions are created in advance.
+     *
+     * @return Number of days.
+     */
+    public int getSmsOtpPartitioningPrecreateDays() {
+        return smsOtpPartitioningPrecreateDays;
+    }
+
+    /**
+     * Get the number of days for which partitions are retained.
+     *
+     * @return Number of days.
+     */
+    public int getSmsOtpPartitioningRetentionDays() {
+        return smsOtpPartitioningRetentionDays;
+    }
+
+    /**
+     * Get whether partitions are dropped after they are detached.
+     *
+     * @return Whether detached partitions are dropped.
+     */
+    public boolean isSmsOtpPartitioningDropEnabled() {
+        return smsOtpPartitioningDropEnabled;
+    }
+
+    /**
+     * Get the maximum number of SMS OTP messages held by the in-memory OTP store.
+     *
+     * @return Maximum number of messages.
+     */
+    public int getSmsOtpStoreInMemoryMaxEntries() {
+        return smsOtpStoreInMemoryMaxEntries;
+    }
+
+    /**
+     * Get whether SMS OTP messages held by the in-memory OTP store are written to the database asynchronously.
+     *
+     * @return Whether write-behind is enabled.
+     */
+    public boolean isSmsOtpStoreInMemoryWriteBehindEnabled() {
+        return smsOtpStoreInMemoryWriteBehindEnabled;
+    }
+
+    /**
+     * Get the maximum number of pending database writes of the in-memory OTP store.
+     *
+     * @return Write-behind queue capacity.
+     */
+    public int getSmsOtpStoreInMemoryWriteBehindQueueCapacity() {
+        return smsOtpStoreInMemoryWriteBehindQueueCapacity;
+    }
+
+    /**
+     * Get whether SMS OTP messages are delivered asynchronously using the outbox table.
+     *
+     * @return Whether the outbox is enabled.
+     */
+    public boolean isSmsOtpOutboxEnabled() {
+        return smsOtpOutboxEnabled;
+    }
+
+    /**
+     * Get the maximum number of messages claimed from the outbox in a single batch.
+     *
+     * @return Batch size.
+     */
+    public int getSmsOtpOutboxBatchSize() {
+        return smsOtpOutboxBatchSize;
+    }
+
+    /**
+     * Get the number of worker threads delivering messages from the outbox.
+     *
+     * @return Number of worker threads.
+     */
+    public int getSmsOtpOutboxWorkers() {
+        return smsOtpOutboxWorkers;
+    }
+
+    /**
+     * Get the time in milliseconds for which a claimed message is not claimed again.
+     *
+     * @return Lease time in milliseconds.
+     */
+    public long getSmsOtpOutboxLeaseTime() {
+        return smsOtpOutboxLeaseTime;
+    }
+
+    /**
+     * Get the maximum number of delivery attempts of a message from the outbox.
+     *
+     * @return Maximum number of delivery attempts.
+     */
+    public int getSmsOtpOutboxMaxAttempts() {
+        return smsOtpOutboxMaxAttempts;
+    }
+
+    /**
+     * Get the initial delay in milliseconds before a failed delivery is retried.
+     *
+     * @return Retry delay in milliseconds.
+     */
+    public long getSmsOtpOutboxRetryBackoff() {
+        return smsOtpOutboxRetryBackoff;
+    }
+
+    /**
+     * Get whether SMS OTP messages are delivered asynchronously using the in-process dispatch queue.
+     *
+     * @return Whether the dispatch queue is enabled.
+     */
+    public boolean isSmsOtpDispatchEnabled() {
+        return smsOtpDispatchEnabled;
+    }
+
+    /**
+     * Get the maximum number of SMS OTP messages waiting in the dispatch queue.
+     *
+     * @return Queue capacity.
+     */
+    public int getSmsOtpDispatchQueueCapacity() {
+        return smsOtpDispatchQueueCapacity;
+    }
+
+    /**
+     * Get the maximum number of SMS OTP messages delivered concurrently.
+     *
+     * @return Maximum concurrency.
+     */
+    public int getSmsOtpDispatchMaxConcurrency() {
+        return smsOtpDispatchMaxConcurrency;
+    }
+
+    /**
+     * Get the maximum number of SMS OTP messages delivered concurrently through a single gateway.
+     *
+     * @return Maximum concurrency per gateway.
+     */
+    public int getSmsOtpDispatchGatewayConcurrency() {
+        return smsOtpDispatchGatewayConcurrency;
+    }
+
+    /**
+     * Get the policy applied when the dispatch queue is full.
+     *
+     * @return Full queue policy.
+     */
+    public String getSmsOtpDispatchFullQueuePolicy() {
+        return smsOtpDispatchFullQueuePolicy;
+    }
+
+    /**
+     * Get the maximum time in milliseconds the caller waits for free space in the dispatch queue.
+     *
+     * @return Block timeout in milliseconds.
+     */
+    public long getSmsOtpDispatchBlockTimeout() {
+        return smsOtpDispatchBlockTimeout;
+    }
+
+    /**
+     * Get the languages for which SMS text templates are compiled at startup, the first language is used for
+     * other languages.
+     *
+     * @return Languages.
+     */
+    public String[] getSmsOtpTemplatePreloadLanguages() {
+        return smsOtpTemplatePreloadLanguages;
+    }
+
+    /**
+     * Get the minimum time in seconds between two sends of the same SMS OTP message.
+     *
+     * @return Resend cool-down in seconds.
+     */
+    public int getSmsOtpResendCooldown() {
+        return smsOtpResendCooldown;
+    }
+
+    /**
+     * Get the maximum number of resends of a single SMS OTP message.
+     *
+     * @return Maximum number of resends.
+     */
+    public int getSmsOtpResendMaxCount() {
+        return smsOtpResendMaxCount;
+    }
+
+    /**
+     * Get whether sending of SMS OTP messages is rate limited per user and per operation.
+     *
+     * @return Whether sending of SMS OTP messages is rate limited.
+     */
+    public boolean isSmsOtpRateLimitEnabled() {
+        return smsOtpRateLimitEnabled;
+    }
+
+    /**
+     * Get number of SMS OTP messages per second which may be sent to a single user.
+     *
+     * @return Number of SMS OTP messages per second per user.
+     */
+    public double getSmsOtpRateLimitUserRatePerSecond() {
+        return smsOtpRateLimitUserRatePerSecond;
+    }
+
+    /**
+     * Get maximum number of SMS OTP messages which may be sent to a single user in a burst.
+     *
+     * @return Maximum burst of SMS OTP messages per user.
+     */
+    public int getSmsOtpRateLimitUserBurst() {
+        return smsOtpRateLimitUserBurst;
+    }
+
+    /**
+     * Get number of SMS OTP messages per second which may be sent for a single operation.
+     *
+     * @return Number of SMS OTP messages per second per operation.
+     */
+    public double getSmsOtpRateLimitOperationRatePerSecond() {
+        return smsOtpRateLimitOperationRatePerSecond;
+    }
+
+    /**
+     * Get maximum number of SMS OTP messages which may be sent for a single operation in a burst.
+     *
+     * @return Maximum burst of SMS OTP messages per operation.
+     */
+    public int getSmsOtpRateLimitOperationBurst() {
+        return smsOtpRateLimitOperationBurst;
+    }
+
+    /**
+     * Get maximum number of user and operation keys held by the SMS OTP rate limiter.
+     *
+     * @return Maximum number of rate limiter keys.
+     */
+    public int getSmsOtpRateLimitMaxKeys() {
+        return smsOtpRateLimitMaxKeys;
+    }
+
+    /**
+     * Get whether SMS OTP messages are stored as a template reference instead of the full message text.
+     *
+     * @return Whether SMS OTP messages are stored as a template reference.
+     */
+    public boolean isSmsOtpTemplateReferenceStorageEnabled() {
+        return smsOtpTemplateReferenceStorageEnabled;
+    }
+
+    /**
+     * Get number of SMS delivery receipts written to the database in a single JDBC batch.
+     *
+     * @return Delivery receipt batch size.
+     */
+    public int getSmsOtpDeliveryReceiptBatchSize() {
+        return smsOtpDeliveryReceiptBatchSize;
+    }
+
+    /**
+     * Get maximum number of SMS delivery receipts accepted in a single request.
+     *
+     * @return Maximum number of delivery receipts per request.
+     */
+    public int getSmsOtpDeliveryReceiptMaxReceiptsPerRequest() {
+        return smsOtpDeliveryReceiptMaxReceiptsPerRequest;
+    }
+
+    /**
+     * Get whether SMS OTP message creation requests with a request key are idempotent.
+     *
+     * @return Whether SMS OTP message creation is idempotent.
+     */
+    public boolean isSmsOtpIdempotencyEnabled() {
+        return smsOtpIdempotencyEnabled;
+    }
+
+    /**
+     * Get time in seconds for which responses of idempotent SMS OTP message creation requests are cached.
+     *
+     * @return Time in seconds for which responses are cached.
+     */
+    public long getSmsOtpIdempotencyTtl() {
+        return smsOtpIdempotencyTtl;
+    }
+
+    /**
+     * Get time in milliseconds for which a duplicate request waits for the response of the original request.
+     *
+     * @return Wait timeout in milliseconds.
+     */
+    public long getSmsOtpIdempotencyWaitTimeout() {
+        return smsOtpIdempotencyWaitTimeout;
+    }
+
+    /**
+     * Get maximum number of cached responses of idempotent SMS OTP message creation requests.
+     *
+     * @return Maximum number of cached responses.
+     */
+    public int getSmsOtpIdempotencyMaxEntries() {
+        return smsOtpIdempotencyMaxEntries;
+    }
+
+    /**
+     * Get whether user details are cached.
+     *
+     * @return Whether user details are cached.
+     */
+    public boolean isUserDetailCacheEnabled() {
+        return userDetailCacheEnabled;
+    }
+
+    /**
+     * Get time in seconds for which user details are cached.
+     *
+     * @return Time to live of cached user details in seconds.
+     */
+    public long getUserDetailCacheTtl() {
+        return userDetailCacheTtl;
+    }
+
+    /**
+     * Get time in seconds for which a missing user is cached.
+     *
+     * @return Time to live of cached missing users in seconds.
+     */
+    public long getUserDetailCacheNotFoundTtl() {
+        return userDetailCacheNotFoundTtl;
+    }
+
+    /**
+     * Get maximum number of entries held by the user detail cache.
+     *
+     * @return Maximum number of cached entries.
+     */
+    public int getUserDetailCacheMaxEntries() {
+        return userDetailCacheMaxEntries;
+    }
+
+    /**
+     * Get whether users are authenticated against table da_user_credentials.
+     *
+     * @return Whether built-in user credentials are enabled.
+     */
+    public boolean isUserCredentialsEnabled() {
+        return userCredentialsEnabled;
+    }
+
+    /**
+     * Get bcrypt cost factor of stored password hashes.
+     *
+     * @return Bcrypt cost factor.
+     */
+    public int getUserCredentialsBcryptStrength() {
+        return userCredentialsBcryptStrength;
+    }
+
+    /**
+     * Get number of threads verifying password hashes.
+     *
+     * @return Number of password hash threads, 0 for the number of CPU cores.
+     */
+    public int getUserCredentialsHashThreads() {
+        return userCredentialsHashThreads;
+    }
+
+    /**
+     * Get maximum number of password verifications waiting for a hash thread.
+     *
+     * @return Capacity of the password hash queue.
+     */
+    public int getUserCredentialsHashQueueCapacity() {
+        return userCredentialsHashQueueCapacity;
+    }
+
+    /**
+     * Get maximum time in milliseconds a request waits for password verification.
+     *
+     * @return Password verification timeout in milliseconds.
+     */
+    public long getUserCredentialsHashTimeout() {
+        return userCredentialsHashTimeout;
+    }
+
+    /**
+     * Get whether usernames are translated to user IDs using the in-process username index.
+     *
+     * @return Whether the username index is enabled.
+     */
+    public boolean isUsernameIndexEnabled() {
+        return usernameIndexEnabled;
+    }
+
+    /**
+     * Get interval in milliseconds for rebuilding the username index snapshot.
+     *
+     * @return Interval for rebuilding the username index snapshot in milliseconds.
+     */
+    public long getUsernameIndexFullRefreshInterval() {
+        return usernameIndexFullRefreshInterval;
+    }
+
+    /**
+     * Get time in milliseconds by which refreshes of the username index overlap.
+     *
+     * @return Refresh overlap in milliseconds.
+     */
+    public long getUsernameIndexRefreshOverlap() {
+        return usernameIndexRefreshOverlap;
+    }
+
+    /**
+     * Get maximum number of updated usernames held by the username index before the snapshot is rebuilt.
+     *
+     * @return Maximum number of updated usernames.
+     */
+    public int getUsernameIndexMaxOverlayEntries() {
+        return usernameIndexMaxOverlayEntries;
+    }
+
+    /**
+     * Get whether failed authentication attempts are counted.
+     *
+     * @return Whether failed attempts are counted.
+     */
+    public boolean isFailedAttemptsEnabled() {
+        return failedAttemptsEnabled;
+    }
+
+    /**
+     * Get maximum number of failed authentication attempts in the counting window.
+     *
+     * @return Maximum number of failed attempts.
+     */
+    public int getFailedAttemptsMaxAttempts() {
+        return failedAttemptsMaxAttempts;
+    }
+
+    /**
+     * Get length of the sliding window for counting of failed attempts in seconds.
+     *
+     * @return Counting window in seconds.
+     */
+    public long getFailedAttemptsWindow() {
+        return failedAttemptsWindow;
+    }
+
+    /**
+     * Get time in seconds for which a user is blocked after reaching the limit of failed attempts.
+     *
+     * @return Block duration in seconds.
+     */
+    public long getFailedAttemptsBlockDuration() {
+        return failedAttemptsBlockDuration;
+    }
+
+    /**
+     * Get maximum number of failed attempt counters held in memory.
+     *
+     * @return Maximum number of counters.
+     */
+    public int getFailedAttemptsMaxEntries() {
+        return failedAttemptsMaxEntries;
+    }
+
+    /**
+     * Get number of failed attempt counters written to the database in a single JDBC batch.
+     *
+     * @return Flush batch size.
+     */
+    public int getFailedAttemptsFlushBatchSize() {
+        return failedAttemptsFlushBatchSize;
+    }
+
+    /**
+     * Get whether SMS authorization code and password are verified concurrently.
+     *
+     * @return Whether SMS authorization code and password are verified concurrently.
+     */
+    public boolean isParallelVerificationEnabled() {
+        return parallelVerificationEnabled;
+    }
+
+    /**
+     * Get shared deadline in milliseconds for concurrent verification of SMS authorization code and password.
+     *
+     * @return Deadline in milliseconds for concurrent verification.
+     */
+    public long getParallelVerificationTimeout() {
+        return parallelVerificationTimeout;
+    }
+
+    /**
+     * Get maximum number of concurrently running threads used for concurrent verification.
+     *
+     * @return Maximum number of concurrently running threads used for concurrent verification.
+     */
+    public int getParallelVerificationMaxThreads() {
+        return parallelVerificationMaxThreads;
+    }
+
     /**
      * Get application name.
      * @return Application name.
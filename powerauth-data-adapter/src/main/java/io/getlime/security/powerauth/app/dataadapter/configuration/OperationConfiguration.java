@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.configuration;
+
+import io.getlime.security.powerauth.app.dataadapter.model.enumeration.OperationKind;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration of operations supported by the Data Adapter. Operations are configured by name, for example
+ * powerauth.dataAdapter.operations[authorize_payment].kind=PAYMENT.
+ *
+ * @author Wultra s.r.o.
+ */
+@Configuration
+@ConfigurationProperties("powerauth.data-adapter")
+public class OperationConfiguration {
+
+    /**
+     * Supported operations by operation name.
+     */
+    private final Map<String, OperationProperties> operations = new LinkedHashMap<>();
+
+    /**
+     * Get supported operations by operation name.
+     * @return Supported operations.
+     */
+    public Map<String, OperationProperties> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Configuration of a single operation.
+     */
+    public static class OperationProperties {
+
+        /**
+         * Operation kind.
+         */
+        private OperationKind kind;
+
+        /**
+         * Message code of SMS text template for authorization of the operation, the default template of the
+         * operation kind is used when not set.
+         */
+        private String smsTemplate;
+
+        /**
+         * Whether the operation has multiple steps with a PowerAuth operation.
+         */
+        private boolean multiStepMapping;
+
+        /**
+         * Get operation kind.
+         * @return Operation kind.
+         */
+        public OperationKind getKind() {
+            return kind;
+        }
+
+        /**
+         * Set operation kind.
+         * @param kind Operation kind.
+         */
+        public void setKind(OperationKind kind) {
+            this.kind = kind;
+        }
+
+        /**
+         * Get message code of SMS text template.
+         * @return Message code of SMS text template.
+         */
+        public String getSmsTemplate() {
+            return smsTemplate;
+        }
+
+        /**
+         * Set message code of SMS text template.
+         * @param smsTemplate Message code of SMS text template.
+         */
+        public void setSmsTemplate(String smsTemplate) {
+            this.smsTemplate = smsTemplate;
+        }
+
+        /**
+         * Get whether the operation has multiple steps with a PowerAuth operation.
+         * @return Whether the operation has multiple steps with a PowerAuth operation.
+         */
+        public boolean isMultiStepMapping() {
+            return multiStepMapping;
+        }
+
+        /**
+         * Set whether the operation has multiple steps with a PowerAuth operation.
+         * @param multiStepMapping Whether the operation has multiple steps with a PowerAuth operation.
+         */
+        public void setMultiStepMapping(boolean multiStepMapping) {
+            this.multiStepMapping = multiStepMapping;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration of scheduled background tasks.
+ * <p>
+ * The size of the scheduler thread pool is set using property spring.task.scheduling.pool.size. The pool should
+ * provide a thread for each scheduled task, so that long-running tasks such as the purge of SMS authorization
+ * messages, the outbox dispatch or the rebuild of the username index do not delay short periodic tasks.
+ *
+ * @author Wultra s.r.o.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
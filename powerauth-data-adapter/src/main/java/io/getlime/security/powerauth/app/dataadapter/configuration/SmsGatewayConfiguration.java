@@ -0,0 +1,471 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.configuration;
+
+import io.getlime.security.powerauth.app.dataadapter.impl.gateway.ConcurrencyLimitedSmsGateway;
+import io.getlime.security.powerauth.app.dataadapter.impl.gateway.HttpSmsGateway;
+import io.getlime.security.powerauth.app.dataadapter.impl.gateway.RoutingSmsGateway;
+import io.getlime.security.powerauth.app.dataadapter.impl.gateway.SmsGateway;
+import io.getlime.security.powerauth.app.dataadapter.impl.gateway.StubSmsGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of the SMS gateway used for delivery of SMS OTP messages.
+ *
+ * @author Wultra s.r.o.
+ */
+@Configuration
+@ConfigurationProperties("powerauth.authorization.sms-otp.gateway")
+public class SmsGatewayConfiguration {
+
+    /**
+     * Type of SMS gateway: http, stub or routing.
+     */
+    private String type = "stub";
+
+    /**
+     * Configuration of the HTTP SMS gateway.
+     */
+    private final HttpGatewayProperties http = new HttpGatewayProperties();
+
+    /**
+     * Configuration of the stub SMS gateway.
+     */
+    private final StubGatewayProperties stub = new StubGatewayProperties();
+
+    /**
+     * Configuration of routing over multiple SMS gateways.
+     */
+    private final RoutingProperties routing = new RoutingProperties();
+
+    /**
+     * Create the SMS gateway. When the dispatch queue is enabled, the number of concurrent messages is limited
+     * for each upstream gateway.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     * @param meterRegistry Meter registry.
+     * @return SMS gateway.
+     */
+    @Bean
+    public SmsGateway smsGateway(DataAdapterConfiguration dataAdapterConfiguration, MeterRegistry meterRegistry) {
+        final int maxConcurrency = dataAdapterConfiguration.isSmsOtpDispatchEnabled() ? dataAdapterConfiguration.getSmsOtpDispatchGatewayConcurrency() : 0;
+        if ("routing".equals(type)) {
+            final List<SmsGateway> gateways = new ArrayList<>();
+            routing.getGateways().forEach((name, gateway) -> gateways.add(limitConcurrency(createGateway(name, gateway.getType(), gateway.getHttp(), gateway.getStub()), maxConcurrency)));
+            return new RoutingSmsGateway(type, gateways, routing.getEwmaAlpha(), routing.getErrorRateThreshold(),
+                    routing.getMinimumCalls(), routing.getOpenDurationInMillis(), meterRegistry);
+        }
+        return limitConcurrency(createGateway(type, type, http, stub), maxConcurrency);
+    }
+
+    /**
+     * Limit the number of messages sent concurrently through an SMS gateway.
+     * @param gateway SMS gateway.
+     * @param maxConcurrency Maximum number of concurrent messages, zero for no limit.
+     * @return SMS gateway with limited concurrency.
+     */
+    static SmsGateway limitConcurrency(SmsGateway gateway, int maxConcurrency) {
+        return maxConcurrency > 0 ? new ConcurrencyLimitedSmsGateway(gateway, maxConcurrency) : gateway;
+    }
+
+    /**
+     * Create an SMS gateway of given type.
+     * @param name Gateway name.
+     * @param type Gateway type.
+     * @param http Configuration of the HTTP SMS gateway.
+     * @param stub Configuration of the stub SMS gateway.
+     * @return SMS gateway.
+     */
+    static SmsGateway createGateway(String name, String type, HttpGatewayProperties http, StubGatewayProperties stub) {
+        return switch (type) {
+            case "http" -> {
+                if (http.getUrl() == null || http.getUrl().isEmpty()) {
+                    throw new IllegalStateException("URL of HTTP SMS gateway is not configured: " + name);
+                }
+                yield new HttpSmsGateway(name, http.getUrl(), http.getAuthorizationHeader(), http.getConnectTimeoutInMillis(), http.getRequestTimeoutInMillis());
+            }
+            case "stub" -> new StubSmsGateway(name, stub.getLatencyInMillis(), stub.getLatencyJitterInMillis(), stub.getFailureRate());
+            default -> throw new IllegalStateException("Unsupported SMS gateway type: " + type);
+        };
+    }
+
+    /**
+     * Get type of SMS gateway.
+     * @return Type of SMS gateway.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Set type of SMS gateway.
+     * @param type Type of SMS gateway.
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Get configuration of the HTTP SMS gateway.
+     * @return Configuration of the HTTP SMS gateway.
+     */
+    public HttpGatewayProperties getHttp() {
+        return http;
+    }
+
+    /**
+     * Get configuration of the stub SMS gateway.
+     * @return Configuration of the stub SMS gateway.
+     */
+    public StubGatewayProperties getStub() {
+        return stub;
+    }
+
+    /**
+     * Get configuration of routing over multiple SMS gateways.
+     * @return Configuration of routing.
+     */
+    public RoutingProperties getRouting() {
+        return routing;
+    }
+
+    /**
+     * Configuration of a routed SMS gateway.
+     */
+    public static class GatewayProperties {
+
+        /**
+         * Type of SMS gateway: http or stub.
+         */
+        private String type;
+
+        /**
+         * Configuration of the HTTP SMS gateway.
+         */
+        private final HttpGatewayProperties http = new HttpGatewayProperties();
+
+        /**
+         * Configuration of the stub SMS gateway.
+         */
+        private final StubGatewayProperties stub = new StubGatewayProperties();
+
+        /**
+         * Get type of SMS gateway.
+         * @return Type of SMS gateway.
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Set type of SMS gateway.
+         * @param type Type of SMS gateway.
+         */
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        /**
+         * Get configuration of the HTTP SMS gateway.
+         * @return Configuration of the HTTP SMS gateway.
+         */
+        public HttpGatewayProperties getHttp() {
+            return http;
+        }
+
+        /**
+         * Get configuration of the stub SMS gateway.
+         * @return Configuration of the stub SMS gateway.
+         */
+        public StubGatewayProperties getStub() {
+            return stub;
+        }
+
+    }
+
+    /**
+     * Configuration of routing over multiple SMS gateways.
+     */
+    public static class RoutingProperties {
+
+        /**
+         * Routed gateways by name, in order of preference.
+         */
+        private final Map<String, GatewayProperties> gateways = new LinkedHashMap<>();
+
+        /**
+         * Weight of the latest call in moving averages of latency and error rate.
+         */
+        private double ewmaAlpha = 0.2;
+
+        /**
+         * Error rate which opens the circuit breaker of a gateway.
+         */
+        private double errorRateThreshold = 0.5;
+
+        /**
+         * Minimum number of calls before the circuit breaker of a gateway may open.
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * Time in milliseconds for which an open circuit breaker blocks the gateway.
+         */
+        private long openDurationInMillis = 30000;
+
+        /**
+         * Get routed gateways by name.
+         * @return Routed gateways.
+         */
+        public Map<String, GatewayProperties> getGateways() {
+            return gateways;
+        }
+
+        /**
+         * Get weight of the latest call in moving averages.
+         * @return Weight of the latest call.
+         */
+        public double getEwmaAlpha() {
+            return ewmaAlpha;
+        }
+
+        /**
+         * Set weight of the latest call in moving averages.
+         * @param ewmaAlpha Weight of the latest call.
+         */
+        public void setEwmaAlpha(double ewmaAlpha) {
+            this.ewmaAlpha = ewmaAlpha;
+        }
+
+        /**
+         * Get error rate which opens the circuit breaker.
+         * @return Error rate threshold.
+         */
+        public double getErrorRateThreshold() {
+            return errorRateThreshold;
+        }
+
+        /**
+         * Set error rate which opens the circuit breaker.
+         * @param errorRateThreshold Error rate threshold.
+         */
+        public void setErrorRateThreshold(double errorRateThreshold) {
+            this.errorRateThreshold = errorRateThreshold;
+        }
+
+        /**
+         * Get minimum number of calls before the circuit breaker may open.
+         * @return Minimum number of calls.
+         */
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        /**
+         * Set minimum number of calls before the circuit breaker may open.
+         * @param minimumCalls Minimum number of calls.
+         */
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        /**
+         * Get time in milliseconds for which an open circuit breaker blocks the gateway.
+         * @return Open duration in milliseconds.
+         */
+        public long getOpenDurationInMillis() {
+            return openDurationInMillis;
+        }
+
+        /**
+         * Set time in milliseconds for which an open circuit breaker blocks the gateway.
+         * @param openDurationInMillis Open duration in milliseconds.
+         */
+        public void setOpenDurationInMillis(long openDurationInMillis) {
+            this.openDurationInMillis = openDurationInMillis;
+        }
+
+    }
+
+    /**
+     * Configuration of the HTTP SMS gateway.
+     */
+    public static class HttpGatewayProperties {
+
+        /**
+         * URL of the SMS endpoint.
+         */
+        private String url;
+
+        /**
+         * Value of the Authorization header.
+         */
+        private String authorizationHeader;
+
+        /**
+         * Connect timeout in milliseconds.
+         */
+        private long connectTimeoutInMillis = 2000;
+
+        /**
+         * Request timeout in milliseconds.
+         */
+        private long requestTimeoutInMillis = 5000;
+
+        /**
+         * Get URL of the SMS endpoint.
+         * @return URL of the SMS endpoint.
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Set URL of the SMS endpoint.
+         * @param url URL of the SMS endpoint.
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Get value of the Authorization header.
+         * @return Value of the Authorization header.
+         */
+        public String getAuthorizationHeader() {
+            return authorizationHeader;
+        }
+
+        /**
+         * Set value of the Authorization header.
+         * @param authorizationHeader Value of the Authorization header.
+         */
+        public void setAuthorizationHeader(String authorizationHeader) {
+            this.authorizationHeader = authorizationHeader;
+        }
+
+        /**
+         * Get connect timeout in milliseconds.
+         * @return Connect timeout in milliseconds.
+         */
+        public long getConnectTimeoutInMillis() {
+            return connectTimeoutInMillis;
+        }
+
+        /**
+         * Set connect timeout in milliseconds.
+         * @param connectTimeoutInMillis Connect timeout in milliseconds.
+         */
+        public void setConnectTimeoutInMillis(long connectTimeoutInMillis) {
+            this.connectTimeoutInMillis = connectTimeoutInMillis;
+        }
+
+        /**
+         * Get request timeout in milliseconds.
+         * @return Request timeout in milliseconds.
+         */
+        public long getRequestTimeoutInMillis() {
+            return requestTimeoutInMillis;
+        }
+
+        /**
+         * Set request timeout in milliseconds.
+         * @param requestTimeoutInMillis Request timeout in milliseconds.
+         */
+        public void setRequestTimeoutInMillis(long requestTimeoutInMillis) {
+            this.requestTimeoutInMillis = requestTimeoutInMillis;
+        }
+
+    }
+
+    /**
+     * Configuration of the stub SMS gateway.
+     */
+    public static class StubGatewayProperties {
+
+        /**
+         * Simulated latency in milliseconds.
+         */
+        private long latencyInMillis;
+
+        /**
+         * Maximum random latency in milliseconds added to the simulated latency.
+         */
+        private long latencyJitterInMillis;
+
+        /**
+         * Ratio of failed deliveries between 0.0 and 1.0.
+         */
+        private double failureRate;
+
+        /**
+         * Get simulated latency in milliseconds.
+         * @return Simulated latency in milliseconds.
+         */
+        public long getLatencyInMillis() {
+            return latencyInMillis;
+        }
+
+        /**
+         * Set simulated latency in milliseconds.
+         * @param latencyInMillis Simulated latency in milliseconds.
+         */
+        public void setLatencyInMillis(long latencyInMillis) {
+            this.latencyInMillis = latencyInMillis;
+        }
+
+        /**
+         * Get maximum random latency in milliseconds added to the simulated latency.
+         * @return Maximum random latency in milliseconds.
+         */
+        public long getLatencyJitterInMillis() {
+            return latencyJitterInMillis;
+        }
+
+        /**
+         * Set maximum random latency in milliseconds added to the simulated latency.
+         * @param latencyJitterInMillis Maximum random latency in milliseconds.
+         */
+        public void setLatencyJitterInMillis(long latencyJitterInMillis) {
+            this.latencyJitterInMillis = latencyJitterInMillis;
+        }
+
+        /**
+         * Get ratio of failed deliveries.
+         * @return Ratio of failed deliveries between 0.0 and 1.0.
+         */
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        /**
+         * Set ratio of failed deliveries.
+         * @param failureRate Ratio of failed deliveries between 0.0 and 1.0.
+         */
+        public void setFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+        }
+
+    }
+
+}
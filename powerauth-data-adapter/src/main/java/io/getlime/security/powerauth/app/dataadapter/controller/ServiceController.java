@@ -16,13 +16,19 @@
 
 package io.getlime.security.powerauth.app.dataadapter.controller;
 
+import io.getlime.core.rest.model.base.request.ObjectRequest;
 import io.getlime.core.rest.model.base.response.ObjectResponse;
 import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.model.request.UserDetailCacheInvalidationRequest;
+import io.getlime.security.powerauth.app.dataadapter.model.response.UserDetailCacheInvalidationResponse;
+import io.getlime.security.powerauth.app.dataadapter.service.UserDetailCache;
 import io.getlime.security.powerauth.lib.dataadapter.model.response.ServiceStatusResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.info.BuildProperties;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,16 +48,19 @@ public class ServiceController {
 
     private final DataAdapterConfiguration dataAdapterConfiguration;
     private final BuildProperties buildProperties;
+    private final UserDetailCache userDetailCache;
 
     /**
      * Controller constructor.
      * @param dataAdapterConfiguration Data adapter configuration.
      * @param buildProperties Build info.
+     * @param userDetailCache User detail cache.
      */
     @Autowired
-    public ServiceController(DataAdapterConfiguration dataAdapterConfiguration, BuildProperties buildProperties) {
+    public ServiceController(DataAdapterConfiguration dataAdapterConfiguration, BuildProperties buildProperties, UserDetailCache userDetailCache) {
         this.dataAdapterConfiguration = dataAdapterConfiguration;
         this.buildProperties = buildProperties;
+        this.userDetailCache = userDetailCache;
     }
 
     /**
@@ -71,4 +80,21 @@ public class ServiceController {
         logger.debug("The getServiceStatus request succeeded");
         return new ObjectResponse<>(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Invalidate cached user details, e.g. after a change of user account status in the backend. The cache is
+     * local to the node, so the request needs to be sent to each node.
+     * @param request Request with user ID and organization ID, details of all users are invalidated when user ID is missing.
+     * @return Response with number of invalidated cache entries.
+     */
+    @PostMapping(value = "user-detail-cache/invalidate")
+    public ObjectResponse<UserDetailCacheInvalidationResponse> invalidateUserDetailCache(@RequestBody ObjectRequest<UserDetailCacheInvalidationRequest> request) {
+        final UserDetailCacheInvalidationRequest requestObject = request.getRequestObject();
+        final String userId = requestObject == null ? null : requestObject.getUserId();
+        final String organizationId = requestObject == null ? null : requestObject.getOrganizationId();
+        logger.info("Received invalidateUserDetailCache request, user ID: {}, organization ID: {}", userId, organizationId);
+        final int invalidatedCount = userId == null ? userDetailCache.invalidateAll() : userDetailCache.invalidate(userId, organizationId);
+        logger.info("The invalidateUserDetailCache request succeeded, invalidated count: {}", invalidatedCount);
+        return new ObjectResponse<>(new UserDetailCacheInvalidationResponse(invalidatedCount));
+    }
+}
@@ -21,6 +21,7 @@ import io.getlime.security.powerauth.app.dataadapter.api.DataAdapter;
 import io.getlime.security.powerauth.app.dataadapter.exception.DataAdapterRemoteException;
 import io.getlime.security.powerauth.app.dataadapter.exception.InvalidOperationContextException;
 import io.getlime.security.powerauth.app.dataadapter.impl.validation.AuthorizationSmsRequestValidator;
+import io.getlime.security.powerauth.app.dataadapter.model.request.ResendAuthorizationSmsRequest;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.AuthenticationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.AccountStatus;
@@ -51,6 +52,8 @@ public class SmsAuthorizationController {
 
     private static final Logger logger = LoggerFactory.getLogger(SmsAuthorizationController.class);
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final AuthorizationSmsRequestValidator requestValidator;
     private final DataAdapter dataAdapter;
 
@@ -78,12 +81,14 @@ public class SmsAuthorizationController {
      * Create a new SMS OTP authorization message.
      *
      * @param request Request data.
+     * @param requestKey Optional client supplied request key, repeated requests with the same key are idempotent.
      * @return Response with message ID.
      * @throws DataAdapterRemoteException Thrown in case of remote communication errors.
      * @throws InvalidOperationContextException Thrown in case operation context is invalid.
      */
     @PostMapping(value = "create")
-    public ObjectResponse<CreateSmsAuthorizationResponse> createAuthorizationSms(@Valid @RequestBody ObjectRequest<CreateSmsAuthorizationRequest> request) throws DataAdapterRemoteException, InvalidOperationContextException {
+    public ObjectResponse<CreateSmsAuthorizationResponse> createAuthorizationSms(@Valid @RequestBody ObjectRequest<CreateSmsAuthorizationRequest> request,
+                                                                                 @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String requestKey) throws DataAdapterRemoteException, InvalidOperationContextException {
         logger.info("Received createAuthorizationSms request, operation ID: {}", request.getRequestObject().getOperationContext().getId());
         CreateSmsAuthorizationRequest smsRequest = request.getRequestObject();
 
@@ -94,12 +99,36 @@ public class SmsAuthorizationController {
         AuthMethod authMethod = smsRequest.getAuthMethod();
         OperationContext operationContext = smsRequest.getOperationContext();
         String lang = smsRequest.getLang();
-        CreateSmsAuthorizationResponse response = dataAdapter.createAndSendAuthorizationSms(userId, organizationId, accountStatus, authMethod, operationContext, lang);
+        CreateSmsAuthorizationResponse response = dataAdapter.createAndSendAuthorizationSms(userId, organizationId, accountStatus, authMethod, operationContext, lang, requestKey);
 
         logger.info("The createAuthorizationSms request succeeded, operation ID: {}", request.getRequestObject().getOperationContext().getId());
         return new ObjectResponse<>(response);
     }
 
+    /**
+     * Resend an existing SMS OTP authorization message without regenerating the authorization code.
+     *
+     * @param request Request data.
+     * @return Response with message ID.
+     * @throws DataAdapterRemoteException Thrown in case of remote communication errors.
+     * @throws InvalidOperationContextException Thrown in case operation context is invalid.
+     */
+    @PostMapping(value = "resend")
+    public ObjectResponse<CreateSmsAuthorizationResponse> resendAuthorizationSms(@Valid @RequestBody ObjectRequest<ResendAuthorizationSmsRequest> request) throws DataAdapterRemoteException, InvalidOperationContextException {
+        logger.info("Received resendAuthorizationSms request, operation ID: {}", request.getRequestObject().getOperationContext().getId());
+        ResendAuthorizationSmsRequest smsRequest = request.getRequestObject();
+
+        // Resend stored authorization SMS
+        String userId = smsRequest.getUserId();
+        String organizationId = smsRequest.getOrganizationId();
+        String messageId = smsRequest.getMessageId();
+        OperationContext operationContext = smsRequest.getOperationContext();
+        CreateSmsAuthorizationResponse response = dataAdapter.resendAuthorizationSms(userId, organizationId, messageId, operationContext);
+
+        logger.info("The resendAuthorizationSms request succeeded, operation ID: {}", request.getRequestObject().getOperationContext().getId());
+        return new ObjectResponse<>(response);
+    }
+
     /**
      * Send a new SMS OTP authorization message.
      *
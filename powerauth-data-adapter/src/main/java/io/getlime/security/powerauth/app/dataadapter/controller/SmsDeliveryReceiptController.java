@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.controller;
+
+import io.getlime.core.rest.model.base.request.ObjectRequest;
+import io.getlime.core.rest.model.base.response.ObjectResponse;
+import io.getlime.security.powerauth.app.dataadapter.exception.InvalidDeliveryReceiptException;
+import io.getlime.security.powerauth.app.dataadapter.impl.service.SmsDeliveryReceiptService;
+import io.getlime.security.powerauth.app.dataadapter.model.request.SmsDeliveryReceiptRequest;
+import io.getlime.security.powerauth.app.dataadapter.model.response.SmsDeliveryReceiptResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class which handles SMS delivery receipts reported by SMS providers.
+ *
+ * @author Wultra s.r.o.
+ */
+@RestController
+@RequestMapping("/api/auth/sms/delivery-receipt")
+public class SmsDeliveryReceiptController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsDeliveryReceiptController.class);
+
+    private final SmsDeliveryReceiptService smsDeliveryReceiptService;
+
+    /**
+     * Controller constructor.
+     * @param smsDeliveryReceiptService SMS delivery receipt service.
+     */
+    @Autowired
+    public SmsDeliveryReceiptController(SmsDeliveryReceiptService smsDeliveryReceiptService) {
+        this.smsDeliveryReceiptService = smsDeliveryReceiptService;
+    }
+
+    /**
+     * Record a batch of SMS delivery receipts.
+     *
+     * @param request Request with delivery receipts.
+     * @return Response with number of received receipts and number of updated messages.
+     * @throws InvalidDeliveryReceiptException Thrown in case delivery receipts are invalid.
+     */
+    @PostMapping
+    public ObjectResponse<SmsDeliveryReceiptResponse> processDeliveryReceipts(@RequestBody ObjectRequest<SmsDeliveryReceiptRequest> request) throws InvalidDeliveryReceiptException {
+        if (request.getRequestObject() == null) {
+            throw new InvalidDeliveryReceiptException("Missing request object");
+        }
+        logger.debug("Received processDeliveryReceipts request, receipt count: {}", request.getRequestObject().getReceipts() == null ? 0 : request.getRequestObject().getReceipts().size());
+        SmsDeliveryReceiptResponse response = smsDeliveryReceiptService.processReceipts(request.getRequestObject().getReceipts());
+        logger.debug("The processDeliveryReceipts request succeeded, updated count: {}", response.getUpdatedCount());
+        return new ObjectResponse<>(response);
+    }
+
+}
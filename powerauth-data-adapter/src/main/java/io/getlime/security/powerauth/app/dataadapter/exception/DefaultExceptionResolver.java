@@ -128,6 +128,20 @@ public class DefaultExceptionResolver {
         return new ErrorResponse(error);
     }
 
+    /**
+     * Handling of invalid delivery receipt exception.
+     * @param ex Exception.
+     * @return Response with error information.
+     */
+    @ExceptionHandler(InvalidDeliveryReceiptException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public @ResponseBody ErrorResponse handleInvalidDeliveryReceiptException(InvalidDeliveryReceiptException ex) {
+        logger.warn("Invalid SMS delivery receipts, error: {}", ex.getMessage());
+        logger.debug(ex.getMessage(), ex);
+        DataAdapterError error = new DataAdapterError(DataAdapterError.Code.INPUT_INVALID, ex.getMessage());
+        return new ErrorResponse(error);
+    }
+
     /**
      * Handling of exceptions occurring during communication with remote backends.
      * @param ex Exception.
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * SMS gateway which limits the number of messages sent concurrently through another SMS gateway. Each upstream
+ * gateway is wrapped separately, so that routing over multiple gateways applies the limit to each of them.
+ *
+ * @author Wultra s.r.o.
+ */
+public class ConcurrencyLimitedSmsGateway implements SmsGateway {
+
+    private final SmsGateway gateway;
+    private final Semaphore permits;
+
+    /**
+     * Gateway constructor.
+     * @param gateway Upstream SMS gateway.
+     * @param maxConcurrency Maximum number of messages sent concurrently through the upstream gateway.
+     */
+    public ConcurrencyLimitedSmsGateway(SmsGateway gateway, int maxConcurrency) {
+        this.gateway = gateway;
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+
+    @Override
+    public String getName() {
+        return gateway.getName();
+    }
+
+    @Override
+    public SmsDeliveryResult send(SmsMessage message) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return SmsDeliveryResult.FAILED;
+        }
+        try {
+            return gateway.send(message);
+        } finally {
+            permits.release();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SMS gateway which posts SMS messages as JSON to an HTTP endpoint of the SMS provider or of a backend service
+ * which resolves the phone number of the user.
+ * <p>
+ * A single HTTP client is shared by all requests. The client keeps connections alive and reuses them, HTTP/2 is
+ * negotiated in case the server supports it, HTTP/1.1 is used otherwise.
+ *
+ * @author Wultra s.r.o.
+ */
+public class HttpSmsGateway implements SmsGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpSmsGateway.class);
+
+    private final String name;
+    private final URI uri;
+    private final String authorizationHeader;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Gateway constructor.
+     * @param name Gateway name.
+     * @param url URL of the SMS endpoint.
+     * @param authorizationHeader Value of the Authorization header, null in case the header is not sent.
+     * @param connectTimeout Connect timeout in milliseconds.
+     * @param requestTimeout Request timeout in milliseconds.
+     */
+    public HttpSmsGateway(String name, String url, String authorizationHeader, long connectTimeout, long requestTimeout) {
+        this.name = name;
+        this.uri = URI.create(url);
+        this.authorizationHeader = authorizationHeader;
+        this.requestTimeout = Duration.ofMillis(requestTimeout);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SmsDeliveryResult send(SmsMessage message) {
+        final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(message)));
+        if (authorizationHeader != null && !authorizationHeader.isEmpty()) {
+            requestBuilder.header("Authorization", authorizationHeader);
+        }
+        try {
+            final HttpResponse<Void> response = httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                return SmsDeliveryResult.SUCCEEDED;
+            }
+            logger.warn("SMS gateway rejected message, gateway: {}, message ID: {}, status code: {}", name, message.messageId(), response.statusCode());
+            return SmsDeliveryResult.FAILED;
+        } catch (IOException ex) {
+            logger.warn("SMS gateway request failed, gateway: {}, message ID: {}, error: {}", name, message.messageId(), ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+            return SmsDeliveryResult.FAILED;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return SmsDeliveryResult.FAILED;
+        }
+    }
+
+    /**
+     * Serialize an SMS message to JSON.
+     * @param message SMS message.
+     * @return JSON request body.
+     */
+    private String toJson(SmsMessage message) {
+        final Map<String, String> body = new LinkedHashMap<>();
+        body.put("messageId", message.messageId());
+        body.put("userId", message.userId());
+        body.put("organizationId", message.organizationId());
+        body.put("text", message.text());
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("SMS message serialization failed", ex);
+        }
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * SMS gateway which routes messages over multiple SMS gateways.
+ * <p>
+ * The gateway tracks exponentially weighted moving averages of latency and error rate of each gateway and sends
+ * each message through the healthiest gateway. When the error rate of a gateway exceeds the threshold, its circuit
+ * breaker opens and the gateway receives no messages until the open duration elapses. A single trial message is
+ * sent afterwards, the circuit closes in case the trial succeeds. A failed delivery is retried once through each
+ * remaining gateway. Latency, error rate and circuit state of each gateway are exported as metrics.
+ *
+ * @author Wultra s.r.o.
+ */
+public class RoutingSmsGateway implements SmsGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingSmsGateway.class);
+
+    private final String name;
+    private final List<GatewayState> gateways;
+    private final double ewmaAlpha;
+    private final double errorRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationMillis;
+    private final LongSupplier clock;
+
+    /**
+     * Gateway constructor.
+     * @param name Gateway name.
+     * @param gateways Routed gateways in order of preference.
+     * @param ewmaAlpha Weight of the latest call in moving averages between 0.0 and 1.0.
+     * @param errorRateThreshold Error rate which opens the circuit breaker between 0.0 and 1.0.
+     * @param minimumCalls Minimum number of calls before the circuit breaker may open.
+     * @param openDurationMillis Time in milliseconds for which an open circuit breaker blocks the gateway.
+     * @param meterRegistry Meter registry.
+     */
+    public RoutingSmsGateway(String name, List<SmsGateway> gateways, double ewmaAlpha, double errorRateThreshold, int minimumCalls, long openDurationMillis, MeterRegistry meterRegistry) {
+        this(name, gateways, ewmaAlpha, errorRateThreshold, minimumCalls, openDurationMillis, meterRegistry, System::currentTimeMillis);
+    }
+
+    /**
+     * Gateway constructor with a custom clock.
+     * @param name Gateway name.
+     * @param gateways Routed gateways in order of preference.
+     * @param ewmaAlpha Weight of the latest call in moving averages between 0.0 and 1.0.
+     * @param errorRateThreshold Error rate which opens the circuit breaker between 0.0 and 1.0.
+     * @param minimumCalls Minimum number of calls before the circuit breaker may open.
+     * @param openDurationMillis Time in milliseconds for which an open circuit breaker blocks the gateway.
+     * @param meterRegistry Meter registry.
+     * @param clock Clock returning the current time in milliseconds.
+     */
+    RoutingSmsGateway(String name, List<SmsGateway> gateways, double ewmaAlpha, double errorRateThreshold, int minimumCalls, long openDurationMillis, MeterRegistry meterRegistry, LongSupplier clock) {
+        if (gateways.isEmpty()) {
+            throw new IllegalStateException("No SMS gateways are configured for routing");
+        }
+        this.name = name;
+        this.ewmaAlpha = ewmaAlpha;
+        this.errorRateThreshold = errorRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.openDurationMillis = openDurationMillis;
+        this.clock = clock;
+        final List<GatewayState> states = new ArrayList<>(gateways.size());
+        for (int i = 0; i < gateways.size(); i++) {
+            final GatewayState state = new GatewayState(gateways.get(i), i, meterRegistry);
+            Gauge.builder("powerauth.sms.gateway.latency", state, GatewayState::getLatency)
+                    .description("Moving average of SMS gateway latency in milliseconds")
+                    .tag("gateway", state.gateway.getName())
+                    .register(meterRegistry);
+            Gauge.builder("powerauth.sms.gateway.error.rate", state, GatewayState::getErrorRate)
+                    .description("Moving average of SMS gateway error rate")
+                    .tag("gateway", state.gateway.getName())
+                    .register(meterRegistry);
+            Gauge.builder("powerauth.sms.gateway.circuit.open", state, s -> s.isOpen(clock.getAsLong()) ? 1 : 0)
+                    .description("Whether the circuit breaker of the SMS gateway is open")
+                    .tag("gateway", state.gateway.getName())
+                    .register(meterRegistry);
+            states.add(state);
+        }
+        this.gateways = List.copyOf(states);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SmsDeliveryResult send(SmsMessage message) {
+        final List<GatewayState> candidates = rankGateways();
+        SmsDeliveryResult deliveryResult = SmsDeliveryResult.FAILED;
+        for (int i = 0; i < candidates.size(); i++) {
+            final GatewayState state = candidates.get(i);
+            if (i > 0) {
+                state.failoverCounter.increment();
+                logger.info("SMS delivery failed over to gateway: {}, message ID: {}", state.gateway.getName(), message.messageId());
+            }
+            state.routeCounter.increment();
+            final long started = System.nanoTime();
+            try {
+                deliveryResult = state.gateway.send(message);
+            } catch (RuntimeException ex) {
+                logger.warn("SMS gateway failed, gateway: {}, message ID: {}, error: {}", state.gateway.getName(), message.messageId(), ex.getMessage());
+                logger.debug(ex.getMessage(), ex);
+                deliveryResult = SmsDeliveryResult.FAILED;
+            }
+            state.record((System.nanoTime() - started) / 1_000_000.0, deliveryResult == SmsDeliveryResult.SUCCEEDED);
+            if (deliveryResult == SmsDeliveryResult.SUCCEEDED) {
+                return deliveryResult;
+            }
+        }
+        return deliveryResult;
+    }
+
+    /**
+     * Rank gateways by health. Gateways with an open circuit breaker are excluded, unless no other gateway is
+     * available. A gateway with an expired open circuit breaker receives a single trial message before other gateways.
+     * @return Gateways in order of preference.
+     */
+    private List<GatewayState> rankGateways() {
+        final long now = clock.getAsLong();
+        final List<RankedGateway> ranked = new ArrayList<>(gateways.size());
+        GatewayState trial = null;
+        for (GatewayState state : gateways) {
+            if (state.isClosed()) {
+                // Scores are captured before sorting, concurrent calls update them
+                ranked.add(new RankedGateway(state, state.getScore()));
+            } else if (trial == null && state.tryAcquireTrial(now)) {
+                trial = state;
+            }
+        }
+        ranked.sort(Comparator.comparingDouble(RankedGateway::score).thenComparingInt(r -> r.state().priority));
+        final List<GatewayState> available = new ArrayList<>(gateways.size());
+        ranked.forEach(r -> available.add(r.state()));
+        if (trial != null) {
+            // The trial message is sent first, so that the acquired trial is always completed
+            available.add(0, trial);
+        }
+        if (available.isEmpty()) {
+            // All circuit breakers are open, use the gateway which is closest to recovery
+            available.add(gateways.stream().min(Comparator.comparingLong(GatewayState::getOpenUntil)).orElseThrow());
+        }
+        return available;
+    }
+
+    /**
+     * Gateway with a captured routing score.
+     * @param state Gateway state.
+     * @param score Routing score.
+     */
+    private record RankedGateway(GatewayState state, double score) {
+    }
+
+    /**
+     * Health state of a routed gateway.
+     */
+    private final class GatewayState {
+
+        private final SmsGateway gateway;
+        private final int priority;
+        private final Counter routeCounter;
+        private final Counter failoverCounter;
+        private double latency;
+        private double errorRate;
+        private long calls;
+        private long openUntil;
+        private boolean trialInFlight;
+
+        private GatewayState(SmsGateway gateway, int priority, MeterRegistry meterRegistry) {
+            this.gateway = gateway;
+            this.priority = priority;
+            this.routeCounter = Counter.builder("powerauth.sms.gateway.route")
+                    .description("Number of SMS messages routed to the SMS gateway")
+                    .tag("gateway", gateway.getName())
+                    .register(meterRegistry);
+            this.failoverCounter = Counter.builder("powerauth.sms.gateway.failover")
+                    .description("Number of SMS messages failed over to the SMS gateway")
+                    .tag("gateway", gateway.getName())
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Check whether the circuit breaker of the gateway is closed.
+         * @return Whether the circuit breaker is closed.
+         */
+        private synchronized boolean isClosed() {
+            return openUntil == 0;
+        }
+
+        /**
+         * Try to acquire the single trial message of a gateway with an expired open circuit breaker.
+         * @param now Current time in milliseconds.
+         * @return Whether the trial message was acquired.
+         */
+        private synchronized boolean tryAcquireTrial(long now) {
+            if (openUntil == 0 || now < openUntil || trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+
+        /**
+         * Record the result of a call and update the circuit breaker.
+         * @param latencyMillis Call latency in milliseconds.
+         * @param succeeded Whether the call succeeded.
+         */
+        private synchronized void record(double latencyMillis, boolean succeeded) {
+            calls++;
+            latency = calls == 1 ? latencyMillis : ewmaAlpha * latencyMillis + (1 - ewmaAlpha) * latency;
+            errorRate = ewmaAlpha * (succeeded ? 0.0 : 1.0) + (1 - ewmaAlpha) * errorRate;
+            if (openUntil != 0 && trialInFlight) {
+                trialInFlight = false;
+                if (succeeded) {
+                    logger.info("SMS gateway circuit breaker closed, gateway: {}", gateway.getName());
+                    openUntil = 0;
+                    errorRate = 0.0;
+                    calls = 1;
+                } else {
+                    openUntil = clock.getAsLong() + openDurationMillis;
+                }
+                return;
+            }
+            if (openUntil == 0 && calls >= minimumCalls && errorRate >= errorRateThreshold) {
+                logger.warn("SMS gateway circuit breaker opened, gateway: {}, error rate: {}", gateway.getName(), errorRate);
+                openUntil = clock.getAsLong() + openDurationMillis;
+            }
+        }
+
+        private synchronized boolean isOpen(long now) {
+            return openUntil != 0 && now < openUntil;
+        }
+
+        private synchronized long getOpenUntil() {
+            return openUntil;
+        }
+
+        private synchronized double getLatency() {
+            return latency;
+        }
+
+        private synchronized double getErrorRate() {
+            return errorRate;
+        }
+
+        /**
+         * Get routing score of the gateway, lower score is better. Latency is penalized by the error rate.
+         * @return Routing score.
+         */
+        private synchronized double getScore() {
+            return latency / Math.max(0.01, 1.0 - errorRate);
+        }
+
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+
+/**
+ * Gateway which delivers SMS messages to users.
+ * <p>
+ * The gateway is selected using property powerauth.authorization.sms-otp.gateway.type. Implementations must be
+ * thread safe, a single gateway instance is shared by all request and dispatch threads.
+ *
+ * @author Wultra s.r.o.
+ */
+public interface SmsGateway {
+
+    /**
+     * Get gateway name used in logs and metrics.
+     * @return Gateway name.
+     */
+    String getName();
+
+    /**
+     * Send an SMS message.
+     * @param message SMS message.
+     * @return Result of SMS delivery.
+     */
+    SmsDeliveryResult send(SmsMessage message);
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+/**
+ * SMS message sent through an SMS gateway.
+ *
+ * @param messageId Message ID.
+ * @param userId User ID of message recipient.
+ * @param organizationId Organization ID.
+ * @param text Text of SMS message.
+ * @author Wultra s.r.o.
+ */
+public record SmsMessage(String messageId, String userId, String organizationId, String text) {
+}
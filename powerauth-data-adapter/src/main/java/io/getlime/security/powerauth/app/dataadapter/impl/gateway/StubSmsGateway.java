@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process SMS gateway which does not send any messages. The gateway simulates delivery latency and failures,
+ * it is intended for development and load tests.
+ *
+ * @author Wultra s.r.o.
+ */
+public class StubSmsGateway implements SmsGateway {
+
+    private final String name;
+    private final long latency;
+    private final long latencyJitter;
+    private final double failureRate;
+
+    /**
+     * Gateway constructor.
+     * @param name Gateway name.
+     * @param latency Simulated latency in milliseconds.
+     * @param latencyJitter Maximum random latency in milliseconds added to the simulated latency.
+     * @param failureRate Ratio of failed deliveries between 0.0 and 1.0.
+     */
+    public StubSmsGateway(String name, long latency, long latencyJitter, double failureRate) {
+        this.name = name;
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SmsDeliveryResult send(SmsMessage message) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long delay = latency + (latencyJitter > 0 ? random.nextLong(latencyJitter + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return SmsDeliveryResult.FAILED;
+            }
+        }
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            return SmsDeliveryResult.FAILED;
+        }
+        return SmsDeliveryResult.SUCCEEDED;
+    }
+
+}
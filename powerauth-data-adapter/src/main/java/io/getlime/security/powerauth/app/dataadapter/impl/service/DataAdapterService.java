@@ -17,8 +17,21 @@ package io.getlime.security.powerauth.app.dataadapter.impl.service;
 
 import io.getlime.security.powerauth.app.dataadapter.api.DataAdapter;
 import io.getlime.security.powerauth.app.dataadapter.exception.*;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.IndexedFormData;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.OperationDefinition;
+import io.getlime.security.powerauth.app.dataadapter.model.enumeration.OperationKind;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationResend;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsTemplateReference;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UserCredentials;
 import io.getlime.security.powerauth.app.dataadapter.service.DataAdapterI18NService;
+import io.getlime.security.powerauth.app.dataadapter.service.FailedAttemptCounter;
+import io.getlime.security.powerauth.app.dataadapter.service.MessageIdGenerator;
+import io.getlime.security.powerauth.app.dataadapter.service.ParallelVerificationService;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsIdempotencyService;
 import io.getlime.security.powerauth.app.dataadapter.service.SmsPersistenceService;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsRateLimiter;
+import io.getlime.security.powerauth.app.dataadapter.service.UserCredentialsService;
+import io.getlime.security.powerauth.app.dataadapter.service.UserDetailCache;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.*;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.AmountAttribute;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.FormFieldConfig;
@@ -38,7 +51,7 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 
 /**
  * Sample implementation of DataAdapter interface which should be updated in real implementation.
@@ -52,7 +65,9 @@ public class DataAdapterService implements DataAdapter {
 
     private static final String BANK_ACCOUNT_CHOICE_ID = "operation.bankAccountChoice";
     private static final String AUTHENTICATION_FAILED = "login.authenticationFailed";
+    private static final String AUTHENTICATION_BLOCKED = "login.authenticationBlocked";
     private static final String SMS_DELIVERY_FAILED = "smsAuthorization.deliveryFailed";
+    private static final String SMS_STORE_CAPACITY_EXCEEDED = "smsAuthorization.storeCapacityExceeded";
     private static final String SMS_AUTHORIZATION_FAILED = "smsAuthorization.failed";
     private static final String INVALID_REQUEST = "error.invalidRequest";
 
@@ -67,17 +82,37 @@ public class DataAdapterService implements DataAdapter {
     private final SmsPersistenceService smsPersistenceService;
     private final SmsDeliveryService smsDeliveryService;
     private final OperationValueExtractionService operationValueExtractionService;
+    private final MessageIdGenerator messageIdGenerator;
+    private final SmsOutboxService smsOutboxService;
+    private final SmsDispatchService smsDispatchService;
+    private final SmsRateLimiter smsRateLimiter;
+    private final SmsIdempotencyService smsIdempotencyService;
+    private final OperationRegistry operationRegistry;
+    private final UserDetailCache userDetailCache;
+    private final UserCredentialsService userCredentialsService;
+    private final FailedAttemptCounter failedAttemptCounter;
+    private final ParallelVerificationService parallelVerificationService;
 
     @Autowired
-    public DataAdapterService(DataAdapterI18NService dataAdapterI18NService, SmsPersistenceService smsPersistenceService, SmsDeliveryService smsDeliveryService, OperationValueExtractionService operationValueExtractionService) {
+    public DataAdapterService(DataAdapterI18NService dataAdapterI18NService, SmsPersistenceService smsPersistenceService, SmsDeliveryService smsDeliveryService, OperationValueExtractionService operationValueExtractionService, MessageIdGenerator messageIdGenerator, SmsOutboxService smsOutboxService, SmsDispatchService smsDispatchService, SmsRateLimiter smsRateLimiter, SmsIdempotencyService smsIdempotencyService, OperationRegistry operationRegistry, UserDetailCache userDetailCache, UserCredentialsService userCredentialsService, FailedAttemptCounter failedAttemptCounter, ParallelVerificationService parallelVerificationService) {
         this.dataAdapterI18NService = dataAdapterI18NService;
         this.smsPersistenceService = smsPersistenceService;
         this.smsDeliveryService = smsDeliveryService;
         this.operationValueExtractionService = operationValueExtractionService;
+        this.messageIdGenerator = messageIdGenerator;
+        this.smsOutboxService = smsOutboxService;
+        this.smsDispatchService = smsDispatchService;
+        this.smsRateLimiter = smsRateLimiter;
+        this.smsIdempotencyService = smsIdempotencyService;
+        this.operationRegistry = operationRegistry;
+        this.userDetailCache = userDetailCache;
+        this.userCredentialsService = userCredentialsService;
+        this.failedAttemptCounter = failedAttemptCounter;
+        this.parallelVerificationService = parallelVerificationService;
     }
 
     @Override
-    public UserDetailResponse lookupUser(String username, String organizationId, String clientCertificate, OperationContext operationContext) {
+    public UserDetailResponse lookupUser(String username, String organizationId, String clientCertificate, OperationContext operationContext) throws DataAdapterRemoteException, UserNotFoundException {
         // The sample Data Adapter code uses 1:1 mapping of username to user ID. In real implementation the userId usually differs from the username, so translation of username to user ID is required.
         // If the user does not exist, return null values for user ID and organization ID.
         // If user account account is blocked, return AccountStatus.NOT_ACTIVE as account status.
@@ -89,12 +124,37 @@ public class DataAdapterService implements DataAdapter {
             return fetchUserDetail("certuser", organizationId, operationContext);
         }
 
+        if (userCredentialsService.isEnabled()) {
+            // Translate username to user ID using table da_user_credentials or the username index.
+            final Optional<String> userId = userCredentialsService.resolveUserId(username, organizationId);
+            if (userId.isEmpty()) {
+                return new UserDetailResponse();
+            }
+            return fetchUserDetail(userId.get(), organizationId, operationContext);
+        }
+
         // Use 1:1 mapping of username to user ID in sample implementation.
         return fetchUserDetail(username, organizationId, operationContext);
     }
 
     @Override
-    public UserAuthenticationResponse authenticateUser(String userId, String password, AuthenticationContext authenticationContext, String organizationId, OperationContext operationContext) {
+    public UserAuthenticationResponse authenticateUser(String userId, String password, AuthenticationContext authenticationContext, String organizationId, OperationContext operationContext) throws DataAdapterRemoteException {
+        return authenticateUser(userId, password, authenticationContext, organizationId, operationContext, true);
+    }
+
+    /**
+     * Authenticate user using password and count failed attempts.
+     * @param userId User ID.
+     * @param password Password.
+     * @param authenticationContext Authentication context.
+     * @param organizationId Organization ID.
+     * @param operationContext Operation context.
+     * @param resetOnSuccess Whether failed attempts are reset in case the password is valid, false in case the password
+     *                       is only a part of the authentication and the caller resets failed attempts.
+     * @return User authentication response.
+     * @throws DataAdapterRemoteException Thrown in case of remote communication errors.
+     */
+    private UserAuthenticationResponse authenticateUser(String userId, String password, AuthenticationContext authenticationContext, String organizationId, OperationContext operationContext, boolean resetOnSuccess) throws DataAdapterRemoteException {
         // Here will be the real authentication - call to the backend providing authentication.
         // Return a response with UserAuthenticationResult based on the actual authentication result.
         // The password is optionally encrypted, the authentication context contains information about encryption.
@@ -102,33 +162,84 @@ public class DataAdapterService implements DataAdapter {
         // about result of SMS authorization.
         PasswordProtectionType passwordProtection = authenticationContext.getPasswordProtection();
         UserAuthenticationResponse authResponse = new UserAuthenticationResponse();
-        if (passwordProtection == PasswordProtectionType.NO_PROTECTION && "test".equals(password)) {
-            UserDetailResponse userDetail = fetchUserDetail(userId, organizationId, operationContext);
-            // The organization needs to be set in response (e.g. client authenticated against RETAIL organization or SME organization).
-            userDetail.setOrganizationId(organizationId);
-            authResponse.setAuthenticationResult(UserAuthenticationResult.SUCCEEDED);
+        if (failedAttemptCounter.getStatus(userId).blocked()) {
+            // The user is blocked temporarily due to too many failed attempts, the password is not verified.
+            authResponse.setAuthenticationResult(UserAuthenticationResult.FAILED);
+            authResponse.setErrorMessage(AUTHENTICATION_BLOCKED);
+            authResponse.setRemainingAttempts(0);
             return authResponse;
         }
+        final boolean passwordValid;
+        if (userCredentialsService.isEnabled()) {
+            // Verify bcrypt password hash stored in table da_user_credentials, encrypted passwords need to be decrypted first.
+            passwordValid = passwordProtection == PasswordProtectionType.NO_PROTECTION
+                    && userCredentialsService.authenticate(userId, organizationId, password);
+        } else {
+            passwordValid = passwordProtection == PasswordProtectionType.NO_PROTECTION && "test".equals(password);
+        }
+        if (passwordValid) {
+            try {
+                UserDetailResponse userDetail = fetchUserDetail(userId, organizationId, operationContext);
+                // The organization needs to be set in response (e.g. client authenticated against RETAIL organization or SME organization).
+                userDetail.setOrganizationId(organizationId);
+                if (resetOnSuccess) {
+                    failedAttemptCounter.reset(userId);
+                }
+                authResponse.setAuthenticationResult(UserAuthenticationResult.SUCCEEDED);
+                return authResponse;
+            } catch (UserNotFoundException ex) {
+                // Authentication of a missing user fails the same way as authentication with an invalid password
+                logger.debug("User not found during authentication, user ID: {}", userId);
+            }
+        }
+        final FailedAttemptCounter.Status failedAttempts = failedAttemptCounter.recordFailure(userId);
         authResponse.setAuthenticationResult(UserAuthenticationResult.FAILED);
+        if (failedAttempts.blocked()) {
+            // Let the user know that the account has been blocked temporarily.
+            authResponse.setErrorMessage(AUTHENTICATION_BLOCKED);
+            authResponse.setRemainingAttempts(0);
+            return authResponse;
+        }
         authResponse.setErrorMessage(AUTHENTICATION_FAILED);
         // Set number of remaining attempts for this user ID in case it is available.
-        // authResponse.setRemainingAttempts(5);
+        authResponse.setRemainingAttempts(failedAttempts.remainingAttempts());
 
         // To enable showing of remaining attempts for operation, use:
         // authResponse.setShowRemainingAttempts(true);
 
-        // Use the following code to let the user know that the account has been blocked temporarily.
-        // authResponse.setErrorMessage("login.authenticationBlocked");
-        // authResponse.setRemainingAttempts(0);
-
         return authResponse;
     }
 
     @Override
-    public UserDetailResponse fetchUserDetail(String userId, String organizationId, OperationContext operationContext) {
+    public UserDetailResponse fetchUserDetail(String userId, String organizationId, OperationContext operationContext) throws DataAdapterRemoteException, UserNotFoundException {
+        // User details are cached by user ID and organization ID, the operation context of the first request is used for loading.
+        return userDetailCache.get(userId, organizationId, () -> loadUserDetail(userId, organizationId, operationContext));
+    }
+
+    /**
+     * Load user details from the backend.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param operationContext Operation context, null in case the details are loaded outside of an active operation.
+     * @return User details.
+     * @throws DataAdapterRemoteException Thrown in case of remote communication errors.
+     * @throws UserNotFoundException Thrown when user does not exist.
+     */
+    private UserDetailResponse loadUserDetail(String userId, String organizationId, OperationContext operationContext) throws DataAdapterRemoteException, UserNotFoundException {
         // Fetch user details here ...
         // In case that user is not found, throw a UserNotFoundException.
         // The operation context may be null in case the method is called outside of an active operation (e.g. OAuth user profile request).
+        if (userCredentialsService.isEnabled()) {
+            final UserCredentials user = userCredentialsService.findByUserId(userId, organizationId)
+                    .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
+            UserDetailResponse responseObject = new UserDetailResponse();
+            responseObject.setId(user.userId());
+            responseObject.setGivenName(user.givenName());
+            responseObject.setFamilyName(user.familyName());
+            responseObject.setOrganizationId(user.organizationId());
+            responseObject.setAccountStatus(AccountStatus.ACTIVE);
+            return responseObject;
+        }
         UserDetailResponse responseObject = new UserDetailResponse();
         responseObject.setId(userId);
         responseObject.setGivenName("John");
@@ -156,8 +267,9 @@ public class DataAdapterService implements DataAdapter {
         // Replace mock bank account data with real data loaded from the bank backend.
         // In case the bank account selection is disabled, return an empty list.
 
-        if ((!"authorize_payment".equals(operationName) && !"authorize_payment_sca".equals(operationName))) {
-            // return empty list for operations other than authorize_payment and authorize_payment_sca
+        OperationDefinition operation = operationRegistry.find(operationName);
+        if (operation == null || operation.kind() != OperationKind.PAYMENT) {
+            // return empty list for operations other than payments
             return new DecorateOperationFormDataResponse(formData);
         }
 
@@ -192,15 +304,15 @@ public class DataAdapterService implements DataAdapter {
         boolean choiceEnabled = true;
         String defaultValue = "CZ4012340000000012345678";
 
-        List<FormFieldConfig> configs = formData.getConfig();
-        for (FormFieldConfig config: configs) {
-            if (BANK_ACCOUNT_CHOICE_ID.equals(config.getId())) {
-                choiceEnabled = config.isEnabled();
-                // You should check the default value against list of available accounts.
-                defaultValue = config.getDefaultValue();
-            }
+        IndexedFormData indexedFormData = operationValueExtractionService.getIndexedFormData(formData);
+        FormFieldConfig config = indexedFormData.getConfig(BANK_ACCOUNT_CHOICE_ID);
+        if (config != null) {
+            choiceEnabled = config.isEnabled();
+            // You should check the default value against list of available accounts.
+            defaultValue = config.getDefaultValue();
         }
         formData.addBankAccountChoice(BANK_ACCOUNT_CHOICE_ID, bankAccounts, choiceEnabled, defaultValue);
+        indexedFormData.invalidate();
 
         // Sample warning banner displayed above the bank account choice field.
         // Attribute attr = formData.addBankAccountChoice(BANK_ACCOUNT_CHOICE_ID, bankAccounts, choiceEnabled, defaultValue);
@@ -261,37 +373,31 @@ public class DataAdapterService implements DataAdapter {
     @Override
     public GetPAOperationMappingResponse getPAOperationMapping(String userId, String organizationId, AuthMethod authMethod, OperationContext operationContext) {
         GetPAOperationMappingResponse response = new GetPAOperationMappingResponse();
-        switch (operationContext.getName()) {
-
-            case "login_sca":
-            case "authorize_payment_sca":
-                // Mapping logic is required for operations which have multiple steps with a PowerAuth operation.
-                // The PowerAuth operation template name, operation name, data and form data are mapped for SCA login.
-                // Note that in actual DA implementation, the operation names may differ from Next Step defaults.
-                // For instance the "login_sca" may be called "login" and "authorize_payment_sca" may be called "authorize_payment".
-                // So, the switch needs to be updated when the "_sca" suffix is missing or operation names differ completely.
-                if (authMethod == AuthMethod.LOGIN_SCA) {
-                    response.setTemplateName(LOGIN_TEMPLATE_NAME);
-                    response.setOperationName(LOGIN_OPERATION_NAME);
-                    response.setOperationData(LOGIN_OPERATION_DATA);
-                    FormData formData = new FormData();
-                    formData.addTitle(LOGIN_TITLE);
-                    formData.addGreeting(LOGIN_GREETING);
-                    formData.addSummary(LOGIN_SUMMARY);
-                    formData.getUserInput().putAll(operationContext.getFormData().getUserInput());
-                    response.setFormData(formData);
-                    return response;
-                }
-                // Missing break is intentional, APPROVAL_SCA within authorize_payment_sca operation is handled as the default case
-
-            default:
-                // For operations which have a single step with a PowerAuth operation, there is no change required.
-                response.setTemplateName(operationContext.getName());
-                response.setOperationName(operationContext.getName());
-                response.setOperationData(operationContext.getData());
-                response.setFormData(operationContext.getFormData());
-                return response;
+        OperationDefinition operation = operationRegistry.find(operationContext.getName());
+        if (operation != null && operation.multiStepMapping() && authMethod == AuthMethod.LOGIN_SCA) {
+            // Mapping logic is required for operations which have multiple steps with a PowerAuth operation.
+            // The PowerAuth operation template name, operation name, data and form data are mapped for SCA login.
+            // Note that in actual DA implementation, the operation names may differ from Next Step defaults.
+            // For instance the "login_sca" may be called "login" and "authorize_payment_sca" may be called "authorize_payment".
+            // So, the multi-step mapping needs to be configured for operations which have multiple steps.
+            response.setTemplateName(LOGIN_TEMPLATE_NAME);
+            response.setOperationName(LOGIN_OPERATION_NAME);
+            response.setOperationData(LOGIN_OPERATION_DATA);
+            FormData formData = new FormData();
+            formData.addTitle(LOGIN_TITLE);
+            formData.addGreeting(LOGIN_GREETING);
+            formData.addSummary(LOGIN_SUMMARY);
+            formData.getUserInput().putAll(operationContext.getFormData().getUserInput());
+            response.setFormData(formData);
+            return response;
         }
+        // For operations which have a single step with a PowerAuth operation, there is no change required.
+        // APPROVAL_SCA within multi-step payment operations is handled the same way.
+        response.setTemplateName(operationContext.getName());
+        response.setOperationName(operationContext.getName());
+        response.setOperationData(operationContext.getData());
+        response.setFormData(operationContext.getFormData());
+        return response;
     }
 
     @Override
@@ -303,22 +409,73 @@ public class DataAdapterService implements DataAdapter {
 
     @Override
     public CreateSmsAuthorizationResponse createAndSendAuthorizationSms(String userId, String organizationId, AccountStatus accountStatus, AuthMethod authMethod, OperationContext operationContext, String lang) throws InvalidOperationContextException {
+        return createAndSendAuthorizationSmsInternal(userId, organizationId, authMethod, operationContext, lang, null);
+    }
+
+    @Override
+    public CreateSmsAuthorizationResponse createAndSendAuthorizationSms(String userId, String organizationId, AccountStatus accountStatus, AuthMethod authMethod, OperationContext operationContext, String lang, String requestKey) throws InvalidOperationContextException, DataAdapterRemoteException {
+        if (requestKey == null || requestKey.isEmpty() || !smsIdempotencyService.isEnabled()) {
+            return createAndSendAuthorizationSmsInternal(userId, organizationId, authMethod, operationContext, lang, null);
+        }
+        // Duplicate requests with the same request key receive the response of the first request
+        final String idempotencyKey = smsIdempotencyService.deriveIdempotencyKey(operationContext.getId(), authMethod, requestKey);
+        return smsIdempotencyService.execute(idempotencyKey,
+                () -> createAndSendAuthorizationSmsInternal(userId, organizationId, authMethod, operationContext, lang, idempotencyKey),
+                messageId -> retryAuthorizationSms(userId, organizationId, messageId, operationContext));
+    }
+
+    /**
+     * Create authorization SMS message and send it.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param authMethod Authentication method.
+     * @param operationContext Operation context.
+     * @param lang Language for localization.
+     * @param idempotencyKey Idempotency key stored with the message, null in case the request is not idempotent.
+     * @return Response with message ID and delivery result.
+     * @throws InvalidOperationContextException Thrown when operation context is invalid.
+     */
+    private CreateSmsAuthorizationResponse createAndSendAuthorizationSmsInternal(String userId, String organizationId, AuthMethod authMethod, OperationContext operationContext, String lang, String idempotencyKey) throws InvalidOperationContextException {
         CreateSmsAuthorizationResponse response = new CreateSmsAuthorizationResponse();
-        // MessageId is generated as random UUID, it can be overridden to provide a real message identification
-        String messageId = UUID.randomUUID().toString();
+        // Reject the request before any work in case too many messages were sent to the user or for the operation
+        if (!smsRateLimiter.tryAcquire(userId, operationContext.getId())) {
+            logger.warn("SMS OTP rate limit exceeded, user ID: {}, operation ID: {}", userId, operationContext.getId());
+            response.setSmsDeliveryResult(SmsDeliveryResult.FAILED);
+            response.setErrorMessage("smsAuthorization.rateLimitExceeded");
+            return response;
+        }
+
+        // MessageId is generated as random UUID by default, it can be overridden to provide a real message identification
+        String messageId = messageIdGenerator.generateMessageId();
         response.setMessageId(messageId);
 
         // Generate authorization code
         AuthorizationCode authorizationCode = smsDeliveryService.generateAuthorizationCode(userId, organizationId, authMethod, operationContext);
 
         // Generate message text, include previously generated authorization code
-        String messageText = smsDeliveryService.generateSmsText(userId, organizationId, authMethod, operationContext, authorizationCode, lang);
+        SmsTemplateReference templateReference = smsDeliveryService.generateSmsTemplateReference(userId, organizationId, authMethod, operationContext, authorizationCode, lang);
+        String messageText = smsDeliveryService.renderSmsText(templateReference);
+
+        if (smsOutboxService.isEnabled()) {
+            // Persist authorization SMS message together with outbox record, the SMS is delivered asynchronously
+            if (smsOutboxService.createAuthorizationSms(userId, organizationId, messageId, operationContext, authorizationCode, templateReference, messageText, idempotencyKey).isEmpty()) {
+                response.setSmsDeliveryResult(SmsDeliveryResult.FAILED);
+                response.setErrorMessage(SMS_STORE_CAPACITY_EXCEEDED);
+                return response;
+            }
+            response.setSmsDeliveryResult(SmsDeliveryResult.SUCCEEDED);
+            return response;
+        }
 
         // Persist authorization SMS message
-        smsPersistenceService.createAuthorizationSms(userId, organizationId, messageId, operationContext, authorizationCode, messageText);
+        if (smsPersistenceService.createAuthorizationSms(userId, organizationId, messageId, operationContext, authorizationCode, templateReference, messageText, idempotencyKey).isEmpty()) {
+            response.setSmsDeliveryResult(SmsDeliveryResult.FAILED);
+            response.setErrorMessage(SMS_STORE_CAPACITY_EXCEEDED);
+            return response;
+        }
 
         // Send SMS with generated text to target user
-        SmsDeliveryResult deliveryResult = smsDeliveryService.sendAuthorizationSms(userId, organizationId, messageId, messageText, operationContext);
+        SmsDeliveryResult deliveryResult = deliverAuthorizationSms(userId, organizationId, messageId, messageText, operationContext);
         response.setSmsDeliveryResult(deliveryResult);
         if (!SmsDeliveryResult.SUCCEEDED.equals(deliveryResult)) {
             response.setErrorMessage(SMS_DELIVERY_FAILED);
@@ -328,6 +485,74 @@ public class DataAdapterService implements DataAdapter {
         return response;
     }
 
+    @Override
+    public CreateSmsAuthorizationResponse resendAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext) {
+        // Check resend limits, reset message expiration and obtain the stored message text
+        Optional<SmsAuthorizationResend> resendOptional = smsPersistenceService.resendAuthorizationSms(userId, messageId, operationContext);
+        return deliverResentAuthorizationSms(userId, organizationId, messageId, operationContext, resendOptional);
+    }
+
+    /**
+     * Send an authorization SMS message again after its delivery failed, the retry is requested by a duplicate
+     * request with the same idempotency key. The resend cool-down does not apply, other resend limits do.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID.
+     * @param operationContext Operation context.
+     * @return Response with message ID and delivery result.
+     */
+    private CreateSmsAuthorizationResponse retryAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext) {
+        Optional<SmsAuthorizationResend> resendOptional = smsPersistenceService.retryAuthorizationSms(userId, messageId, operationContext);
+        return deliverResentAuthorizationSms(userId, organizationId, messageId, operationContext, resendOptional);
+    }
+
+    /**
+     * Send a stored authorization SMS message again in case the resend was allowed.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID.
+     * @param operationContext Operation context.
+     * @param resendOptional Resend state, empty in case message does not exist or it belongs to another user or operation.
+     * @return Response with message ID and delivery result.
+     */
+    private CreateSmsAuthorizationResponse deliverResentAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext, Optional<SmsAuthorizationResend> resendOptional) {
+        CreateSmsAuthorizationResponse response = new CreateSmsAuthorizationResponse();
+        response.setMessageId(messageId);
+        if (resendOptional.isEmpty()) {
+            response.setSmsDeliveryResult(SmsDeliveryResult.FAILED);
+            response.setErrorMessage("smsAuthorization.invalidMessage");
+            return response;
+        }
+        SmsAuthorizationResend resend = resendOptional.get();
+        if (!resend.resent()) {
+            response.setSmsDeliveryResult(SmsDeliveryResult.FAILED);
+            if (resend.verified()) {
+                response.setErrorMessage("smsAuthorization.alreadyVerified");
+            } else if (resend.attemptsExceeded()) {
+                response.setErrorMessage("smsAuthorization.maxAttemptsExceeded");
+            } else if (resend.resendsExceeded()) {
+                response.setErrorMessage("smsAuthorization.maxResendsExceeded");
+            } else {
+                response.setErrorMessage("smsAuthorization.resendTooEarly");
+            }
+            return response;
+        }
+
+        // Send the stored message text again, the authorization code is not regenerated
+        SmsDeliveryResult deliveryResult;
+        if (smsOutboxService.isEnabled()) {
+            smsOutboxService.enqueueAuthorizationSms(userId, organizationId, messageId, operationContext, resend.messageText());
+            deliveryResult = SmsDeliveryResult.SUCCEEDED;
+        } else {
+            deliveryResult = deliverAuthorizationSms(userId, organizationId, messageId, resend.messageText(), operationContext);
+        }
+        response.setSmsDeliveryResult(deliveryResult);
+        if (!SmsDeliveryResult.SUCCEEDED.equals(deliveryResult)) {
+            response.setErrorMessage(SMS_DELIVERY_FAILED);
+        }
+        return response;
+    }
+
     @Override
     public SendAuthorizationSmsResponse sendAuthorizationSms(String userId, String organizationId, AccountStatus accountStatus, AuthMethod authMethod, OperationContext operationContext, String messageId, String authorizationCode, String lang) throws InvalidOperationContextException {
         SendAuthorizationSmsResponse response = new SendAuthorizationSmsResponse();
@@ -371,7 +596,7 @@ public class DataAdapterService implements DataAdapter {
     }
 
     @Override
-    public VerifySmsAndPasswordResponse verifyAuthorizationSmsAndPassword(String userId, String organizationId, AccountStatus accountStatus, String messageId, String authorizationCode, OperationContext operationContext, AuthenticationContext authenticationContext, String password) {
+    public VerifySmsAndPasswordResponse verifyAuthorizationSmsAndPassword(String userId, String organizationId, AccountStatus accountStatus, String messageId, String authorizationCode, OperationContext operationContext, AuthenticationContext authenticationContext, String password) throws DataAdapterRemoteException {
         VerifySmsAndPasswordResponse response = new VerifySmsAndPasswordResponse();
 
         // Skip credentials verification for non-existent user accounts or blocked user accounts, such request would always fail.
@@ -383,12 +608,25 @@ public class DataAdapterService implements DataAdapter {
             return response;
         }
 
-        // Verify authorization code from SMS
-        VerifySmsAuthorizationResponse smsResponse = smsPersistenceService.verifyAuthorizationSms(messageId, authorizationCode, true);
-        authenticationContext.setSmsAuthorizationResult(smsResponse.getSmsAuthorizationResult());
-
-        // Authenticate user
-        UserAuthenticationResponse authResponse = authenticateUser(userId, password, authenticationContext, organizationId, operationContext);
+        VerifySmsAuthorizationResponse smsResponse;
+        UserAuthenticationResponse authResponse;
+        if (parallelVerificationService.isEnabled()) {
+            // Verify authorization code from SMS and authenticate user concurrently, the authentication context does
+            // not contain the SMS authorization result during user authentication in this case
+            ParallelVerificationService.Results<VerifySmsAuthorizationResponse, UserAuthenticationResponse> results = parallelVerificationService.invokeBoth(
+                    () -> smsPersistenceService.verifyAuthorizationSms(messageId, authorizationCode, true),
+                    () -> authenticateUser(userId, password, authenticationContext, organizationId, operationContext, false));
+            smsResponse = results.first();
+            authResponse = results.second();
+            authenticationContext.setSmsAuthorizationResult(smsResponse.getSmsAuthorizationResult());
+        } else {
+            // Verify authorization code from SMS
+            smsResponse = smsPersistenceService.verifyAuthorizationSms(messageId, authorizationCode, true);
+            authenticationContext.setSmsAuthorizationResult(smsResponse.getSmsAuthorizationResult());
+
+            // Authenticate user
+            authResponse = authenticateUser(userId, password, authenticationContext, organizationId, operationContext, false);
+        }
 
         // Create aggregate response
         response.setSmsAuthorizationResult(smsResponse.getSmsAuthorizationResult());
@@ -397,14 +635,33 @@ public class DataAdapterService implements DataAdapter {
                 || authResponse.getAuthenticationResult() != UserAuthenticationResult.SUCCEEDED) {
             // Provide an error message which does not allow to find out reason of failed verification.
             response.setErrorMessage(AUTHENTICATION_FAILED);
+        } else {
+            // Failed attempts are reset only when both the authorization code and the password are valid
+            failedAttemptCounter.reset(userId);
         }
-        // Optionally set the number of remaining attempts, e.g. using lower of the two remaining attempt counts.
-        // response.setRemainingAttempts(Math.min(smsResponse.getRemainingAttempts(), authResponse.getRemainingAttempts()));
+        // Set the number of remaining attempts using lower of the two remaining attempt counts.
+        response.setRemainingAttempts(minRemainingAttempts(smsResponse.getRemainingAttempts(), authResponse.getRemainingAttempts()));
         // You can enable showing of remaining attempts for the operation.
         // response.setShowRemainingAttempts(true);
         return response;
     }
 
+    /**
+     * Get lower of two remaining attempt counts.
+     * @param first First remaining attempt count, null in case it is not available.
+     * @param second Second remaining attempt count, null in case it is not available.
+     * @return Lower of available remaining attempt counts, null in case none is available.
+     */
+    private static Integer minRemainingAttempts(Integer first, Integer second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return Math.min(first, second);
+    }
+
     @Override
     public VerifyCertificateResponse verifyCertificate(String userId, String organizationId, String certificate, String signedMessage, AuthInstrument authInstrument, AuthMethod authMethod, AccountStatus accountStatus, OperationContext operationContext) {
         // This method should implement client TLS certificate and/or qualified certificate verification. The stub implementation always succeeds.
@@ -425,7 +682,8 @@ public class DataAdapterService implements DataAdapter {
             lang = "en";
         }
         // Generate response with consent text and options based on requested language.
-        if ("login".equals(operationContext.getName()) || "login_sca".equals(operationContext.getName())) {
+        OperationKind operationKind = operationRegistry.get(operationContext).kind();
+        if (operationKind == OperationKind.LOGIN) {
             // Create default consent
             CreateConsentFormResponse response = new CreateConsentFormResponse();
             if ("cs".equals(lang)) {
@@ -446,7 +704,7 @@ public class DataAdapterService implements DataAdapter {
             response.getOptions().add(option1);
             return response;
         }
-        if ("authorize_payment".equals(operationContext.getName()) || "authorize_payment_sca".equals(operationContext.getName())) {
+        if (operationKind == OperationKind.PAYMENT) {
             CreateConsentFormResponse response = new CreateConsentFormResponse();
             if ("cs".equals(lang)) {
                 response.setConsentHtml("Tímto potvrzuji, že jsem inicioval tuto platební operaci a souhlasím s jejím dokončením.");
@@ -490,7 +748,8 @@ public class DataAdapterService implements DataAdapter {
         if (options == null || options.isEmpty()) {
             throw new InvalidConsentDataException("Missing options for consent");
         }
-        if ("login".equals(operationContext.getName()) || "login_sca".equals(operationContext.getName())) {
+        OperationKind operationKind = operationRegistry.get(operationContext).kind();
+        if (operationKind == OperationKind.LOGIN) {
             if (options.size() != 1) {
                 throw new InvalidConsentDataException("Unexpected options count for consent");
             }
@@ -521,7 +780,7 @@ public class DataAdapterService implements DataAdapter {
             }
             return response;
         }
-        if ("authorize_payment".equals(operationContext.getName()) || "authorize_payment_sca".equals(operationContext.getName())) {
+        if (operationKind == OperationKind.PAYMENT) {
             if (options.size() != 2) {
                 throw new InvalidConsentDataException("Unexpected options count for consent");
             }
@@ -618,4 +877,28 @@ public class DataAdapterService implements DataAdapter {
         return response;
     }
 
+    /**
+     * Send an authorization SMS, either asynchronously using the dispatch queue or synchronously. The result of
+     * synchronous delivery is recorded with the message.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID.
+     * @param messageText Text of SMS message.
+     * @param operationContext Operation context.
+     * @return Result of SMS delivery.
+     */
+    private SmsDeliveryResult deliverAuthorizationSms(String userId, String organizationId, String messageId, String messageText, OperationContext operationContext) {
+        if (smsDispatchService.isEnabled()) {
+            return smsDispatchService.dispatch(userId, organizationId, messageId, messageText, operationContext);
+        }
+        final SmsDeliveryResult deliveryResult = smsDeliveryService.sendAuthorizationSms(userId, organizationId, messageId, messageText, operationContext);
+        try {
+            smsPersistenceService.recordDeliveryResult(messageId, deliveryResult);
+        } catch (RuntimeException ex) {
+            logger.warn("SMS delivery result was not recorded, message ID: {}, error: {}", messageId, ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+        return deliveryResult;
+    }
+
 }
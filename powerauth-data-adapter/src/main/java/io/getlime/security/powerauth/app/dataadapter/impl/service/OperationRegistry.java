@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.OperationConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.exception.InvalidOperationContextException;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.OperationDefinition;
+import io.getlime.security.powerauth.app.dataadapter.model.enumeration.OperationKind;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of operations supported by the Data Adapter. Operation definitions are loaded from configuration
+ * at startup and resolved by operation name, new operations of existing kinds are added by configuration only.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class OperationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationRegistry.class);
+
+    /**
+     * Default SMS text template for login operations.
+     */
+    public static final String LOGIN_SMS_TEMPLATE = "login.smsText";
+
+    /**
+     * Default SMS text template for payment operations.
+     */
+    public static final String PAYMENT_SMS_TEMPLATE = "authorize_payment.smsText";
+
+    private final Map<String, OperationDefinition> definitions;
+
+    /**
+     * Registry constructor.
+     * @param operationConfiguration Operation configuration.
+     */
+    @Autowired
+    public OperationRegistry(OperationConfiguration operationConfiguration) {
+        final Map<String, OperationDefinition> result = new HashMap<>();
+        operationConfiguration.getOperations().forEach((name, properties) -> {
+            if (properties.getKind() == null) {
+                throw new IllegalStateException("Kind of operation is not configured: " + name);
+            }
+            final String smsTemplate = properties.getSmsTemplate() != null ? properties.getSmsTemplate() : defaultSmsTemplate(properties.getKind());
+            result.put(name, new OperationDefinition(name, properties.getKind(), smsTemplate, properties.isMultiStepMapping()));
+        });
+        this.definitions = Map.copyOf(result);
+        logger.info("Registered operations: {}", definitions.keySet());
+    }
+
+    /**
+     * Find operation definition by operation name.
+     * @param operationName Operation name.
+     * @return Operation definition, null in case operation is not supported.
+     */
+    public OperationDefinition find(String operationName) {
+        return operationName == null ? null : definitions.get(operationName);
+    }
+
+    /**
+     * Get operation definition for an operation context.
+     * @param operationContext Operation context.
+     * @return Operation definition.
+     * @throws InvalidOperationContextException Thrown when operation is not supported.
+     */
+    public OperationDefinition get(OperationContext operationContext) throws InvalidOperationContextException {
+        final OperationDefinition definition = find(operationContext.getName());
+        if (definition == null) {
+            throw new InvalidOperationContextException("Unsupported operation: " + operationContext.getName());
+        }
+        return definition;
+    }
+
+    /**
+     * Get message codes of all SMS text templates used by registered operations.
+     * @return Message codes of SMS text templates.
+     */
+    public Collection<String> getSmsTemplates() {
+        final Set<String> result = new LinkedHashSet<>();
+        // Login template is used also for the login step of multi-step operations
+        result.add(LOGIN_SMS_TEMPLATE);
+        definitions.values().forEach(definition -> result.add(definition.smsTemplate()));
+        return result;
+    }
+
+    private static String defaultSmsTemplate(OperationKind kind) {
+        return switch (kind) {
+            case LOGIN -> LOGIN_SMS_TEMPLATE;
+            case PAYMENT -> PAYMENT_SMS_TEMPLATE;
+        };
+    }
+
+}
@@ -16,15 +16,23 @@
 package io.getlime.security.powerauth.app.dataadapter.impl.service;
 
 import io.getlime.security.powerauth.app.dataadapter.exception.InvalidOperationContextException;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.IndexedFormData;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.OperationValues;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.FormData;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.AmountAttribute;
-import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.Attribute;
-import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.KeyValueAttribute;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
 
 /**
  * Service which extracts form data from an operation based on required input for SMS text.
+ * <p>
+ * Extracted values and the indexed view of form data are memoized for the current HTTP request, so that
+ * the validator, SMS, AFS and form data decoration code paths which process the same operation context do not
+ * scan the form data repeatedly. Values are extracted without memoization outside of HTTP requests.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
@@ -32,6 +40,8 @@ import org.springframework.stereotype.Service;
 public class OperationValueExtractionService {
 
     private static final String FIELD_ACCOUNT_ID = "operation.account";
+    private static final String OPERATION_VALUES_ATTRIBUTE = OperationValueExtractionService.class.getName() + ".operationValues";
+    private static final String INDEXED_FORM_DATA_ATTRIBUTE = OperationValueExtractionService.class.getName() + ".indexedFormData";
 
     /**
      * Extract amount from operation context.
@@ -40,15 +50,7 @@ public class OperationValueExtractionService {
      * @return Operation amount attribute.
      */
     public AmountAttribute getAmount(OperationContext operationContext) throws InvalidOperationContextException {
-        FormData formData = operationContext.getFormData();
-        if (formData == null || formData.getParameters() == null) {
-            throw new InvalidOperationContextException("Operation form data is invalid");
-        }
-        AmountAttribute amountAttribute = formData.getAmount();
-        if (amountAttribute == null) {
-            throw new InvalidOperationContextException("Amount attribute is missing");
-        }
-        return amountAttribute;
+        return getOperationValues(operationContext).getAmount();
     }
 
     /**
@@ -58,18 +60,67 @@ public class OperationValueExtractionService {
      * @return Operation to account value.
      */
     public String getAccount(OperationContext operationContext) throws InvalidOperationContextException {
+        return getOperationValues(operationContext).getAccount();
+    }
+
+    /**
+     * Get values extracted from operation context, the values are extracted once per operation context and request.
+     *
+     * @param operationContext Operation context.
+     * @return Extracted operation values.
+     */
+    public OperationValues getOperationValues(OperationContext operationContext) {
+        return requestScoped(OPERATION_VALUES_ATTRIBUTE, operationContext, () -> extractOperationValues(operationContext));
+    }
+
+    /**
+     * Get indexed view of form data, the view is built once per form data and request.
+     *
+     * @param formData Form data.
+     * @return Indexed form data.
+     */
+    public IndexedFormData getIndexedFormData(FormData formData) {
+        return requestScoped(INDEXED_FORM_DATA_ATTRIBUTE, formData, () -> new IndexedFormData(formData));
+    }
+
+    private OperationValues extractOperationValues(OperationContext operationContext) {
         FormData formData = operationContext.getFormData();
         if (formData == null || formData.getParameters() == null) {
-            throw new InvalidOperationContextException("Operation form data is invalid");
+            return new OperationValues(false, null, null);
         }
-        Attribute accountAttr = formData.getAttributeById(FIELD_ACCOUNT_ID);
-        if (accountAttr == null) {
-            return null;
+        IndexedFormData indexedFormData = getIndexedFormData(formData);
+        return new OperationValues(true, formData.getAmount(), indexedFormData.getAttribute(FIELD_ACCOUNT_ID));
+    }
+
+    /**
+     * Get a value memoized in the current request for given key instance.
+     * @param attributeName Request attribute name.
+     * @param key Key instance, compared by identity.
+     * @param supplier Supplier of the value.
+     * @return Memoized value.
+     * @param <T> Value type.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T requestScoped(String attributeName, Object key, Supplier<T> supplier) {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return supplier.get();
         }
-        if (!(accountAttr instanceof KeyValueAttribute)) {
-            throw new InvalidOperationContextException("Invalid account in operation form data");
+        final Object cached = requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof RequestScopedValue cachedValue && cachedValue.key() == key) {
+            return (T) cachedValue.value();
         }
-        return ((KeyValueAttribute) accountAttr).getValue();
+        final T value = supplier.get();
+        requestAttributes.setAttribute(attributeName, new RequestScopedValue(key, value), RequestAttributes.SCOPE_REQUEST);
+        return value;
+    }
+
+    /**
+     * Value memoized for a key instance.
+     * @param key Key instance.
+     * @param value Memoized value.
+     */
+    private record RequestScopedValue(Object key, Object value) {
     }
 
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.exception.InvalidDeliveryReceiptException;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.SmsDeliveryReceipt;
+import io.getlime.security.powerauth.app.dataadapter.model.response.SmsDeliveryReceiptResponse;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsDeliveryReceiptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for ingestion of SMS delivery receipts reported by SMS providers.
+ * <p>
+ * Receipts for the same message within a batch are coalesced, only the newest receipt of each message is written.
+ * Coalesced receipts are written in message ID order using JDBC batch updates, the stable order prevents deadlocks
+ * between concurrently processed batches which update the same messages.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsDeliveryReceiptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsDeliveryReceiptService.class);
+
+    private final SmsDeliveryReceiptRepository smsDeliveryReceiptRepository;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+
+    /**
+     * Service constructor.
+     * @param smsDeliveryReceiptRepository SMS delivery receipt repository.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public SmsDeliveryReceiptService(SmsDeliveryReceiptRepository smsDeliveryReceiptRepository, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.smsDeliveryReceiptRepository = smsDeliveryReceiptRepository;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+    }
+
+    /**
+     * Record a batch of delivery receipts.
+     * @param receipts Delivery receipts.
+     * @return Response with number of received receipts and number of updated messages.
+     * @throws InvalidDeliveryReceiptException Thrown when the batch is too large or it contains an invalid receipt.
+     */
+    public SmsDeliveryReceiptResponse processReceipts(List<SmsDeliveryReceipt> receipts) throws InvalidDeliveryReceiptException {
+        if (receipts == null || receipts.isEmpty()) {
+            return new SmsDeliveryReceiptResponse(0, 0);
+        }
+        final int maxReceipts = dataAdapterConfiguration.getSmsOtpDeliveryReceiptMaxReceiptsPerRequest();
+        if (receipts.size() > maxReceipts) {
+            throw new InvalidDeliveryReceiptException("Too many delivery receipts in request: " + receipts.size() + ", maximum: " + maxReceipts);
+        }
+        final Date now = new Date();
+        final Map<String, SmsDeliveryReceipt> newestReceipts = new HashMap<>(receipts.size() * 2);
+        for (SmsDeliveryReceipt receipt : receipts) {
+            if (receipt == null || receipt.getMessageId() == null || receipt.getStatus() == null) {
+                throw new InvalidDeliveryReceiptException("Delivery receipt is missing message ID or status");
+            }
+            if (receipt.getTimestampDelivered() == null) {
+                receipt.setTimestampDelivered(now);
+            }
+            newestReceipts.merge(receipt.getMessageId(), receipt, (current, candidate) ->
+                    candidate.getTimestampDelivered().before(current.getTimestampDelivered()) ? current : candidate);
+        }
+        final List<SmsDeliveryReceipt> coalescedReceipts = new ArrayList<>(newestReceipts.values());
+        coalescedReceipts.sort((r1, r2) -> r1.getMessageId().compareTo(r2.getMessageId()));
+        final int updated = smsDeliveryReceiptRepository.updateDeliveryStatus(coalescedReceipts, dataAdapterConfiguration.getSmsOtpDeliveryReceiptBatchSize());
+        logger.debug("Delivery receipts processed, received: {}, coalesced: {}, updated: {}", receipts.size(), coalescedReceipts.size(), updated);
+        return new SmsDeliveryReceiptResponse(receipts.size(), updated);
+    }
+
+}
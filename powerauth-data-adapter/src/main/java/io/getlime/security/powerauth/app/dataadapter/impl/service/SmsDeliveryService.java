@@ -16,19 +16,28 @@
 package io.getlime.security.powerauth.app.dataadapter.impl.service;
 
 import io.getlime.security.powerauth.app.dataadapter.exception.InvalidOperationContextException;
-import io.getlime.security.powerauth.app.dataadapter.service.DataAdapterI18NService;
+import io.getlime.security.powerauth.app.dataadapter.impl.gateway.SmsGateway;
+import io.getlime.security.powerauth.app.dataadapter.impl.gateway.SmsMessage;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.OperationDefinition;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.OperationValues;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsTemplateReference;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsTemplateService;
 import io.getlime.security.powerauth.crypto.server.util.DataDigest;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.AuthorizationCode;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.AmountAttribute;
 import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
 import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for preparing and delivering SMS messages.
@@ -38,17 +47,34 @@ import java.util.Locale;
 @Service
 public class SmsDeliveryService {
 
-    private final DataAdapterI18NService dataAdapterI18NService;
+    private final SmsTemplateService smsTemplateService;
     private final OperationValueExtractionService operationValueExtractionService;
+    private final OperationRegistry operationRegistry;
+    private final SmsGateway smsGateway;
+    private final Map<SmsDeliveryResult, Timer> sendTimers = new EnumMap<>(SmsDeliveryResult.class);
 
     /**
      * Service constructor.
-     * @param dataAdapterI18NService I18N service.
+     * @param smsTemplateService SMS template service.
      * @param operationValueExtractionService Service for extracting values from operation.
+     * @param operationRegistry Registry of supported operations.
+     * @param smsGateway SMS gateway.
+     * @param meterRegistry Meter registry.
      */
-    public SmsDeliveryService(DataAdapterI18NService dataAdapterI18NService, OperationValueExtractionService operationValueExtractionService) {
-        this.dataAdapterI18NService = dataAdapterI18NService;
+    public SmsDeliveryService(SmsTemplateService smsTemplateService, OperationValueExtractionService operationValueExtractionService, OperationRegistry operationRegistry, SmsGateway smsGateway, MeterRegistry meterRegistry) {
+        this.smsTemplateService = smsTemplateService;
         this.operationValueExtractionService = operationValueExtractionService;
+        this.operationRegistry = operationRegistry;
+        this.smsGateway = smsGateway;
+        for (SmsDeliveryResult deliveryResult : SmsDeliveryResult.values()) {
+            sendTimers.put(deliveryResult, Timer.builder("powerauth.sms.gateway.send")
+                    .description("Duration of SMS delivery through the SMS gateway")
+                    .tag("gateway", smsGateway.getName())
+                    .tag("result", deliveryResult.name())
+                    .register(meterRegistry));
+        }
+        // Compile SMS text templates at startup
+        smsTemplateService.preload(operationRegistry.getSmsTemplates());
     }
 
     /**
@@ -60,16 +86,17 @@ public class SmsDeliveryService {
      * @throws InvalidOperationContextException Thrown when operation context is invalid.
      */
     public AuthorizationCode generateAuthorizationCode(String userId, String organizationId, AuthMethod authMethod, OperationContext operationContext) throws InvalidOperationContextException {
-        String operationName = operationContext.getName();
+        OperationDefinition operation = operationRegistry.get(operationContext);
         List<String> digestItems = new ArrayList<>();
-        switch (operationName) {
-            case "login", "login_sca" -> digestItems.add("login");
-            case "authorize_payment", "authorize_payment_sca" -> {
+        switch (operation.kind()) {
+            case LOGIN -> digestItems.add("login");
+            case PAYMENT -> {
                 switch (authMethod) {
                     case LOGIN_SCA -> digestItems.add("login");
                     case APPROVAL_SCA, SMS_KEY, POWERAUTH_TOKEN -> {
-                        AmountAttribute amountAttribute = operationValueExtractionService.getAmount(operationContext);
-                        String account = operationValueExtractionService.getAccount(operationContext);
+                        OperationValues operationValues = operationValueExtractionService.getOperationValues(operationContext);
+                        AmountAttribute amountAttribute = operationValues.getAmount();
+                        String account = operationValues.getAccount();
                         BigDecimal amount = amountAttribute.getAmount();
                         String currency = amountAttribute.getCurrency();
                         digestItems.add(amount.toPlainString());
@@ -80,8 +107,7 @@ public class SmsDeliveryService {
                 }
             }
 
-            // Add new operations here.
-            default -> throw new InvalidOperationContextException("Unsupported operation: " + operationName);
+            // Add new operation kinds here, operations of existing kinds are added in configuration.
         }
 
         final DataDigest.Result digestResult = new DataDigest().generateDigest(digestItems);
@@ -102,24 +128,48 @@ public class SmsDeliveryService {
      * @throws InvalidOperationContextException Thrown when operation context is invalid.
      */
     public String generateSmsText(String userId, String organizationId, AuthMethod authMethod, OperationContext operationContext, AuthorizationCode authorizationCode, String lang) throws InvalidOperationContextException {
-        String operationName = operationContext.getName();
+        return renderSmsText(generateSmsTemplateReference(userId, organizationId, authMethod, operationContext, authorizationCode, lang));
+    }
+
+    /**
+     * Render text for SMS authorization message from a template reference.
+     * @param templateReference Reference to SMS text template.
+     * @return Rendered SMS text.
+     */
+    public String renderSmsText(SmsTemplateReference templateReference) {
+        return smsTemplateService.render(templateReference.templateKey(), templateReference.locale(), templateReference.args().toArray(new String[0]));
+    }
+
+    /**
+     * Resolve template and template arguments for SMS authorization message.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param operationContext Operation context.
+     * @param authorizationCode Authorization code.
+     * @param lang Language for localization.
+     * @return Reference to SMS text template with arguments including the authorization code.
+     * @throws InvalidOperationContextException Thrown when operation context is invalid.
+     */
+    public SmsTemplateReference generateSmsTemplateReference(String userId, String organizationId, AuthMethod authMethod, OperationContext operationContext, AuthorizationCode authorizationCode, String lang) throws InvalidOperationContextException {
+        OperationDefinition operation = operationRegistry.get(operationContext);
         String[] messageArgs;
-        String messageResourcePrefix;
-        switch (operationName) {
-            case "login", "login_sca" -> {
-                messageResourcePrefix = "login";
+        String messageCode;
+        switch (operation.kind()) {
+            case LOGIN -> {
+                messageCode = operation.smsTemplate();
                 messageArgs = new String[]{authorizationCode.code()};
             }
-            case "authorize_payment", "authorize_payment_sca" -> {
+            case PAYMENT -> {
                 switch (authMethod) {
                     case LOGIN_SCA -> {
-                        messageResourcePrefix = "login";
+                        messageCode = OperationRegistry.LOGIN_SMS_TEMPLATE;
                         messageArgs = new String[]{authorizationCode.code()};
                     }
                     case APPROVAL_SCA, SMS_KEY, POWERAUTH_TOKEN -> {
-                        messageResourcePrefix = "authorize_payment";
-                        AmountAttribute amountAttribute = operationValueExtractionService.getAmount(operationContext);
-                        String account = operationValueExtractionService.getAccount(operationContext);
+                        messageCode = operation.smsTemplate();
+                        OperationValues operationValues = operationValueExtractionService.getOperationValues(operationContext);
+                        AmountAttribute amountAttribute = operationValues.getAmount();
+                        String account = operationValues.getAccount();
                         BigDecimal amount = amountAttribute.getAmount();
                         String currency = amountAttribute.getCurrency();
                         messageArgs = new String[]{amount.toPlainString(), currency, account, authorizationCode.code()};
@@ -128,11 +178,11 @@ public class SmsDeliveryService {
                 }
             }
 
-            // Add new operations here.
-            default -> throw new InvalidOperationContextException("Unsupported operation: " + operationName);
+            // Add new operation kinds here, operations of existing kinds are added in configuration.
+            default -> throw new InvalidOperationContextException("Unsupported operation: " + operation.name());
         }
 
-        return dataAdapterI18NService.messageSource().getMessage(messageResourcePrefix + ".smsText", messageArgs, new Locale(lang));
+        return new SmsTemplateReference(messageCode, lang, List.of(messageArgs));
     }
 
     /**
@@ -141,13 +191,20 @@ public class SmsDeliveryService {
      * @param organizationId Organization ID.
      * @param messageId Message ID.
      * @param messageText Text of SMS message.
-     * @param operationContext Operation context.
+     * @param operationContext Operation context, null in case the message is delivered from the outbox.
+     * @return Result of SMS delivery.
      */
     public SmsDeliveryResult sendAuthorizationSms(String userId, String organizationId, String messageId, String messageText, OperationContext operationContext) {
-        // Add here code to send the SMS OTP message to user identified by userId with messageText.
+        // The SMS OTP message is sent to user identified by userId with messageText using the configured SMS gateway.
         // The message entity can be extracted using message ID from table da_sms_authorization.
-        // In case message delivery fails, throw a DataAdapterRemoteException.
-        return SmsDeliveryResult.SUCCEEDED;
+        final long started = System.nanoTime();
+        SmsDeliveryResult deliveryResult = SmsDeliveryResult.FAILED;
+        try {
+            deliveryResult = smsGateway.send(new SmsMessage(messageId, userId, organizationId, messageText));
+            return deliveryResult;
+        } finally {
+            sendTimers.get(deliveryResult).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
     }
 
 }
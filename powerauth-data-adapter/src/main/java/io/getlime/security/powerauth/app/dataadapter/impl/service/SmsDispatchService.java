@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsPersistenceService;
+import io.getlime.security.powerauth.app.dataadapter.service.VirtualThreadFactory;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for asynchronous in-process delivery of SMS OTP authorization messages.
+ * <p>
+ * Messages are handed off to a bounded dispatch queue which is served by virtual threads when the runtime supports
+ * them, so that request threads do not wait for the SMS gateway. The number of concurrent deliveries through each
+ * upstream gateway is limited by the gateway itself, see {@link io.getlime.security.powerauth.app.dataadapter.impl.gateway.ConcurrencyLimitedSmsGateway}.
+ * The policy for a full queue is configurable:
+ * <ul>
+ *     <li>BLOCK - the caller waits for free space in the queue up to the configured timeout, delivery fails afterwards</li>
+ *     <li>FAIL - delivery fails immediately</li>
+ *     <li>CALLER_RUNS - the message is delivered synchronously by the caller</li>
+ * </ul>
+ * The delivery result is recorded in table da_sms_authorization once the delivery is completed.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsDispatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsDispatchService.class);
+
+    /**
+     * Policy applied when the dispatch queue is full.
+     */
+    public enum FullQueuePolicy {
+        BLOCK,
+        FAIL,
+        CALLER_RUNS
+    }
+
+    private final SmsDeliveryService smsDeliveryService;
+    private final SmsPersistenceService smsPersistenceService;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+    private final ThreadPoolExecutor executor;
+    private final FullQueuePolicy fullQueuePolicy;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Service constructor.
+     * @param smsDeliveryService SMS delivery service.
+     * @param smsPersistenceService SMS persistence service.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     * @param meterRegistry Meter registry.
+     */
+    @Autowired
+    public SmsDispatchService(SmsDeliveryService smsDeliveryService, SmsPersistenceService smsPersistenceService, DataAdapterConfiguration dataAdapterConfiguration, MeterRegistry meterRegistry) {
+        this.smsDeliveryService = smsDeliveryService;
+        this.smsPersistenceService = smsPersistenceService;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+        this.fullQueuePolicy = FullQueuePolicy.valueOf(dataAdapterConfiguration.getSmsOtpDispatchFullQueuePolicy());
+        this.waitTimer = Timer.builder("powerauth.sms.dispatch.wait")
+                .description("Time SMS messages spend in the dispatch queue")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("powerauth.sms.dispatch.rejected")
+                .description("Number of SMS messages which did not fit into the dispatch queue")
+                .tag("policy", fullQueuePolicy.name())
+                .register(meterRegistry);
+        if (dataAdapterConfiguration.isSmsOtpDispatchEnabled()) {
+            final int maxConcurrency = Math.max(1, dataAdapterConfiguration.getSmsOtpDispatchMaxConcurrency());
+            this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, dataAdapterConfiguration.getSmsOtpDispatchQueueCapacity())), VirtualThreadFactory.create("sms-dispatch-"));
+            // Worker threads are started in advance, so that tasks can be added directly to the queue for the BLOCK policy
+            this.executor.prestartAllCoreThreads();
+            Gauge.builder("powerauth.sms.dispatch.queue.size", executor, e -> e.getQueue().size())
+                    .description("Number of SMS messages waiting in the dispatch queue")
+                    .register(meterRegistry);
+            Gauge.builder("powerauth.sms.dispatch.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Number of SMS messages being delivered")
+                    .register(meterRegistry);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Whether SMS OTP messages are delivered asynchronously using the dispatch queue.
+     * @return Whether the dispatch queue is enabled.
+     */
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Hand off an authorization SMS to the dispatch queue.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID.
+     * @param messageText Text of SMS message.
+     * @param operationContext Operation context.
+     * @return Result of SMS delivery, SUCCEEDED in case the message was accepted for asynchronous delivery.
+     */
+    public SmsDeliveryResult dispatch(String userId, String organizationId, String messageId, String messageText, OperationContext operationContext) {
+        final long submitted = System.nanoTime();
+        final Runnable task = () -> {
+            waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            final SmsDeliveryResult deliveryResult = deliver(userId, organizationId, messageId, messageText, operationContext);
+            recordDeliveryResult(messageId, deliveryResult);
+        };
+        final FullQueuePolicy policy = fullQueuePolicy;
+        try {
+            if (policy == FullQueuePolicy.BLOCK) {
+                if (executor.isShutdown() || !executor.getQueue().offer(task, dataAdapterConfiguration.getSmsOtpDispatchBlockTimeout(), TimeUnit.MILLISECONDS)) {
+                    return reject(messageId);
+                }
+            } else {
+                executor.execute(task);
+            }
+            return SmsDeliveryResult.SUCCEEDED;
+        } catch (RejectedExecutionException ex) {
+            if (policy == FullQueuePolicy.CALLER_RUNS) {
+                rejectedCounter.increment();
+                final SmsDeliveryResult deliveryResult = deliver(userId, organizationId, messageId, messageText, operationContext);
+                recordDeliveryResult(messageId, deliveryResult);
+                return deliveryResult;
+            }
+            return reject(messageId);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return reject(messageId);
+        }
+    }
+
+    /**
+     * Shut down the dispatch queue, queued messages are given a short time to be delivered.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Queued SMS messages were not delivered, count: {}", executor.getQueue().size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deliver an authorization SMS.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID.
+     * @param messageText Text of SMS message.
+     * @param operationContext Operation context.
+     * @return Result of SMS delivery.
+     */
+    private SmsDeliveryResult deliver(String userId, String organizationId, String messageId, String messageText, OperationContext operationContext) {
+        try {
+            return smsDeliveryService.sendAuthorizationSms(userId, organizationId, messageId, messageText, operationContext);
+        } catch (RuntimeException ex) {
+            logger.warn("SMS delivery failed, message ID: {}, error: {}", messageId, ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+            return SmsDeliveryResult.FAILED;
+        }
+    }
+
+    /**
+     * Record the result of a delivery performed by the dispatch service.
+     * @param messageId Message ID.
+     * @param deliveryResult Result of SMS delivery.
+     */
+    private void recordDeliveryResult(String messageId, SmsDeliveryResult deliveryResult) {
+        if (deliveryResult != SmsDeliveryResult.SUCCEEDED) {
+            logger.warn("Dispatched SMS delivery failed, message ID: {}", messageId);
+        }
+        try {
+            smsPersistenceService.recordDeliveryResult(messageId, deliveryResult);
+        } catch (RuntimeException ex) {
+            logger.warn("SMS delivery result was not recorded, message ID: {}, error: {}", messageId, ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Reject a message which could not be added to the dispatch queue.
+     * @param messageId Message ID.
+     * @return Failed delivery result.
+     */
+    private SmsDeliveryResult reject(String messageId) {
+        rejectedCounter.increment();
+        logger.warn("SMS dispatch queue is full, message ID: {}", messageId);
+        return SmsDeliveryResult.FAILED;
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsOutboxRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsOutboxMessage;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsTemplateReference;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsPersistenceService;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.AuthorizationCode;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for asynchronous delivery of SMS OTP authorization messages using the outbox table da_sms_outbox.
+ * <p>
+ * The SMS authorization message and the outbox record are written in a single transaction, the message is delivered
+ * later by a pool of dispatcher workers. Failed deliveries are retried with exponential backoff, the delivery result
+ * is recorded in the OTP store once the delivery is completed. The outbox requires an OTP store which takes part
+ * in database transactions, the in-memory OTP store is rejected at startup.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsOutboxService.class);
+
+    private final SmsPersistenceService smsPersistenceService;
+    private final SmsDeliveryService smsDeliveryService;
+    private final SmsOutboxRepository smsOutboxRepository;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+    private final ExecutorService workerExecutor;
+
+    /**
+     * Service constructor.
+     * @param smsPersistenceService SMS persistence service.
+     * @param smsDeliveryService SMS delivery service.
+     * @param smsOutboxRepository SMS outbox repository.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public SmsOutboxService(SmsPersistenceService smsPersistenceService, SmsDeliveryService smsDeliveryService, SmsOutboxRepository smsOutboxRepository, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.smsPersistenceService = smsPersistenceService;
+        this.smsDeliveryService = smsDeliveryService;
+        this.smsOutboxRepository = smsOutboxRepository;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+        if (dataAdapterConfiguration.isSmsOtpOutboxEnabled() && !smsPersistenceService.isTransactional()) {
+            throw new IllegalStateException("SMS outbox requires an OTP store which takes part in database transactions, "
+                    + "set powerauth.authorization.sms-otp.store.type to jpa or disable the outbox");
+        }
+        if (dataAdapterConfiguration.isSmsOtpOutboxEnabled()) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            this.workerExecutor = Executors.newFixedThreadPool(Math.max(1, dataAdapterConfiguration.getSmsOtpOutboxWorkers()), runnable -> {
+                final Thread thread = new Thread(runnable, "sms-outbox-worker-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.workerExecutor = null;
+        }
+    }
+
+    /**
+     * Whether SMS OTP messages are delivered asynchronously using the outbox.
+     * @return Whether the outbox is enabled.
+     */
+    public boolean isEnabled() {
+        return workerExecutor != null;
+    }
+
+    /**
+     * Create an authorization SMS message and add it to the outbox within a single transaction.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID.
+     * @param operationContext Operation context.
+     * @param authorizationCode Authorization code for SMS message.
+     * @param templateReference Reference to SMS text template used for rendering of the message text.
+     * @param messageText Localized SMS message text.
+     * @param idempotencyKey Idempotency key of the request which created the message, null in case it is not available.
+     * @return Created entity with SMS message details, empty in case the OTP store has no capacity left.
+     */
+    @Transactional
+    public Optional<SmsAuthorizationEntity> createAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext,
+                                                         AuthorizationCode authorizationCode, SmsTemplateReference templateReference, String messageText,
+                                                         String idempotencyKey) {
+        final Optional<SmsAuthorizationEntity> smsEntity = smsPersistenceService.createAuthorizationSms(userId, organizationId, messageId, operationContext, authorizationCode, templateReference, messageText, idempotencyKey);
+        if (smsEntity.isEmpty()) {
+            return smsEntity;
+        }
+        final SmsOutboxMessage message = new SmsOutboxMessage(messageId, userId, organizationId, operationContext.getId(), messageText, 0);
+        smsOutboxRepository.insert(message, smsEntity.get().getTimestampCreated());
+        return smsEntity;
+    }
+
+    /**
+     * Add an existing authorization SMS message to the outbox. The message is not added again in case it is still
+     * waiting for delivery in the outbox.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param messageId Message ID.
+     * @param operationContext Operation context.
+     * @param messageText Localized SMS message text.
+     */
+    public void enqueueAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext, String messageText) {
+        final SmsOutboxMessage message = new SmsOutboxMessage(messageId, userId, organizationId, operationContext.getId(), messageText, 0);
+        try {
+            smsOutboxRepository.insert(message, new Date());
+        } catch (DuplicateKeyException ex) {
+            logger.debug("SMS message is already waiting for delivery in the outbox, message ID: {}", messageId);
+        }
+    }
+
+    /**
+     * Deliver messages from the outbox. Batches of messages are claimed and delivered by the worker pool until
+     * no more messages are due for delivery.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.authorization.sms-otp.outbox.poll-interval-in-millis}")
+    public void dispatch() {
+        if (!isEnabled()) {
+            return;
+        }
+        final int batchSize = dataAdapterConfiguration.getSmsOtpOutboxBatchSize();
+        try {
+            List<SmsOutboxMessage> messages;
+            do {
+                messages = smsOutboxRepository.claim(batchSize, dataAdapterConfiguration.getSmsOtpOutboxLeaseTime());
+                final List<Future<?>> deliveries = new ArrayList<>(messages.size());
+                for (SmsOutboxMessage message : messages) {
+                    deliveries.add(workerExecutor.submit(() -> deliver(message)));
+                }
+                for (Future<?> delivery : deliveries) {
+                    delivery.get();
+                }
+            } while (messages.size() == batchSize);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException ex) {
+            logger.warn("SMS outbox dispatch failed, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Shut down the worker pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (workerExecutor == null) {
+            return;
+        }
+        workerExecutor.shutdown();
+        try {
+            if (!workerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                workerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deliver a single message and record the delivery result. Failed deliveries are rescheduled until the maximum
+     * number of attempts is reached.
+     * @param message Message to deliver.
+     */
+    private void deliver(SmsOutboxMessage message) {
+        SmsDeliveryResult deliveryResult;
+        try {
+            // Operation context is not available for messages delivered from the outbox
+            deliveryResult = smsDeliveryService.sendAuthorizationSms(message.userId(), message.organizationId(), message.messageId(), message.messageText(), null);
+        } catch (RuntimeException ex) {
+            logger.warn("SMS delivery failed, message ID: {}, error: {}", message.messageId(), ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+            deliveryResult = SmsDeliveryResult.FAILED;
+        }
+        if (deliveryResult == SmsDeliveryResult.SUCCEEDED || message.attemptCount() >= dataAdapterConfiguration.getSmsOtpOutboxMaxAttempts()) {
+            // The message is delivered again after the lease expires in case the node fails before it is removed
+            smsPersistenceService.recordDeliveryResult(message.messageId(), deliveryResult);
+            smsOutboxRepository.complete(message.messageId());
+            if (deliveryResult == SmsDeliveryResult.SUCCEEDED) {
+                logger.debug("SMS delivered from outbox, message ID: {}, attempts: {}", message.messageId(), message.attemptCount());
+            } else {
+                logger.warn("SMS delivery from outbox failed, message ID: {}, attempts: {}", message.messageId(), message.attemptCount());
+            }
+            return;
+        }
+        final long backoff = dataAdapterConfiguration.getSmsOtpOutboxRetryBackoff() << Math.min(message.attemptCount() - 1, 16);
+        smsOutboxRepository.reschedule(message.messageId(), new Date(System.currentTimeMillis() + backoff));
+    }
+
+}
@@ -17,7 +17,11 @@ package io.getlime.security.powerauth.app.dataadapter.impl.validation;
 
 import io.getlime.core.rest.model.base.request.ObjectRequest;
 import io.getlime.security.powerauth.app.dataadapter.exception.InvalidOperationContextException;
+import io.getlime.security.powerauth.app.dataadapter.impl.service.OperationRegistry;
 import io.getlime.security.powerauth.app.dataadapter.impl.service.OperationValueExtractionService;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.OperationDefinition;
+import io.getlime.security.powerauth.app.dataadapter.model.entity.OperationValues;
+import io.getlime.security.powerauth.app.dataadapter.model.request.ResendAuthorizationSmsRequest;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.AmountAttribute;
 import io.getlime.security.powerauth.lib.dataadapter.model.request.CreateSmsAuthorizationRequest;
@@ -46,14 +50,17 @@ public class AuthorizationSmsRequestValidator implements Validator {
     private static final String AMOUNT_EMPTY_ERROR_CODE = "smsAuthorization.amount.empty";
     
     private final OperationValueExtractionService operationValueExtractionService;
+    private final OperationRegistry operationRegistry;
 
     /**
      * Validator constructor.
      * @param operationValueExtractionService Operation form data service.
+     * @param operationRegistry Registry of supported operations.
      */
     @Autowired
-    public AuthorizationSmsRequestValidator(OperationValueExtractionService operationValueExtractionService) {
+    public AuthorizationSmsRequestValidator(OperationValueExtractionService operationValueExtractionService, OperationRegistry operationRegistry) {
         this.operationValueExtractionService = operationValueExtractionService;
+        this.operationRegistry = operationRegistry;
     }
 
     /**
@@ -105,6 +112,16 @@ public class AuthorizationSmsRequestValidator implements Validator {
             if (authorizationCode == null) {
                 errors.rejectValue("requestObject.messageId", "smsAuthorization.invalidCode");
             }
+        } else if (objectRequest.getRequestObject() instanceof ResendAuthorizationSmsRequest) {
+            ObjectRequest<ResendAuthorizationSmsRequest> requestObject = (ObjectRequest<ResendAuthorizationSmsRequest>) o;
+            ResendAuthorizationSmsRequest authRequest = requestObject.getRequestObject();
+            userId = authRequest.getUserId();
+            organizationId = authRequest.getOrganizationId();
+            operationContext = authRequest.getOperationContext();
+            operationName = operationContext == null ? null : operationContext.getName();
+            if (authRequest.getMessageId() == null) {
+                errors.rejectValue("requestObject.messageId", "smsAuthorization.invalidMessage");
+            }
         } else {
             errors.reject("error.invalidRequest");
             return;
@@ -140,26 +157,28 @@ public class AuthorizationSmsRequestValidator implements Validator {
             return;
         }
         
-        switch (operationName) {
-            case "login":
-            case "login_sca":
+        OperationDefinition operation = operationRegistry.find(operationName);
+        if (operation == null) {
+            errors.rejectValue("requestObject.operationContext.name", "smsAuthorization.operationName.unsupported");
+            return;
+        }
+        switch (operation.kind()) {
+            case LOGIN:
                 // no field validation required
                 break;
-            case "authorize_payment":
-            case "authorize_payment_sca":
+            case PAYMENT:
                 if (operationContext != null) {
                     validateFieldsForPayment(operationContext, errors);
                 }
                 break;
-            default:
-                throw new IllegalStateException("Unsupported operation in validator: " + operationName);
         }
     }
     
     private void validateFieldsForPayment(OperationContext operationContext, Errors errors) {
+        OperationValues operationValues = operationValueExtractionService.getOperationValues(operationContext);
         AmountAttribute amountAttribute;
         try {
-            amountAttribute = operationValueExtractionService.getAmount(operationContext);
+            amountAttribute = operationValues.getAmount();
             if (amountAttribute == null) {
                 errors.rejectValue(OPERATION_CONTEXT_FIELD, AMOUNT_EMPTY_ERROR_CODE);
             } else {
@@ -181,7 +200,7 @@ public class AuthorizationSmsRequestValidator implements Validator {
         }
         String account;
         try {
-            account = operationValueExtractionService.getAccount(operationContext);
+            account = operationValues.getAccount();
             if (account == null || account.isEmpty()) {
                 errors.rejectValue(OPERATION_CONTEXT_FIELD, "smsAuthorization.account.empty");
             }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.entity;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.FormData;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.Attribute;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.FormFieldConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read view of operation form data with attributes and field configurations indexed by their ID.
+ * <p>
+ * The indexes are built lazily on first lookup, lookups are then constant time instead of a scan over the form
+ * data parameters. The view does not track changes of the form data, call {@link #invalidate()} after the form
+ * data is modified. The view is not thread safe, it is intended to be used within a single request.
+ *
+ * @author Wultra s.r.o.
+ */
+public class IndexedFormData {
+
+    private final FormData formData;
+
+    private Map<String, Attribute> attributes;
+    private Map<String, FormFieldConfig> configs;
+
+    /**
+     * Constructor with form data.
+     * @param formData Form data.
+     */
+    public IndexedFormData(FormData formData) {
+        this.formData = formData;
+    }
+
+    /**
+     * Get wrapped form data.
+     * @return Form data.
+     */
+    public FormData getFormData() {
+        return formData;
+    }
+
+    /**
+     * Get attribute by its ID. In case multiple attributes share the ID, the first attribute is returned.
+     * @param id Attribute ID.
+     * @return Attribute, null in case attribute does not exist.
+     */
+    public Attribute getAttribute(String id) {
+        if (attributes == null) {
+            attributes = indexAttributes(formData.getParameters());
+        }
+        return attributes.get(id);
+    }
+
+    /**
+     * Get form field configuration by its ID. In case multiple configurations share the ID, the last configuration
+     * is returned.
+     * @param id Form field ID.
+     * @return Form field configuration, null in case configuration does not exist.
+     */
+    public FormFieldConfig getConfig(String id) {
+        if (configs == null) {
+            configs = indexConfigs(formData.getConfig());
+        }
+        return configs.get(id);
+    }
+
+    /**
+     * Drop the indexes, they are rebuilt on next lookup.
+     */
+    public void invalidate() {
+        attributes = null;
+        configs = null;
+    }
+
+    private static Map<String, Attribute> indexAttributes(List<Attribute> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Attribute> result = new HashMap<>((int) (parameters.size() / 0.75f) + 1);
+        for (Attribute attribute : parameters) {
+            if (attribute != null && attribute.getId() != null) {
+                result.putIfAbsent(attribute.getId(), attribute);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, FormFieldConfig> indexConfigs(List<FormFieldConfig> configList) {
+        if (configList == null || configList.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, FormFieldConfig> result = new HashMap<>((int) (configList.size() / 0.75f) + 1);
+        for (FormFieldConfig config : configList) {
+            if (config != null && config.getId() != null) {
+                result.put(config.getId(), config);
+            }
+        }
+        return result;
+    }
+
+}
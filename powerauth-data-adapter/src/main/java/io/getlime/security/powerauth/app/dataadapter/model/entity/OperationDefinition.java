@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.entity;
+
+import io.getlime.security.powerauth.app.dataadapter.model.enumeration.OperationKind;
+
+/**
+ * Definition of an operation supported by the Data Adapter.
+ *
+ * @param name Operation name.
+ * @param kind Operation kind.
+ * @param smsTemplate Message code of SMS text template for authorization of the operation.
+ * @param multiStepMapping Whether the operation has multiple steps with a PowerAuth operation, the login step is
+ *                         mapped to the login PowerAuth operation.
+ * @author Wultra s.r.o.
+ */
+public record OperationDefinition(String name, OperationKind kind, String smsTemplate, boolean multiStepMapping) {
+}
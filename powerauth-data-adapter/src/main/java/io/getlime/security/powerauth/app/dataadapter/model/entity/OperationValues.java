@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.entity;
+
+import io.getlime.security.powerauth.app.dataadapter.exception.InvalidOperationContextException;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.AmountAttribute;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.Attribute;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.KeyValueAttribute;
+
+/**
+ * Typed values extracted from form data of an operation. The values are extracted once and reused by all
+ * consumers of the same operation context.
+ *
+ * @author Wultra s.r.o.
+ */
+public class OperationValues {
+
+    private final boolean formDataValid;
+    private final AmountAttribute amount;
+    private final Attribute account;
+
+    /**
+     * Constructor with extracted attributes.
+     * @param formDataValid Whether operation form data is valid.
+     * @param amount Amount attribute, null in case it is missing.
+     * @param account Account attribute, null in case it is missing.
+     */
+    public OperationValues(boolean formDataValid, AmountAttribute amount, Attribute account) {
+        this.formDataValid = formDataValid;
+        this.amount = amount;
+        this.account = account;
+    }
+
+    /**
+     * Get operation amount attribute.
+     * @return Operation amount attribute.
+     * @throws InvalidOperationContextException Thrown when form data is invalid or amount is missing.
+     */
+    public AmountAttribute getAmount() throws InvalidOperationContextException {
+        checkFormData();
+        if (amount == null) {
+            throw new InvalidOperationContextException("Amount attribute is missing");
+        }
+        return amount;
+    }
+
+    /**
+     * Get operation currency.
+     * @return Operation currency.
+     * @throws InvalidOperationContextException Thrown when form data is invalid or amount is missing.
+     */
+    public String getCurrency() throws InvalidOperationContextException {
+        return getAmount().getCurrency();
+    }
+
+    /**
+     * Get operation account.
+     * @return Operation account, null in case account is missing.
+     * @throws InvalidOperationContextException Thrown when form data is invalid or account attribute is invalid.
+     */
+    public String getAccount() throws InvalidOperationContextException {
+        checkFormData();
+        if (account == null) {
+            return null;
+        }
+        if (!(account instanceof KeyValueAttribute keyValueAttribute)) {
+            throw new InvalidOperationContextException("Invalid account in operation form data");
+        }
+        return keyValueAttribute.getValue();
+    }
+
+    private void checkFormData() throws InvalidOperationContextException {
+        if (!formDataValid) {
+            throw new InvalidOperationContextException("Operation form data is invalid");
+        }
+    }
+
+}
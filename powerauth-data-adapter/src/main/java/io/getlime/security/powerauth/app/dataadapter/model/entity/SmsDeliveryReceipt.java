@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.entity;
+
+import io.getlime.security.powerauth.app.dataadapter.model.enumeration.SmsDeliveryStatus;
+
+import java.util.Date;
+
+/**
+ * Delivery receipt of an SMS message reported by the SMS provider.
+ *
+ * @author Wultra s.r.o.
+ */
+public class SmsDeliveryReceipt {
+
+    private String messageId;
+    private SmsDeliveryStatus status;
+    private Date timestampDelivered;
+
+    /**
+     * Get message ID.
+     * @return Message ID.
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Set message ID.
+     * @param messageId Message ID.
+     */
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    /**
+     * Get delivery status.
+     * @return Delivery status.
+     */
+    public SmsDeliveryStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Set delivery status.
+     * @param status Delivery status.
+     */
+    public void setStatus(SmsDeliveryStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Get timestamp of the delivery status reported by the SMS provider.
+     * @return Timestamp of the delivery status.
+     */
+    public Date getTimestampDelivered() {
+        return timestampDelivered;
+    }
+
+    /**
+     * Set timestamp of the delivery status reported by the SMS provider.
+     * @param timestampDelivered Timestamp of the delivery status.
+     */
+    public void setTimestampDelivered(Date timestampDelivered) {
+        this.timestampDelivered = timestampDelivered;
+    }
+
+}
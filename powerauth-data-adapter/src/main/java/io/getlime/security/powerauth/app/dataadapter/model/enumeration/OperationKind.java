@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.enumeration;
+
+/**
+ * Kind of operation which determines how SMS authorization codes, SMS texts, request validation, PowerAuth
+ * operation mapping and consent forms are handled for the operation.
+ *
+ * @author Wultra s.r.o.
+ */
+public enum OperationKind {
+
+    /**
+     * Login operation, SMS authorization code does not depend on operation form data.
+     */
+    LOGIN,
+
+    /**
+     * Payment operation, SMS authorization code is bound to the amount, currency and account of the payment.
+     */
+    PAYMENT
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.enumeration;
+
+/**
+ * Delivery status of an SMS message reported by the SMS provider in a delivery receipt.
+ *
+ * @author Wultra s.r.o.
+ */
+public enum SmsDeliveryStatus {
+
+    /**
+     * SMS message was delivered to the handset.
+     */
+    DELIVERED,
+
+    /**
+     * SMS message could not be delivered.
+     */
+    UNDELIVERED,
+
+    /**
+     * SMS message expired before it could be delivered.
+     */
+    EXPIRED,
+
+    /**
+     * SMS message was rejected by the SMS provider or the mobile network.
+     */
+    REJECTED,
+
+    /**
+     * Delivery status is not known.
+     */
+    UNKNOWN
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.request;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
+
+/**
+ * Request for resending an existing SMS OTP authorization message.
+ *
+ * @author Wultra s.r.o.
+ */
+public class ResendAuthorizationSmsRequest {
+
+    private String userId;
+    private String organizationId;
+    private String messageId;
+    private OperationContext operationContext;
+
+    /**
+     * Get user ID.
+     * @return User ID.
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Set user ID.
+     * @param userId User ID.
+     */
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Get organization ID.
+     * @return Organization ID.
+     */
+    public String getOrganizationId() {
+        return organizationId;
+    }
+
+    /**
+     * Set organization ID.
+     * @param organizationId Organization ID.
+     */
+    public void setOrganizationId(String organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    /**
+     * Get message ID of the resent message.
+     * @return Message ID.
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Set message ID of the resent message.
+     * @param messageId Message ID.
+     */
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    /**
+     * Get operation context.
+     * @return Operation context.
+     */
+    public OperationContext getOperationContext() {
+        return operationContext;
+    }
+
+    /**
+     * Set operation context.
+     * @param operationContext Operation context.
+     */
+    public void setOperationContext(OperationContext operationContext) {
+        this.operationContext = operationContext;
+    }
+
+}
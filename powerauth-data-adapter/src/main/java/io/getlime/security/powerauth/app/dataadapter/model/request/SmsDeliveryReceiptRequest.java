@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.request;
+
+import io.getlime.security.powerauth.app.dataadapter.model.entity.SmsDeliveryReceipt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request with a batch of SMS delivery receipts.
+ *
+ * @author Wultra s.r.o.
+ */
+public class SmsDeliveryReceiptRequest {
+
+    private List<SmsDeliveryReceipt> receipts = new ArrayList<>();
+
+    /**
+     * Get delivery receipts.
+     * @return Delivery receipts.
+     */
+    public List<SmsDeliveryReceipt> getReceipts() {
+        return receipts;
+    }
+
+    /**
+     * Set delivery receipts.
+     * @param receipts Delivery receipts.
+     */
+    public void setReceipts(List<SmsDeliveryReceipt> receipts) {
+        this.receipts = receipts;
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.response;
+
+/**
+ * Response with the result of processing a batch of SMS delivery receipts.
+ *
+ * @author Wultra s.r.o.
+ */
+public class SmsDeliveryReceiptResponse {
+
+    private int receivedCount;
+    private int updatedCount;
+
+    /**
+     * Default constructor.
+     */
+    public SmsDeliveryReceiptResponse() {
+    }
+
+    /**
+     * Constructor with receipt counts.
+     * @param receivedCount Number of received delivery receipts.
+     * @param updatedCount Number of updated SMS messages.
+     */
+    public SmsDeliveryReceiptResponse(int receivedCount, int updatedCount) {
+        this.receivedCount = receivedCount;
+        this.updatedCount = updatedCount;
+    }
+
+    /**
+     * Get number of received delivery receipts.
+     * @return Number of received delivery receipts.
+     */
+    public int getReceivedCount() {
+        return receivedCount;
+    }
+
+    /**
+     * Set number of received delivery receipts.
+     * @param receivedCount Number of received delivery receipts.
+     */
+    public void setReceivedCount(int receivedCount) {
+        this.receivedCount = receivedCount;
+    }
+
+    /**
+     * Get number of SMS messages whose delivery status was updated. Receipts for unknown messages and receipts
+     * older than the recorded delivery status are not counted.
+     * @return Number of updated SMS messages.
+     */
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    /**
+     * Set number of SMS messages whose delivery status was updated.
+     * @param updatedCount Number of updated SMS messages.
+     */
+    public void setUpdatedCount(int updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+
+}
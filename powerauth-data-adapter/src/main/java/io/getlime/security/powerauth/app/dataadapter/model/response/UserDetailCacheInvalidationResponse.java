@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.response;
+
+/**
+ * Response with the result of invalidation of cached user details.
+ *
+ * @author Wultra s.r.o.
+ */
+public class UserDetailCacheInvalidationResponse {
+
+    private int invalidatedCount;
+
+    /**
+     * Default constructor.
+     */
+    public UserDetailCacheInvalidationResponse() {
+    }
+
+    /**
+     * Constructor with number of invalidated entries.
+     * @param invalidatedCount Number of invalidated cache entries.
+     */
+    public UserDetailCacheInvalidationResponse(int invalidatedCount) {
+        this.invalidatedCount = invalidatedCount;
+    }
+
+    /**
+     * Get number of invalidated cache entries.
+     * @return Number of invalidated cache entries.
+     */
+    public int getInvalidatedCount() {
+        return invalidatedCount;
+    }
+
+    /**
+     * Set number of invalidated cache entries.
+     * @param invalidatedCount Number of invalidated cache entries.
+     */
+    public void setInvalidatedCount(int invalidatedCount) {
+        this.invalidatedCount = invalidatedCount;
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+/**
+ * Database dialects which require dialect specific SQL in native queries.
+ *
+ * @author Wultra s.r.o.
+ */
+public enum DatabaseDialect {
+
+    /**
+     * PostgreSQL database.
+     */
+    POSTGRESQL,
+
+    /**
+     * Oracle database.
+     */
+    ORACLE,
+
+    /**
+     * Other database, dialect specific SQL is not available.
+     */
+    OTHER;
+
+    /**
+     * Detect database dialect using connection metadata.
+     * @param jdbcTemplate JDBC template.
+     * @return Database dialect.
+     */
+    public static DatabaseDialect detect(JdbcTemplate jdbcTemplate) {
+        final String productName = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return fromProductName(productName);
+    }
+
+    /**
+     * Resolve database dialect from database product name.
+     * @param productName Database product name.
+     * @return Database dialect.
+     */
+    public static DatabaseDialect fromProductName(String productName) {
+        if (productName == null) {
+            return OTHER;
+        }
+        final String name = productName.toLowerCase(Locale.ROOT);
+        if (name.contains("postgresql")) {
+            return POSTGRESQL;
+        }
+        if (name.contains("oracle")) {
+            return ORACLE;
+        }
+        return OTHER;
+    }
+
+}
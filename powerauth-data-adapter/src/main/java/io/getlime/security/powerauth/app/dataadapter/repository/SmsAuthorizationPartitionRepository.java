@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Repository for maintenance of daily partitions of the PostgreSQL partitioned table da_sms_authorization.
+ * <p>
+ * Partitions are detached concurrently, so that the partitioned table is not locked exclusively, which requires
+ * PostgreSQL 14 or newer.
+ *
+ * @author Wultra s.r.o.
+ */
+@Repository
+public class SmsAuthorizationPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "da_sms_authorization_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String PARTITIONED_TABLE_QUERY = "SELECT COUNT(*) FROM pg_partitioned_table pt "
+            + "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = 'da_sms_authorization'";
+    private static final String PARTITIONS_QUERY = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+            + "WHERE p.relname = 'da_sms_authorization'";
+    private static final String DETACH_PENDING_QUERY = "SELECT COUNT(*) FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+            + "WHERE p.relname = 'da_sms_authorization' AND c.relname = ? AND i.inhdetachpending";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Repository constructor.
+     * @param jdbcTemplate JDBC template.
+     */
+    @Autowired
+    public SmsAuthorizationPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Whether table da_sms_authorization is a partitioned table.
+     * @return Whether the table is partitioned.
+     */
+    @Transactional(readOnly = true)
+    public boolean isPartitioned() {
+        final Integer count = jdbcTemplate.queryForObject(PARTITIONED_TABLE_QUERY, Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Find existing daily partitions.
+     * @return Map of partition days to partition names ordered by partition day.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, String> findPartitions() {
+        final Map<LocalDate, String> partitions = new TreeMap<>();
+        for (String name : jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class)) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            try {
+                partitions.put(LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX_FORMAT), name);
+            } catch (DateTimeParseException ex) {
+                // Partitions which are not managed by Data Adapter are ignored
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Create a daily partition in case it does not exist yet.
+     * @param day Partition day.
+     */
+    @Transactional
+    public void createPartition(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                + " PARTITION OF da_sms_authorization FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+    }
+
+    /**
+     * Detach a daily partition from the partitioned table and optionally drop it. The partition is detached
+     * concurrently, which cannot run in a transaction block, so the statements are executed in auto-commit mode.
+     * A detach which was interrupted before is finalized.
+     * @param day Partition day.
+     * @param drop Whether the detached partition should be dropped.
+     */
+    public void removePartition(LocalDate day, boolean drop) {
+        final String partitionName = partitionName(day);
+        final Integer pending = jdbcTemplate.queryForObject(DETACH_PENDING_QUERY, Integer.class, partitionName);
+        final String detach = "ALTER TABLE da_sms_authorization DETACH PARTITION " + partitionName
+                + (pending != null && pending > 0 ? " FINALIZE" : " CONCURRENTLY");
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(detach);
+                if (drop) {
+                    statement.execute("DROP TABLE " + partitionName);
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Get partition name for given day.
+     * @param day Partition day.
+     * @return Partition name.
+     */
+    private String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX_FORMAT.format(day);
+    }
+
+}
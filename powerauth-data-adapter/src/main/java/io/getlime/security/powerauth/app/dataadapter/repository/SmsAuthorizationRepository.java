@@ -16,9 +16,18 @@
 package io.getlime.security.powerauth.app.dataadapter.repository;
 
 import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
+import java.util.Optional;
 
 /**
  * Crud repository for persistence of SMS OTP authorization messages.
@@ -26,6 +35,60 @@ import org.springframework.stereotype.Repository;
  * @author Roman Strobl, roman.strobl@wultra.com
  */
 @Repository
-public interface SmsAuthorizationRepository extends CrudRepository<SmsAuthorizationEntity, String> {
+public interface SmsAuthorizationRepository extends CrudRepository<SmsAuthorizationEntity, String>, SmsAuthorizationRepositoryCustom {
+
+    /**
+     * Find an SMS OTP authorization message and lock it for update.
+     * @param messageId Message ID.
+     * @return SMS OTP authorization message.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SmsAuthorizationEntity s WHERE s.messageId = :messageId")
+    Optional<SmsAuthorizationEntity> findByIdForUpdate(@Param("messageId") String messageId);
+
+    /**
+     * Find an SMS authorization entity by its idempotency key.
+     * @param idempotencyKey Idempotency key.
+     * @return SMS authorization entity.
+     */
+    Optional<SmsAuthorizationEntity> findFirstByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Update verification state of an SMS OTP authorization message.
+     * @param messageId Message ID.
+     * @param verifyRequestCount Number of verification requests.
+     * @param verified Whether the message is verified.
+     * @param timestampVerified Verification timestamp.
+     * @return Number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SmsAuthorizationEntity s SET s.verifyRequestCount = :verifyRequestCount, s.verified = :verified, s.timestampVerified = :timestampVerified WHERE s.messageId = :messageId")
+    int updateVerificationState(@Param("messageId") String messageId, @Param("verifyRequestCount") int verifyRequestCount, @Param("verified") boolean verified, @Param("timestampVerified") Date timestampVerified);
+
+    /**
+     * Update resend state of an SMS OTP authorization message.
+     * @param messageId Message ID.
+     * @param resendCount Number of resends.
+     * @param timestampLastSent Timestamp when the message was last sent.
+     * @param timestampExpires Timestamp when the message expires.
+     * @return Number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SmsAuthorizationEntity s SET s.resendCount = :resendCount, s.timestampLastSent = :timestampLastSent, s.timestampExpires = :timestampExpires WHERE s.messageId = :messageId")
+    int updateResendState(@Param("messageId") String messageId, @Param("resendCount") int resendCount, @Param("timestampLastSent") Date timestampLastSent, @Param("timestampExpires") Date timestampExpires);
+
+    /**
+     * Update result of asynchronous delivery of an SMS OTP authorization message.
+     * @param messageId Message ID.
+     * @param deliveryResult Result of SMS delivery.
+     * @param timestampSent Timestamp when SMS delivery was completed.
+     * @return Number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SmsAuthorizationEntity s SET s.deliveryResult = :deliveryResult, s.timestampSent = :timestampSent WHERE s.messageId = :messageId")
+    int updateDeliveryResult(@Param("messageId") String messageId, @Param("deliveryResult") SmsDeliveryResult deliveryResult, @Param("timestampSent") Date timestampSent);
 
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationPurgeBatch;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationVerification;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Repository fragment with native SQL operations for SMS OTP authorization messages.
+ *
+ * @author Wultra s.r.o.
+ */
+public interface SmsAuthorizationRepositoryCustom {
+
+    /**
+     * Whether atomic verification of authorization code is supported by the database.
+     * @return Whether atomic verification is supported.
+     */
+    boolean isAtomicVerificationSupported();
+
+    /**
+     * Verify an authorization code using a single conditional update statement. The statement increments
+     * the verification request count and marks the message as verified in case the authorization code matches,
+     * the message is not expired, maximum number of tries is not exceeded and the message is not verified yet
+     * (unless multiple verifications are allowed).
+     *
+     * @param messageId Message ID.
+     * @param authorizationCode Authorization code.
+     * @param allowMultipleVerifications Whether authorization code can be verified multiple times.
+     * @param maxVerifyTries Maximum number of verification tries.
+     * @return Verification state, empty in case message does not exist.
+     */
+    Optional<SmsAuthorizationVerification> verifyAuthorizationCode(String messageId, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries);
+
+    /**
+     * Purge a single batch of expired or verified SMS OTP authorization messages. The messages are selected
+     * in order of creation timestamp and message ID, continuing after the last message of the previous batch.
+     * On PostgreSQL and Oracle the messages of the batch are locked and messages locked by a concurrent purge are
+     * skipped, so that a message is never archived twice by purges running on multiple nodes.
+     *
+     * @param createdBefore Only messages created before this timestamp are purged.
+     * @param expiredBefore Only messages which are verified or expired before this timestamp are purged.
+     * @param lastTimestampCreated Creation timestamp of the last message from previous batch, null for first batch.
+     * @param lastMessageId Message ID of the last message from previous batch, null for first batch.
+     * @param batchSize Maximum number of purged messages.
+     * @param archive Whether messages should be moved to the archive table instead of being deleted.
+     * @return Purged batch.
+     */
+    SmsAuthorizationPurgeBatch purgeAuthorizationSms(Date createdBefore, Date expiredBefore, Date lastTimestampCreated, String lastMessageId, int batchSize, boolean archive);
+
+}
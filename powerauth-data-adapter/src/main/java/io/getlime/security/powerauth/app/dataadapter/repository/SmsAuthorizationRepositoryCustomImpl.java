@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationPurgeBatch;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationVerification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of repository fragment with native SQL operations for SMS OTP authorization messages.
+ * <p>
+ * PostgreSQL uses the UPDATE ... FROM ... RETURNING statement with a locking subquery, Oracle uses an anonymous
+ * PL/SQL block with a locking query and UPDATE ... RETURNING INTO, so that the verification requires a single
+ * database round trip on both databases. The verification condition is evaluated once on the locked row and
+ * its result is returned as an explicit flag.
+ *
+ * @author Wultra s.r.o.
+ */
+public class SmsAuthorizationRepositoryCustomImpl implements SmsAuthorizationRepositoryCustom {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsAuthorizationRepositoryCustomImpl.class);
+
+    private static final String VERIFY_CONDITION = "authorization_code = ? AND timestamp_expires > ? AND COALESCE(verify_request_count, 0) < ?";
+    private static final String NOT_VERIFIED_CONDITION = " AND (verified IS NULL OR verified = ?)";
+
+    // The verification condition is evaluated once on the locked row, so that the result of current attempt is returned explicitly
+    private static final String VERIFY_LOCK = "SELECT message_id, CASE WHEN %s THEN 1 ELSE 0 END AS verified_now "
+            + "FROM da_sms_authorization WHERE message_id = ? FOR UPDATE";
+
+    private static final String VERIFY_UPDATE_POSTGRESQL = "UPDATE da_sms_authorization t SET "
+            + "verify_request_count = COALESCE(t.verify_request_count, 0) + 1, "
+            + "verified = CASE WHEN a.verified_now = 1 THEN ? ELSE t.verified END, "
+            + "timestamp_verified = CASE WHEN a.verified_now = 1 THEN ? ELSE t.timestamp_verified END "
+            + "FROM (%s) a WHERE t.message_id = a.message_id "
+            + "RETURNING t.authorization_code, t.verify_request_count, t.verified, t.timestamp_expires, a.verified_now";
+
+    private static final String VERIFY_BLOCK_ORACLE_START = "DECLARE v_verified_now NUMBER := 0; BEGIN FOR r IN (";
+    private static final String VERIFY_BLOCK_ORACLE_END = ") LOOP v_verified_now := r.verified_now; END LOOP; "
+            + "UPDATE da_sms_authorization SET "
+            + "verify_request_count = COALESCE(verify_request_count, 0) + 1, "
+            + "verified = CASE WHEN v_verified_now = 1 THEN ? ELSE verified END, "
+            + "timestamp_verified = CASE WHEN v_verified_now = 1 THEN ? ELSE timestamp_verified END "
+            + "WHERE message_id = ? "
+            + "RETURNING authorization_code, verify_request_count, verified, timestamp_expires INTO ?, ?, ?, ?; "
+            + "? := v_verified_now; ? := SQL%ROWCOUNT; END;";
+
+    private static final String PURGE_CONDITION = " FROM da_sms_authorization WHERE timestamp_created < ? AND (timestamp_expires < ? OR verified = ?)";
+    private static final String PURGE_SELECT = "SELECT message_id, timestamp_created" + PURGE_CONDITION;
+    private static final String PURGE_KEYSET_CONDITION = " AND (timestamp_created > ? OR (timestamp_created = ? AND message_id > ?))";
+    private static final String PURGE_ORDER = " ORDER BY timestamp_created, message_id";
+    private static final String PURGE_LIMIT = " FETCH FIRST %d ROWS ONLY";
+    // Rows of the batch are locked, so that concurrent purges on other nodes skip them instead of archiving them twice
+    private static final String PURGE_LOCK_START = "SELECT message_id, timestamp_created FROM da_sms_authorization WHERE message_id IN (SELECT message_id" + PURGE_CONDITION;
+    private static final String PURGE_LOCK_END = ")" + PURGE_ORDER + " FOR UPDATE SKIP LOCKED";
+
+    private static final String ARCHIVED_COLUMNS = "message_id, operation_id, user_id, organization_id, operation_name, authorization_code, salt, "
+            + "message_text, verify_request_count, verified, timestamp_created, timestamp_verified, timestamp_expires, "
+            + "resend_count, timestamp_last_sent, delivery_result, timestamp_sent, template_key, template_locale, template_args, "
+            + "delivery_status, timestamp_delivered, idempotency_key";
+    private static final String ARCHIVE_INSERT = "INSERT INTO da_sms_authorization_archive (" + ARCHIVED_COLUMNS + ") "
+            + "SELECT " + ARCHIVED_COLUMNS + " FROM da_sms_authorization WHERE message_id = ?";
+    private static final String PURGE_DELETE = "DELETE FROM da_sms_authorization WHERE message_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile DatabaseDialect dialect;
+
+    /**
+     * Repository fragment constructor.
+     * @param jdbcTemplate JDBC template.
+     */
+    public SmsAuthorizationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean isAtomicVerificationSupported() {
+        final DatabaseDialect dialect = getDialect();
+        return dialect == DatabaseDialect.POSTGRESQL || dialect == DatabaseDialect.ORACLE;
+    }
+
+    @Override
+    @Transactional
+    public Optional<SmsAuthorizationVerification> verifyAuthorizationCode(String messageId, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final String condition = allowMultipleVerifications ? VERIFY_CONDITION : VERIFY_CONDITION + NOT_VERIFIED_CONDITION;
+        final String lock = String.format(VERIFY_LOCK, condition);
+        return switch (getDialect()) {
+            case POSTGRESQL -> verifyPostgreSql(String.format(VERIFY_UPDATE_POSTGRESQL, lock), messageId, authorizationCode, allowMultipleVerifications, maxVerifyTries, now);
+            case ORACLE -> verifyOracle(VERIFY_BLOCK_ORACLE_START + lock + VERIFY_BLOCK_ORACLE_END,
+                    messageId, authorizationCode, allowMultipleVerifications, maxVerifyTries, now);
+            case OTHER -> throw new IllegalStateException("Atomic verification is not supported by the database");
+        };
+    }
+
+    @Override
+    @Transactional
+    public SmsAuthorizationPurgeBatch purgeAuthorizationSms(Date createdBefore, Date expiredBefore, Date lastTimestampCreated, String lastMessageId, int batchSize, boolean archive) {
+        final boolean keyset = lastTimestampCreated != null && lastMessageId != null;
+        final String batch = (keyset ? PURGE_KEYSET_CONDITION : "") + PURGE_ORDER + String.format(PURGE_LIMIT, batchSize);
+        final String sql = switch (getDialect()) {
+            case POSTGRESQL, ORACLE -> PURGE_LOCK_START + batch + PURGE_LOCK_END;
+            case OTHER -> PURGE_SELECT + batch;
+        };
+        final List<String> messageIds = new ArrayList<>(batchSize);
+        final Date[] lastCreated = new Date[1];
+        jdbcTemplate.query(sql, ps -> {
+            int index = 1;
+            ps.setTimestamp(index++, new Timestamp(createdBefore.getTime()));
+            ps.setTimestamp(index++, new Timestamp(expiredBefore.getTime()));
+            ps.setBoolean(index++, true);
+            if (keyset) {
+                final Timestamp lastTimestamp = new Timestamp(lastTimestampCreated.getTime());
+                ps.setTimestamp(index++, lastTimestamp);
+                ps.setTimestamp(index++, lastTimestamp);
+                ps.setString(index, lastMessageId);
+            }
+        }, (RowCallbackHandler) rs -> {
+            messageIds.add(rs.getString(1));
+            lastCreated[0] = rs.getTimestamp(2);
+        });
+        if (messageIds.isEmpty()) {
+            return new SmsAuthorizationPurgeBatch(0, lastTimestampCreated, lastMessageId);
+        }
+        if (archive) {
+            jdbcTemplate.batchUpdate(ARCHIVE_INSERT, messageIds, messageIds.size(), (ps, messageId) -> ps.setString(1, messageId));
+        }
+        jdbcTemplate.batchUpdate(PURGE_DELETE, messageIds, messageIds.size(), (ps, messageId) -> ps.setString(1, messageId));
+        return new SmsAuthorizationPurgeBatch(messageIds.size(), lastCreated[0], messageIds.get(messageIds.size() - 1));
+    }
+
+    /**
+     * Verify authorization code using UPDATE ... RETURNING statement.
+     */
+    private Optional<SmsAuthorizationVerification> verifyPostgreSql(String sql, String messageId, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries, Timestamp now) {
+        return jdbcTemplate.query(sql, ps -> {
+            int index = 1;
+            ps.setBoolean(index++, true);
+            ps.setTimestamp(index++, now);
+            index = bindVerifyCondition(ps, index, authorizationCode, allowMultipleVerifications, maxVerifyTries, now);
+            ps.setString(index, messageId);
+        }, (ResultSetExtractor<Optional<SmsAuthorizationVerification>>) rs -> {
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+            return Optional.of(createVerification(rs.getString(1), rs.getInt(2), rs.getBoolean(3), rs.getInt(5) == 1, rs.getTimestamp(4), now));
+        });
+    }
+
+    /**
+     * Verify authorization code using anonymous PL/SQL block with UPDATE ... RETURNING INTO statement.
+     */
+    private Optional<SmsAuthorizationVerification> verifyOracle(String sql, String messageId, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries, Timestamp now) {
+        return jdbcTemplate.execute(sql, (CallableStatementCallback<Optional<SmsAuthorizationVerification>>) cs -> {
+            int index = bindVerifyCondition(cs, 1, authorizationCode, allowMultipleVerifications, maxVerifyTries, now);
+            cs.setString(index++, messageId);
+            cs.setBoolean(index++, true);
+            cs.setTimestamp(index++, now);
+            cs.setString(index++, messageId);
+            final int codeIndex = index++;
+            final int countIndex = index++;
+            final int verifiedIndex = index++;
+            final int timestampExpiresIndex = index++;
+            final int verifiedNowIndex = index++;
+            final int rowCountIndex = index;
+            cs.registerOutParameter(codeIndex, Types.VARCHAR);
+            cs.registerOutParameter(countIndex, Types.INTEGER);
+            cs.registerOutParameter(verifiedIndex, Types.INTEGER);
+            cs.registerOutParameter(timestampExpiresIndex, Types.TIMESTAMP);
+            cs.registerOutParameter(verifiedNowIndex, Types.INTEGER);
+            cs.registerOutParameter(rowCountIndex, Types.INTEGER);
+            cs.execute();
+            if (cs.getInt(rowCountIndex) == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(createVerification(cs.getString(codeIndex), cs.getInt(countIndex), cs.getInt(verifiedIndex) != 0,
+                    cs.getInt(verifiedNowIndex) == 1, cs.getTimestamp(timestampExpiresIndex), now));
+        });
+    }
+
+    /**
+     * Bind parameters of the verification condition.
+     * @return Index of the next parameter.
+     */
+    private int bindVerifyCondition(PreparedStatement ps, int firstIndex, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries, Timestamp now) throws SQLException {
+        int index = firstIndex;
+        ps.setString(index++, authorizationCode);
+        ps.setTimestamp(index++, now);
+        ps.setInt(index++, maxVerifyTries);
+        if (!allowMultipleVerifications) {
+            ps.setBoolean(index++, false);
+        }
+        return index;
+    }
+
+    /**
+     * Create verification state from values returned by the update statement.
+     */
+    private SmsAuthorizationVerification createVerification(String code, int verifyRequestCount, boolean verified, boolean verifiedNow, Timestamp timestampExpires, Timestamp now) {
+        final boolean expired = timestampExpires == null || !timestampExpires.after(now);
+        return new SmsAuthorizationVerification(code, verifyRequestCount, verified, verifiedNow, expired);
+    }
+
+    /**
+     * Get database dialect, the dialect is detected lazily on first use.
+     * @return Database dialect.
+     */
+    private DatabaseDialect getDialect() {
+        DatabaseDialect result = dialect;
+        if (result == null) {
+            result = DatabaseDialect.detect(jdbcTemplate);
+            logger.info("Detected database dialect for SMS authorization repository: {}", result);
+            dialect = result;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import io.getlime.security.powerauth.app.dataadapter.model.entity.SmsDeliveryReceipt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Repository for recording SMS delivery receipts in table da_sms_authorization.
+ * <p>
+ * Receipts are applied using JDBC batch updates. A receipt updates the delivery status only in case it is not older
+ * than the delivery status already recorded for the message, so that receipts delivered out of order do not
+ * overwrite a newer status.
+ *
+ * @author Wultra s.r.o.
+ */
+@Repository
+public class SmsDeliveryReceiptRepository {
+
+    private static final String DELIVERY_STATUS_UPDATE = "UPDATE da_sms_authorization SET delivery_status = ?, timestamp_delivered = ? "
+            + "WHERE message_id = ? AND (timestamp_delivered IS NULL OR timestamp_delivered <= ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Repository constructor.
+     * @param jdbcTemplate JDBC template.
+     */
+    @Autowired
+    public SmsDeliveryReceiptRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Update delivery status of SMS messages.
+     * @param receipts Delivery receipts with at most one receipt per message.
+     * @param batchSize Number of receipts sent to the database in a single batch.
+     * @return Number of updated SMS messages.
+     */
+    @Transactional
+    public int updateDeliveryStatus(List<SmsDeliveryReceipt> receipts, int batchSize) {
+        if (receipts.isEmpty()) {
+            return 0;
+        }
+        final int[][] results = jdbcTemplate.batchUpdate(DELIVERY_STATUS_UPDATE, receipts, batchSize, (ps, receipt) -> {
+            final Timestamp timestampDelivered = new Timestamp(receipt.getTimestampDelivered().getTime());
+            ps.setString(1, receipt.getStatus().name());
+            ps.setTimestamp(2, timestampDelivered);
+            ps.setString(3, receipt.getMessageId());
+            ps.setTimestamp(4, timestampDelivered);
+        });
+        int updated = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count > 0) {
+                    updated += count;
+                } else if (count == Statement.SUCCESS_NO_INFO) {
+                    // Driver does not report row counts for batched statements
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsOutboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repository for the outbox of SMS OTP authorization messages waiting for delivery.
+ * <p>
+ * Messages are claimed with SELECT ... FOR UPDATE SKIP LOCKED, so that multiple dispatchers never claim the same
+ * message. Claimed messages are leased by moving their next attempt timestamp, the lease expires in case the
+ * dispatcher fails before the delivery is completed and the message is claimed again.
+ *
+ * @author Wultra s.r.o.
+ */
+@Repository
+public class SmsOutboxRepository {
+
+    private static final String INSERT = "INSERT INTO da_sms_outbox (message_id, user_id, organization_id, operation_id, message_text, "
+            + "attempt_count, timestamp_created, timestamp_next_attempt) VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String CLAIM_SELECT = "SELECT message_id, user_id, organization_id, operation_id, message_text, attempt_count "
+            + "FROM da_sms_outbox WHERE timestamp_next_attempt <= ? ORDER BY timestamp_next_attempt";
+    private static final String CLAIM_UPDATE = "UPDATE da_sms_outbox SET attempt_count = attempt_count + 1, timestamp_next_attempt = ? WHERE message_id = ?";
+    private static final String RESCHEDULE_UPDATE = "UPDATE da_sms_outbox SET timestamp_next_attempt = ? WHERE message_id = ?";
+    private static final String DELETE = "DELETE FROM da_sms_outbox WHERE message_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile DatabaseDialect dialect;
+
+    /**
+     * Repository constructor.
+     * @param jdbcTemplate JDBC template.
+     */
+    @Autowired
+    public SmsOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert a message into the outbox. The message is inserted within the current transaction.
+     * @param message Message to deliver.
+     * @param timestampCreated Timestamp when the message was created.
+     */
+    @Transactional
+    public void insert(SmsOutboxMessage message, Date timestampCreated) {
+        final Timestamp timestamp = new Timestamp(timestampCreated.getTime());
+        jdbcTemplate.update(INSERT, message.messageId(), message.userId(), message.organizationId(), message.operationId(),
+                message.messageText(), timestamp, timestamp);
+    }
+
+    /**
+     * Claim messages which are due for a delivery attempt.
+     * @param batchSize Maximum number of claimed messages.
+     * @param leaseTime Lease time in milliseconds.
+     * @return Claimed messages.
+     */
+    @Transactional
+    public List<SmsOutboxMessage> claim(int batchSize, long leaseTime) {
+        final long now = System.currentTimeMillis();
+        final String query = switch (getDialect()) {
+            // Oracle locks rows with SKIP LOCKED as they are fetched, the batch size is limited by the maximum number of rows
+            case ORACLE -> CLAIM_SELECT + " FOR UPDATE SKIP LOCKED";
+            case POSTGRESQL -> CLAIM_SELECT + " FETCH FIRST " + batchSize + " ROWS ONLY FOR UPDATE SKIP LOCKED";
+            case OTHER -> CLAIM_SELECT + " FOR UPDATE";
+        };
+        final List<SmsOutboxMessage> messages = jdbcTemplate.query(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(query);
+            ps.setMaxRows(batchSize);
+            ps.setTimestamp(1, new Timestamp(now));
+            return ps;
+        }, (rs, rowNum) -> new SmsOutboxMessage(rs.getString("message_id"), rs.getString("user_id"), rs.getString("organization_id"),
+                rs.getString("operation_id"), rs.getString("message_text"), rs.getInt("attempt_count") + 1));
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        final Timestamp leaseExpires = new Timestamp(now + leaseTime);
+        jdbcTemplate.batchUpdate(CLAIM_UPDATE, messages, messages.size(), (ps, message) -> {
+            ps.setTimestamp(1, leaseExpires);
+            ps.setString(2, message.messageId());
+        });
+        return messages;
+    }
+
+    /**
+     * Schedule the next delivery attempt of a message.
+     * @param messageId Message ID.
+     * @param timestampNextAttempt Timestamp of the next delivery attempt.
+     */
+    @Transactional
+    public void reschedule(String messageId, Date timestampNextAttempt) {
+        jdbcTemplate.update(RESCHEDULE_UPDATE, new Timestamp(timestampNextAttempt.getTime()), messageId);
+    }
+
+    /**
+     * Remove a message with completed delivery from the outbox.
+     * @param messageId Message ID.
+     */
+    @Transactional
+    public void complete(String messageId) {
+        jdbcTemplate.update(DELETE, messageId);
+    }
+
+    /**
+     * Get the database dialect, the dialect is detected on first use.
+     * @return Database dialect.
+     */
+    private DatabaseDialect getDialect() {
+        DatabaseDialect result = dialect;
+        if (result == null) {
+            result = DatabaseDialect.detect(jdbcTemplate);
+            dialect = result;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UserCredentials;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UsernameEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Repository for built-in users stored in table da_user_credentials.
+ *
+ * @author Wultra s.r.o.
+ */
+@Repository
+public class UserCredentialsRepository {
+
+    private static final String SELECT_COLUMNS = "SELECT user_id, username, password_hash, given_name, family_name, organization_id, phone_number FROM da_user_credentials ";
+
+    private static final String SELECT_ALL_USERNAMES = "SELECT user_id, username, organization_id, timestamp_last_updated FROM da_user_credentials ORDER BY user_id";
+
+    private static final String SELECT_UPDATED_USERNAMES = "SELECT user_id, username, organization_id, timestamp_last_updated FROM da_user_credentials "
+            + "WHERE timestamp_last_updated >= ? ORDER BY timestamp_last_updated, user_id";
+
+    private static final int USERNAME_FETCH_SIZE = 1000;
+
+    private static final RowMapper<UserCredentials> ROW_MAPPER = (rs, rowNum) -> new UserCredentials(
+            rs.getString("user_id"),
+            rs.getString("username"),
+            rs.getString("password_hash"),
+            rs.getString("given_name"),
+            rs.getString("family_name"),
+            rs.getString("organization_id"),
+            rs.getString("phone_number"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Repository constructor.
+     * @param jdbcTemplate JDBC template.
+     */
+    @Autowired
+    public UserCredentialsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Find user by user ID.
+     * @param userId User ID.
+     * @return User, empty in case user does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserCredentials> findByUserId(String userId) {
+        final List<UserCredentials> result = jdbcTemplate.query(SELECT_COLUMNS + "WHERE user_id = ?", ROW_MAPPER, userId);
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Find user by username. Usernames are not unique in the table, the user with the lowest user ID is returned
+     * in case the username is used more than once.
+     * @param username Username.
+     * @param organizationId Organization ID, null in case users of all organizations are searched.
+     * @return User, empty in case user does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserCredentials> findByUsername(String username, String organizationId) {
+        final List<UserCredentials> result;
+        if (organizationId == null) {
+            result = jdbcTemplate.query(SELECT_COLUMNS + "WHERE username = ? ORDER BY user_id", ROW_MAPPER, username);
+        } else {
+            result = jdbcTemplate.query(SELECT_COLUMNS + "WHERE username = ? AND organization_id = ? ORDER BY user_id", ROW_MAPPER, username, organizationId);
+        }
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Pass username mappings to the consumer, rows are streamed from the database.
+     * @param updatedSince Timestamp of the oldest update, null for all mappings ordered by user ID.
+     * @param consumer Consumer of username mappings.
+     */
+    @Transactional(readOnly = true)
+    public void forEachUsername(Date updatedSince, Consumer<UsernameEntry> consumer) {
+        jdbcTemplate.query(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(updatedSince == null ? SELECT_ALL_USERNAMES : SELECT_UPDATED_USERNAMES);
+            ps.setFetchSize(USERNAME_FETCH_SIZE);
+            if (updatedSince != null) {
+                ps.setTimestamp(1, new Timestamp(updatedSince.getTime()));
+            }
+            return ps;
+        }, rs -> {
+            final Timestamp timestampLastUpdated = rs.getTimestamp("timestamp_last_updated");
+            consumer.accept(new UsernameEntry(rs.getString("user_id"), rs.getString("username"), rs.getString("organization_id"),
+                    timestampLastUpdated == null ? null : new Date(timestampLastUpdated.getTime())));
+        });
+    }
+
+}
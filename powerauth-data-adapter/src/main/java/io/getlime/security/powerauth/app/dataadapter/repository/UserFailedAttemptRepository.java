@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.FailedAttemptState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for counters of failed authentication attempts stored in table da_user_failed_attempts.
+ * <p>
+ * Counters are written using batched upserts, INSERT ... ON CONFLICT is used on PostgreSQL and MERGE on Oracle.
+ * Other databases update existing rows in a batch and insert the remaining rows in another batch.
+ *
+ * @author Wultra s.r.o.
+ */
+@Repository
+public class UserFailedAttemptRepository {
+
+    private static final String COLUMNS = "user_id, window_start, current_count, previous_count, timestamp_blocked_until, timestamp_last_updated";
+    private static final String UPSERT_POSTGRESQL = "INSERT INTO da_user_failed_attempts (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_id) DO UPDATE SET window_start = EXCLUDED.window_start, current_count = EXCLUDED.current_count, "
+            + "previous_count = EXCLUDED.previous_count, timestamp_blocked_until = EXCLUDED.timestamp_blocked_until, "
+            + "timestamp_last_updated = EXCLUDED.timestamp_last_updated";
+    private static final String UPSERT_ORACLE = "MERGE INTO da_user_failed_attempts t USING (SELECT ? user_id, ? window_start, ? current_count, "
+            + "? previous_count, ? timestamp_blocked_until, ? timestamp_last_updated FROM dual) s ON (t.user_id = s.user_id) "
+            + "WHEN MATCHED THEN UPDATE SET t.window_start = s.window_start, t.current_count = s.current_count, t.previous_count = s.previous_count, "
+            + "t.timestamp_blocked_until = s.timestamp_blocked_until, t.timestamp_last_updated = s.timestamp_last_updated "
+            + "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (s.user_id, s.window_start, s.current_count, s.previous_count, "
+            + "s.timestamp_blocked_until, s.timestamp_last_updated)";
+    private static final String UPDATE = "UPDATE da_user_failed_attempts SET window_start = ?, current_count = ?, previous_count = ?, "
+            + "timestamp_blocked_until = ?, timestamp_last_updated = ? WHERE user_id = ?";
+    private static final String INSERT = "INSERT INTO da_user_failed_attempts (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM da_user_failed_attempts WHERE user_id = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM da_user_failed_attempts WHERE timestamp_last_updated < ? "
+            + "AND (timestamp_blocked_until IS NULL OR timestamp_blocked_until < ?)";
+    private static final String SELECT_ACTIVE = "SELECT " + COLUMNS + " FROM da_user_failed_attempts WHERE timestamp_last_updated >= ? "
+            + "OR timestamp_blocked_until >= ? ORDER BY timestamp_last_updated DESC";
+    private static final String SELECT_BY_USER_ID = "SELECT " + COLUMNS + " FROM da_user_failed_attempts WHERE user_id = ?";
+
+    private static final RowMapper<FailedAttemptState> FAILED_ATTEMPT_STATE_MAPPER = (rs, rowNum) -> new FailedAttemptState(
+            rs.getString("user_id"), toDate(rs.getTimestamp("window_start")), rs.getInt("current_count"), rs.getInt("previous_count"),
+            toDate(rs.getTimestamp("timestamp_blocked_until")), toDate(rs.getTimestamp("timestamp_last_updated")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile DatabaseDialect dialect;
+
+    /**
+     * Repository constructor.
+     * @param jdbcTemplate JDBC template.
+     */
+    @Autowired
+    public UserFailedAttemptRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert or update counters of failed attempts.
+     * @param states Counter states with at most one state per user.
+     * @param batchSize Number of counters sent to the database in a single batch.
+     */
+    @Transactional
+    public void upsert(List<FailedAttemptState> states, int batchSize) {
+        if (states.isEmpty()) {
+            return;
+        }
+        switch (getDialect()) {
+            case POSTGRESQL -> jdbcTemplate.batchUpdate(UPSERT_POSTGRESQL, states, batchSize, UserFailedAttemptRepository::setValues);
+            case ORACLE -> jdbcTemplate.batchUpdate(UPSERT_ORACLE, states, batchSize, UserFailedAttemptRepository::setValues);
+            case OTHER -> {
+                final int[][] results = jdbcTemplate.batchUpdate(UPDATE, states, batchSize, (ps, state) -> {
+                    setCounterValues(ps, state, 1);
+                    ps.setString(6, state.userId());
+                });
+                final List<FailedAttemptState> missing = new ArrayList<>();
+                int index = 0;
+                for (int[] batch : results) {
+                    for (int count : batch) {
+                        if (count == 0) {
+                            missing.add(states.get(index));
+                        }
+                        index++;
+                    }
+                }
+                jdbcTemplate.batchUpdate(INSERT, missing, batchSize, UserFailedAttemptRepository::setValues);
+            }
+        }
+    }
+
+    /**
+     * Delete counters of failed attempts.
+     * @param userIds User IDs.
+     * @param batchSize Number of counters deleted in a single batch.
+     */
+    @Transactional
+    public void delete(List<String> userIds, int batchSize) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE, userIds, batchSize, (ps, userId) -> ps.setString(1, userId));
+    }
+
+    /**
+     * Delete counters which were not updated since the given timestamp and which do not block the user.
+     * @param updatedBefore Timestamp of the oldest update which is kept.
+     * @return Number of deleted counters.
+     */
+    @Transactional
+    public int deleteExpired(Date updatedBefore) {
+        final Timestamp timestamp = new Timestamp(updatedBefore.getTime());
+        return jdbcTemplate.update(DELETE_EXPIRED, timestamp, new Timestamp(System.currentTimeMillis()));
+    }
+
+    /**
+     * Find counters which were updated since the given timestamp or which block the user.
+     * @param updatedSince Timestamp of the oldest update.
+     * @param maxCount Maximum number of counters, the most recently updated counters are returned.
+     * @return Counter states.
+     */
+    @Transactional(readOnly = true)
+    public List<FailedAttemptState> findActive(Date updatedSince, int maxCount) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        return jdbcTemplate.query(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(SELECT_ACTIVE);
+            ps.setMaxRows(maxCount);
+            ps.setTimestamp(1, new Timestamp(updatedSince.getTime()));
+            ps.setTimestamp(2, now);
+            return ps;
+        }, FAILED_ATTEMPT_STATE_MAPPER);
+    }
+
+    /**
+     * Find the counter of a user.
+     * @param userId User ID.
+     * @return Counter state, empty in case the counter is not stored.
+     */
+    @Transactional(readOnly = true)
+    public Optional<FailedAttemptState> findByUserId(String userId) {
+        return jdbcTemplate.query(SELECT_BY_USER_ID, FAILED_ATTEMPT_STATE_MAPPER, userId).stream().findFirst();
+    }
+
+    private static void setValues(PreparedStatement ps, FailedAttemptState state) throws SQLException {
+        ps.setString(1, state.userId());
+        setCounterValues(ps, state, 2);
+    }
+
+    private static void setCounterValues(PreparedStatement ps, FailedAttemptState state, int firstIndex) throws SQLException {
+        ps.setTimestamp(firstIndex, new Timestamp(state.windowStart().getTime()));
+        ps.setInt(firstIndex + 1, state.currentCount());
+        ps.setInt(firstIndex + 2, state.previousCount());
+        ps.setTimestamp(firstIndex + 3, state.blockedUntil() == null ? null : new Timestamp(state.blockedUntil().getTime()));
+        ps.setTimestamp(firstIndex + 4, new Timestamp(state.lastUpdated().getTime()));
+    }
+
+    private static Date toDate(Timestamp timestamp) {
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+
+    private DatabaseDialect getDialect() {
+        DatabaseDialect result = dialect;
+        if (result == null) {
+            result = DatabaseDialect.detect(jdbcTemplate);
+            dialect = result;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository.model;
+
+import java.util.Date;
+
+/**
+ * State of a counter of failed authentication attempts of a user.
+ *
+ * @param userId User ID.
+ * @param windowStart Start of the current counting window.
+ * @param currentCount Number of failed attempts in the current counting window.
+ * @param previousCount Number of failed attempts in the previous counting window.
+ * @param blockedUntil Timestamp until which authentication of the user is blocked, null in case user is not blocked.
+ * @param lastUpdated Timestamp of the last update of the counter.
+ * @author Wultra s.r.o.
+ */
+public record FailedAttemptState(String userId, Date windowStart, int currentCount, int previousCount, Date blockedUntil, Date lastUpdated) {
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository.model;
+
+/**
+ * Result of a resend attempt of an SMS OTP authorization message.
+ *
+ * @param messageText Text of SMS message, null in case the message is stored as a template reference.
+ * @param templateReference Reference to SMS text template, null in case the full message text is stored.
+ * @param resent Whether the message may be resent, resend count and expiration were updated.
+ * @param verified Whether the message was already verified.
+ * @param attemptsExceeded Whether the maximum number of verification attempts was reached.
+ * @param resendsExceeded Whether the maximum number of resends was reached.
+ * @author Wultra s.r.o.
+ */
+public record SmsAuthorizationResend(String messageText, SmsTemplateReference templateReference, boolean resent, boolean verified, boolean attemptsExceeded, boolean resendsExceeded) {
+}
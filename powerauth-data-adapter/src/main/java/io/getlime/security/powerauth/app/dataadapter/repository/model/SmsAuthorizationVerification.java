@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository.model;
+
+/**
+ * State of SMS OTP authorization after a single verification attempt.
+ *
+ * @param authorizationCode Stored OTP authorization code.
+ * @param verifyRequestCount Verification request count including current attempt.
+ * @param verified Whether the authorization code is verified, including verification by current attempt.
+ * @param verifiedNow Whether the authorization code was verified by current attempt.
+ * @param expired Whether the authorization code is expired.
+ *
+ * @author Wultra s.r.o.
+ */
+public record SmsAuthorizationVerification(String authorizationCode, int verifyRequestCount, boolean verified,
+                                           boolean verifiedNow, boolean expired) {
+}
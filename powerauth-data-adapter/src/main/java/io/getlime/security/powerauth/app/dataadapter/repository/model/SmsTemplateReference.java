@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference to a localized SMS text template together with the template arguments, which is stored instead of
+ * the full SMS text when template reference storage is enabled.
+ * <p>
+ * Arguments are stored as a single string separated by the unit separator character. Backslashes and separator
+ * characters within arguments are escaped.
+ *
+ * @param templateKey Message code of the SMS text template.
+ * @param locale Language used for localization.
+ * @param args Template arguments.
+ * @author Wultra s.r.o.
+ */
+public record SmsTemplateReference(String templateKey, String locale, List<String> args) {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final char ESCAPE = '\\';
+
+    /**
+     * Encode template arguments into a compact string.
+     * @return Encoded template arguments.
+     */
+    public String encodeArgs() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < args.size(); i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            final String arg = args.get(i);
+            for (int j = 0; j < arg.length(); j++) {
+                final char c = arg.charAt(j);
+                if (c == ESCAPE || c == SEPARATOR) {
+                    sb.append(ESCAPE);
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decode a template reference from stored values.
+     * @param templateKey Message code of the SMS text template.
+     * @param locale Language used for localization.
+     * @param encodedArgs Encoded template arguments.
+     * @return Template reference, null in case template key is not available.
+     */
+    public static SmsTemplateReference decode(String templateKey, String locale, String encodedArgs) {
+        if (templateKey == null) {
+            return null;
+        }
+        final List<String> args = new ArrayList<>();
+        if (encodedArgs != null && !encodedArgs.isEmpty()) {
+            final StringBuilder sb = new StringBuilder();
+            boolean escaped = false;
+            for (int i = 0; i < encodedArgs.length(); i++) {
+                final char c = encodedArgs.charAt(i);
+                if (escaped) {
+                    sb.append(c);
+                    escaped = false;
+                } else if (c == ESCAPE) {
+                    escaped = true;
+                } else if (c == SEPARATOR) {
+                    args.add(sb.toString());
+                    sb.setLength(0);
+                } else {
+                    sb.append(c);
+                }
+            }
+            args.add(sb.toString());
+        }
+        return new SmsTemplateReference(templateKey, locale, List.copyOf(args));
+    }
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository.model;
+
+/**
+ * Built-in user stored in table da_user_credentials.
+ *
+ * @param userId User ID.
+ * @param username Username.
+ * @param passwordHash Bcrypt hash of the password.
+ * @param givenName User given name.
+ * @param familyName User family name.
+ * @param organizationId Organization ID.
+ * @param phoneNumber Phone number.
+ * @author Wultra s.r.o.
+ */
+public record UserCredentials(String userId, String username, String passwordHash, String givenName, String familyName, String organizationId, String phoneNumber) {
+}
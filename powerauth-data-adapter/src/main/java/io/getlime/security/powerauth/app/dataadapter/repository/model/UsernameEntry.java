@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.repository.model;
+
+import java.util.Date;
+
+/**
+ * Mapping of a username to a user ID used by the username index.
+ *
+ * @param userId User ID.
+ * @param username Username.
+ * @param organizationId Organization ID.
+ * @param timestampLastUpdated Timestamp of the last update of the user, used as the version of the mapping.
+ * @author Wultra s.r.o.
+ */
+public record UsernameEntry(String userId, String username, String organizationId, Date timestampLastUpdated) {
+}
@@ -15,10 +15,10 @@
  */
 package io.getlime.security.powerauth.app.dataadapter.repository.model.entity;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
+import io.getlime.security.powerauth.app.dataadapter.model.enumeration.SmsDeliveryStatus;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -26,12 +26,15 @@ import java.util.Date;
 
 /**
  * Entity which stores SMS OTP authorization messages and related data.
+ * <p>
+ * The message ID is assigned by the application, so the entity tracks its new state explicitly. Saving a new
+ * entity results in a single INSERT statement instead of a SELECT followed by an INSERT during merge.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
 @Entity
 @Table(name = "da_sms_authorization")
-public class SmsAuthorizationEntity implements Serializable {
+public class SmsAuthorizationEntity implements Persistable<String>, Serializable {
 
     @Serial
     private static final long serialVersionUID = 6432269422572862762L;
@@ -61,6 +64,15 @@ public class SmsAuthorizationEntity implements Serializable {
     @Column(name = "message_text")
     private String messageText;
 
+    @Column(name = "template_key")
+    private String templateKey;
+
+    @Column(name = "template_locale")
+    private String templateLocale;
+
+    @Column(name = "template_args")
+    private String templateArgs;
+
     @Column(name = "verify_request_count")
     private int verifyRequestCount;
 
@@ -76,6 +88,32 @@ public class SmsAuthorizationEntity implements Serializable {
     @Column(name = "timestamp_expires")
     private Date timestampExpires;
 
+    @Column(name = "resend_count")
+    private int resendCount;
+
+    @Column(name = "timestamp_last_sent")
+    private Date timestampLastSent;
+
+    @Column(name = "delivery_result")
+    @Enumerated(EnumType.STRING)
+    private SmsDeliveryResult deliveryResult;
+
+    @Column(name = "timestamp_sent")
+    private Date timestampSent;
+
+    @Column(name = "delivery_status")
+    @Enumerated(EnumType.STRING)
+    private SmsDeliveryStatus deliveryStatus;
+
+    @Column(name = "timestamp_delivered")
+    private Date timestampDelivered;
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Transient
+    private boolean newEntity = true;
+
     /**
      * Get message ID.
      * @return Message ID.
@@ -204,6 +242,54 @@ public class SmsAuthorizationEntity implements Serializable {
         this.messageText = messageText;
     }
 
+    /**
+     * Get message code of SMS text template, used when message text is stored as a template reference.
+     * @return Template key.
+     */
+    public String getTemplateKey() {
+        return templateKey;
+    }
+
+    /**
+     * Set message code of SMS text template, used when message text is stored as a template reference.
+     * @param templateKey Template key.
+     */
+    public void setTemplateKey(String templateKey) {
+        this.templateKey = templateKey;
+    }
+
+    /**
+     * Get language of SMS text template.
+     * @return Template locale.
+     */
+    public String getTemplateLocale() {
+        return templateLocale;
+    }
+
+    /**
+     * Set language of SMS text template.
+     * @param templateLocale Template locale.
+     */
+    public void setTemplateLocale(String templateLocale) {
+        this.templateLocale = templateLocale;
+    }
+
+    /**
+     * Get encoded arguments of SMS text template.
+     * @return Encoded template arguments.
+     */
+    public String getTemplateArgs() {
+        return templateArgs;
+    }
+
+    /**
+     * Set encoded arguments of SMS text template.
+     * @param templateArgs Encoded template arguments.
+     */
+    public void setTemplateArgs(String templateArgs) {
+        this.templateArgs = templateArgs;
+    }
+
     /**
      * Get verification request count.
      * @return Verification request count.
@@ -284,6 +370,118 @@ public class SmsAuthorizationEntity implements Serializable {
         this.timestampExpires = timestampExpires;
     }
 
+    /**
+     * Get number of resends of authorization SMS.
+     * @return Number of resends.
+     */
+    public int getResendCount() {
+        return resendCount;
+    }
+
+    /**
+     * Set number of resends of authorization SMS.
+     * @param resendCount Number of resends.
+     */
+    public void setResendCount(int resendCount) {
+        this.resendCount = resendCount;
+    }
+
+    /**
+     * Get timestamp when authorization SMS was last sent.
+     * @return Timestamp when authorization SMS was last sent.
+     */
+    public Date getTimestampLastSent() {
+        return timestampLastSent;
+    }
+
+    /**
+     * Set timestamp when authorization SMS was last sent.
+     * @param timestampLastSent Timestamp when authorization SMS was last sent.
+     */
+    public void setTimestampLastSent(Date timestampLastSent) {
+        this.timestampLastSent = timestampLastSent;
+    }
+
+    /**
+     * Get result of asynchronous SMS delivery.
+     * @return Result of SMS delivery.
+     */
+    public SmsDeliveryResult getDeliveryResult() {
+        return deliveryResult;
+    }
+
+    /**
+     * Set result of asynchronous SMS delivery.
+     * @param deliveryResult Result of SMS delivery.
+     */
+    public void setDeliveryResult(SmsDeliveryResult deliveryResult) {
+        this.deliveryResult = deliveryResult;
+    }
+
+    /**
+     * Get timestamp when asynchronous SMS delivery was completed.
+     * @return Timestamp when SMS delivery was completed.
+     */
+    public Date getTimestampSent() {
+        return timestampSent;
+    }
+
+    /**
+     * Set timestamp when asynchronous SMS delivery was completed.
+     * @param timestampSent Timestamp when SMS delivery was completed.
+     */
+    public void setTimestampSent(Date timestampSent) {
+        this.timestampSent = timestampSent;
+    }
+
+    /**
+     * Get delivery status reported by the SMS provider in a delivery receipt.
+     * @return Delivery status.
+     */
+    public SmsDeliveryStatus getDeliveryStatus() {
+        return deliveryStatus;
+    }
+
+    /**
+     * Set delivery status reported by the SMS provider in a delivery receipt.
+     * @param deliveryStatus Delivery status.
+     */
+    public void setDeliveryStatus(SmsDeliveryStatus deliveryStatus) {
+        this.deliveryStatus = deliveryStatus;
+    }
+
+    /**
+     * Get timestamp of the delivery status reported by the SMS provider.
+     * @return Timestamp of the delivery status.
+     */
+    public Date getTimestampDelivered() {
+        return timestampDelivered;
+    }
+
+    /**
+     * Set timestamp of the delivery status reported by the SMS provider.
+     * @param timestampDelivered Timestamp of the delivery status.
+     */
+    public void setTimestampDelivered(Date timestampDelivered) {
+        this.timestampDelivered = timestampDelivered;
+    }
+
+    /**
+     * Get idempotency key derived from operation ID, authentication method and client supplied request key.
+     * @return Idempotency key.
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    /**
+     * Set idempotency key derived from operation ID, authentication method and client supplied request key.
+     * @param idempotencyKey Idempotency key.
+     */
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     /**
      * Is the SMS OTP expired?
      *
@@ -293,6 +491,33 @@ public class SmsAuthorizationEntity implements Serializable {
         return new Date().after(timestampExpires);
     }
 
+    /**
+     * Get entity ID.
+     * @return Message ID.
+     */
+    @Override
+    public String getId() {
+        return messageId;
+    }
+
+    /**
+     * Whether the entity is new and has not been persisted yet.
+     * @return Whether the entity is new.
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    /**
+     * Mark the entity as not new after it is persisted or loaded from database.
+     */
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
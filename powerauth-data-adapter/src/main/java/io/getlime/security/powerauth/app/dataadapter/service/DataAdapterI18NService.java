@@ -15,6 +15,7 @@
  */
 package io.getlime.security.powerauth.app.dataadapter.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
@@ -28,6 +29,12 @@ import org.springframework.stereotype.Service;
 @Service
 public class DataAdapterI18NService {
 
+    /**
+     * Time in seconds for which loaded message bundles are cached, -1 caches bundles forever.
+     */
+    @Value("${powerauth.dataAdapter.i18n.cacheSeconds}")
+    private int cacheSeconds;
+
     /**
      * Get message source with i18n data.
      *
@@ -38,6 +45,7 @@ public class DataAdapterI18NService {
         ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
         messageSource.setBasename("classpath:/static/resources/messages");
         messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setCacheSeconds(cacheSeconds);
         return messageSource;
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.UserCredentialsRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UsernameEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.function.Consumer;
+
+/**
+ * Username source reading table da_user_credentials.
+ *
+ * @author Wultra s.r.o.
+ */
+@Component
+public class DatabaseUsernameSource implements UsernameSource {
+
+    private final UserCredentialsRepository userCredentialsRepository;
+
+    /**
+     * Username source constructor.
+     * @param userCredentialsRepository User credentials repository.
+     */
+    @Autowired
+    public DatabaseUsernameSource(UserCredentialsRepository userCredentialsRepository) {
+        this.userCredentialsRepository = userCredentialsRepository;
+    }
+
+    @Override
+    public void forEachUsername(Date updatedSince, Consumer<UsernameEntry> consumer) {
+        userCredentialsRepository.forEachUsername(updatedSince, consumer);
+    }
+
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.UserFailedAttemptRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.FailedAttemptState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory counters of failed authentication attempts of users.
+ * <p>
+ * Failed attempts are counted in a sliding window approximated by the counts of the current and the previous fixed
+ * window, the previous count is weighted by the part of the previous window which overlaps the sliding window. Once
+ * the number of failed attempts reaches the limit, authentication of the user is blocked for a configured time and
+ * the counter starts again afterwards. A successful authentication resets the counter.
+ * <p>
+ * Counters are kept in lock striped access-ordered maps, the least recently used counters are evicted once the maximum
+ * number of counters is reached, counters of blocked users are never evicted. Changed counters are written to table
+ * da_user_failed_attempts periodically in batches, so that a failed attempt does not cause a database write. Counters
+ * are loaded from the table after a restart. A counter which is not in memory is looked up in the table until the
+ * counters are loaded and while counters evicted from the same stripe may still affect the sliding window, so that
+ * an eviction does not reset the counter of a user.
+ * <p>
+ * The counters are local to the node, the table is not used for sharing of counters between nodes. The effective limit
+ * of failed attempts in a cluster is therefore multiplied by the number of nodes unless sticky sessions are used.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class FailedAttemptCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailedAttemptCounter.class);
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final UserFailedAttemptRepository userFailedAttemptRepository;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final long blockDurationMillis;
+    private final int maxEntries;
+    private final int flushBatchSize;
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private volatile boolean loaded;
+
+    /**
+     * Result of a check of failed attempts.
+     * @param blocked Whether authentication of the user is blocked.
+     * @param remainingAttempts Number of remaining attempts before the user is blocked, null in case counting is disabled.
+     */
+    public record Status(boolean blocked, Integer remainingAttempts) {
+    }
+
+    /**
+     * Counter constructor.
+     * @param userFailedAttemptRepository Repository of failed attempt counters.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public FailedAttemptCounter(UserFailedAttemptRepository userFailedAttemptRepository, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.userFailedAttemptRepository = userFailedAttemptRepository;
+        this.enabled = dataAdapterConfiguration.isFailedAttemptsEnabled();
+        this.maxAttempts = Math.max(1, dataAdapterConfiguration.getFailedAttemptsMaxAttempts());
+        this.windowMillis = Math.max(1, dataAdapterConfiguration.getFailedAttemptsWindow()) * 1000L;
+        this.blockDurationMillis = Math.max(0, dataAdapterConfiguration.getFailedAttemptsBlockDuration()) * 1000L;
+        this.maxEntries = Math.max(STRIPE_COUNT, dataAdapterConfiguration.getFailedAttemptsMaxEntries());
+        this.flushBatchSize = Math.max(1, dataAdapterConfiguration.getFailedAttemptsFlushBatchSize());
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(maxEntries / STRIPE_COUNT);
+        }
+    }
+
+    /**
+     * Get status of failed attempts of a user.
+     * @param userId User ID.
+     * @return Status of failed attempts.
+     */
+    public Status getStatus(String userId) {
+        return getStatus(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Get status of failed attempts of a user at given time.
+     * @param userId User ID.
+     * @param now Current timestamp.
+     * @return Status of failed attempts.
+     */
+    Status getStatus(String userId, long now) {
+        if (!enabled || userId == null) {
+            return new Status(false, null);
+        }
+        return prepareStripe(userId, now).getStatus(userId, now);
+    }
+
+    /**
+     * Record a failed authentication attempt, the user is blocked when the limit of failed attempts is reached.
+     * @param userId User ID.
+     * @return Status of failed attempts after the failed attempt.
+     */
+    public Status recordFailure(String userId) {
+        return recordFailure(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Record a failed authentication attempt at given time.
+     * @param userId User ID.
+     * @param now Current timestamp.
+     * @return Status of failed attempts after the failed attempt.
+     */
+    Status recordFailure(String userId, long now) {
+        if (!enabled || userId == null) {
+            return new Status(false, null);
+        }
+        return prepareStripe(userId, now).recordFailure(userId, now);
+    }
+
+    /**
+     * Reset failed attempts of a user after a successful authentication.
+     * @param userId User ID.
+     */
+    public void reset(String userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        stripeFor(userId).reset(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Write changed counters to the database. Counters stored in the database are loaded on the first run.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.dataAdapter.failedAttempts.flushIntervalInMillis}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!loaded) {
+                load();
+                loaded = true;
+            }
+            final List<FailedAttemptState> changed = new ArrayList<>();
+            final List<String> removed = new ArrayList<>();
+            for (Stripe stripe : stripes) {
+                stripe.drainChanges(changed, removed);
+            }
+            userFailedAttemptRepository.upsert(changed, flushBatchSize);
+            userFailedAttemptRepository.delete(removed, flushBatchSize);
+            // Counters older than two windows do not affect the sliding window anymore
+            userFailedAttemptRepository.deleteExpired(new Date(System.currentTimeMillis() - 2 * windowMillis));
+        } catch (RuntimeException ex) {
+            logger.warn("Flush of failed attempt counters failed, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    private void load() {
+        final List<FailedAttemptState> states = userFailedAttemptRepository.findActive(new Date(System.currentTimeMillis() - 2 * windowMillis), maxEntries);
+        for (FailedAttemptState state : states) {
+            stripeFor(state.userId()).load(state);
+        }
+        logger.info("Failed attempt counters were loaded, count: {}", states.size());
+    }
+
+    /**
+     * Get the stripe of a user with the counter of the user restored in case it was evicted.
+     * @param userId User ID.
+     * @param now Current timestamp.
+     * @return Stripe of the user.
+     */
+    private Stripe prepareStripe(String userId, long now) {
+        final Stripe stripe = stripeFor(userId);
+        if (stripe.restore(userId, now)) {
+            try {
+                userFailedAttemptRepository.findByUserId(userId).ifPresent(stripe::load);
+            } catch (RuntimeException ex) {
+                logger.warn("Lookup of failed attempt counter failed, user ID: {}, error: {}", userId, ex.getMessage());
+                logger.debug(ex.getMessage(), ex);
+            }
+        }
+        return stripe;
+    }
+
+    private Stripe stripeFor(String userId) {
+        final int hash = userId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * Counter of failed attempts of a user.
+     */
+    private final class UserCounter {
+
+        private long windowStart;
+        private int currentCount;
+        private int previousCount;
+        private long blockedUntil;
+        private long lastUpdated;
+
+        UserCounter(long now) {
+            this.windowStart = now;
+            this.lastUpdated = now;
+        }
+
+        UserCounter(FailedAttemptState state) {
+            this.windowStart = state.windowStart().getTime();
+            this.currentCount = state.currentCount();
+            this.previousCount = state.previousCount();
+            this.blockedUntil = state.blockedUntil() == null ? 0 : state.blockedUntil().getTime();
+            this.lastUpdated = state.lastUpdated().getTime();
+        }
+
+        void advance(long now) {
+            final long elapsed = now - windowStart;
+            if (elapsed >= 2 * windowMillis) {
+                previousCount = 0;
+                currentCount = 0;
+                windowStart = now;
+            } else if (elapsed >= windowMillis) {
+                previousCount = currentCount;
+                currentCount = 0;
+                windowStart += windowMillis;
+            }
+        }
+
+        int count(long now) {
+            advance(now);
+            final double previousWeight = 1.0 - (double) (now - windowStart) / windowMillis;
+            return (int) Math.ceil(previousCount * previousWeight + currentCount);
+        }
+
+        boolean isBlocked(long now) {
+            return blockedUntil > now;
+        }
+
+        Status status(long now) {
+            if (blockedUntil > now) {
+                return new Status(true, 0);
+            }
+            return new Status(false, Math.max(0, maxAttempts - count(now)));
+        }
+
+        FailedAttemptState toState(String userId) {
+            return new FailedAttemptState(userId, new Date(windowStart), currentCount, previousCount,
+                    blockedUntil == 0 ? null : new Date(blockedUntil), new Date(lastUpdated));
+        }
+    }
+
+    /**
+     * Bounded access-ordered map of counters guarded by a single lock. Changes of evicted and reset counters are kept
+     * until the next flush.
+     */
+    private final class Stripe {
+
+        private final Map<String, UserCounter> counters;
+        private final Map<String, UserCounter> dirty = new HashMap<>();
+        private final Map<String, FailedAttemptState> evicted = new HashMap<>();
+        private final Set<String> removed = new HashSet<>();
+        // Stored counters of evicted users affect the sliding window until this timestamp
+        private long evictedActiveUntil;
+
+        Stripe(int maxCounters) {
+            this.counters = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UserCounter> eldest) {
+                    if (size() <= maxCounters) {
+                        return false;
+                    }
+                    // Evict the least recently used counter which does not block its user, the most recently
+                    // added counter is never evicted
+                    final long now = System.currentTimeMillis();
+                    final Iterator<Map.Entry<String, UserCounter>> iterator = entrySet().iterator();
+                    for (int remaining = size() - 1; remaining > 0; remaining--) {
+                        final Map.Entry<String, UserCounter> entry = iterator.next();
+                        if (!entry.getValue().isBlocked(now)) {
+                            evict(entry.getKey(), entry.getValue());
+                            iterator.remove();
+                            break;
+                        }
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private void evict(String userId, UserCounter counter) {
+            if (dirty.remove(userId) != null) {
+                evicted.put(userId, counter.toState(userId));
+            }
+            evictedActiveUntil = Math.max(evictedActiveUntil, counter.lastUpdated + 2 * windowMillis);
+        }
+
+        /**
+         * Restore an evicted counter which was not written to the database yet.
+         * @return Whether the counter needs to be looked up in the database.
+         */
+        synchronized boolean restore(String userId, long now) {
+            if (counters.containsKey(userId)) {
+                return false;
+            }
+            final FailedAttemptState pending = evicted.remove(userId);
+            if (pending != null) {
+                final UserCounter counter = new UserCounter(pending);
+                counters.put(userId, counter);
+                dirty.put(userId, counter);
+                return false;
+            }
+            return (!loaded || now < evictedActiveUntil) && !removed.contains(userId);
+        }
+
+        synchronized Status getStatus(String userId, long now) {
+            final UserCounter counter = counters.get(userId);
+            return counter == null ? new Status(false, maxAttempts) : counter.status(now);
+        }
+
+        synchronized Status recordFailure(String userId, long now) {
+            UserCounter counter = counters.get(userId);
+            if (counter == null) {
+                counter = new UserCounter(now);
+                counters.put(userId, counter);
+            }
+            if (counter.blockedUntil > now) {
+                return new Status(true, 0);
+            }
+            counter.advance(now);
+            counter.currentCount++;
+            counter.lastUpdated = now;
+            dirty.put(userId, counter);
+            removed.remove(userId);
+            evicted.remove(userId);
+            if (counter.count(now) >= maxAttempts) {
+                // Block the user and start counting again once the block expires
+                counter.blockedUntil = now + blockDurationMillis;
+                counter.currentCount = 0;
+                counter.previousCount = 0;
+                counter.windowStart = counter.blockedUntil;
+                return new Status(true, 0);
+            }
+            return counter.status(now);
+        }
+
+        synchronized void reset(String userId, long now) {
+            dirty.remove(userId);
+            final boolean counted = counters.remove(userId) != null;
+            final boolean pendingFlush = evicted.remove(userId) != null;
+            // A counter which is not in memory may still be stored in the database
+            if (counted || pendingFlush || !loaded || now < evictedActiveUntil) {
+                removed.add(userId);
+            }
+        }
+
+        synchronized void load(FailedAttemptState state) {
+            // Counters changed since the start are newer than the stored state
+            if (!counters.containsKey(state.userId()) && !removed.contains(state.userId())) {
+                counters.put(state.userId(), new UserCounter(state));
+            }
+        }
+
+        synchronized void drainChanges(List<FailedAttemptState> changed, List<String> removedUserIds) {
+            changed.addAll(evicted.values());
+            evicted.clear();
+            dirty.forEach((userId, counter) -> changed.add(counter.toState(userId)));
+            dirty.clear();
+            removedUserIds.addAll(removed);
+            removed.clear();
+        }
+    }
+
+}
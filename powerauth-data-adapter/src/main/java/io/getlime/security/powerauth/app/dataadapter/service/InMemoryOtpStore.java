@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsAuthorizationRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationResend;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationVerification;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of SMS OTP authorization messages which holds messages in memory. The store is suitable for single node
+ * deployments and deployments with sticky sessions, verification of authorization codes never blocks on the database.
+ * <p>
+ * Messages are kept in a concurrent map, each verification attempt is applied atomically on the map entry. Messages
+ * are retained until they expire, followed by a grace period of one expiration time, so that verification attempts
+ * of expired messages are reported correctly. Messages can be optionally written to the database in a background
+ * thread for audit purposes.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+@ConditionalOnProperty(name = "powerauth.authorization.sms-otp.store.type", havingValue = "in-memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryOtpStore.class);
+
+    private final ConcurrentHashMap<String, SmsAuthorizationEntity> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> idempotencyKeys = new ConcurrentHashMap<>();
+
+    private final SmsAuthorizationRepository smsAuthorizationRepository;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+    private final ThreadPoolExecutor writeBehindExecutor;
+
+    /**
+     * Store constructor.
+     * @param smsAuthorizationRepository SMS authorization repository.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public InMemoryOtpStore(SmsAuthorizationRepository smsAuthorizationRepository, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.smsAuthorizationRepository = smsAuthorizationRepository;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+        if (dataAdapterConfiguration.isSmsOtpStoreInMemoryWriteBehindEnabled()) {
+            // Single writer thread keeps the order of database writes for each message
+            this.writeBehindExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(dataAdapterConfiguration.getSmsOtpStoreInMemoryWriteBehindQueueCapacity()),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "otp-store-write-behind");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        } else {
+            this.writeBehindExecutor = null;
+        }
+    }
+
+    @Override
+    public boolean createAuthorizationSms(SmsAuthorizationEntity smsEntity) {
+        if (entries.size() >= dataAdapterConfiguration.getSmsOtpStoreInMemoryMaxEntries()) {
+            // Expired messages are removed by the scheduled cleanup, the request thread does not scan the store
+            logger.warn("In-memory OTP store is full, message was not stored, message ID: {}", smsEntity.getMessageId());
+            return false;
+        }
+        // Audit writes are queued while the map entry is locked, so they are queued in the order of changes
+        entries.compute(smsEntity.getMessageId(), (id, existing) -> {
+            if (writeBehindExecutor != null) {
+                final SmsAuthorizationEntity auditEntity = copyOf(smsEntity);
+                writeBehind(() -> smsAuthorizationRepository.save(auditEntity), id);
+            }
+            return copyOf(smsEntity);
+        });
+        if (smsEntity.getIdempotencyKey() != null) {
+            idempotencyKeys.put(smsEntity.getIdempotencyKey(), smsEntity.getMessageId());
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<SmsAuthorizationEntity> findByIdempotencyKey(String idempotencyKey) {
+        final String messageId = idempotencyKeys.get(idempotencyKey);
+        if (messageId == null) {
+            return Optional.empty();
+        }
+        final SmsAuthorizationEntity[] result = new SmsAuthorizationEntity[1];
+        entries.computeIfPresent(messageId, (id, smsEntity) -> {
+            result[0] = copyOf(smsEntity);
+            return smsEntity;
+        });
+        return Optional.ofNullable(result[0]);
+    }
+
+    @Override
+    public Optional<SmsAuthorizationVerification> verifyAuthorizationSms(String messageId, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries) {
+        final SmsAuthorizationVerification[] verification = new SmsAuthorizationVerification[1];
+        entries.computeIfPresent(messageId, (id, smsEntity) -> {
+            verification[0] = OtpStore.applyVerification(smsEntity, authorizationCode, allowMultipleVerifications, maxVerifyTries);
+            if (writeBehindExecutor != null) {
+                final SmsAuthorizationEntity state = copyOf(smsEntity);
+                writeBehind(() -> smsAuthorizationRepository.updateVerificationState(id, state.getVerifyRequestCount(),
+                        state.isVerified(), state.getTimestampVerified()), id);
+            }
+            return smsEntity;
+        });
+        return Optional.ofNullable(verification[0]);
+    }
+
+    @Override
+    public Optional<SmsAuthorizationResend> resendAuthorizationSms(String messageId, String userId, String operationId, int maxResends, int maxVerifyTries, Date sentBefore, Date timestampExpires) {
+        final SmsAuthorizationResend[] resend = new SmsAuthorizationResend[1];
+        entries.computeIfPresent(messageId, (id, smsEntity) -> {
+            resend[0] = OtpStore.applyResend(smsEntity, userId, operationId, maxResends, maxVerifyTries, sentBefore, timestampExpires);
+            if (resend[0] != null && resend[0].resent() && writeBehindExecutor != null) {
+                final SmsAuthorizationEntity state = copyOf(smsEntity);
+                writeBehind(() -> smsAuthorizationRepository.updateResendState(id, state.getResendCount(),
+                        state.getTimestampLastSent(), state.getTimestampExpires()), id);
+            }
+            return smsEntity;
+        });
+        return Optional.ofNullable(resend[0]);
+    }
+
+    @Override
+    public void updateDeliveryResult(String messageId, SmsDeliveryResult deliveryResult, Date timestampSent) {
+        entries.computeIfPresent(messageId, (id, smsEntity) -> {
+            smsEntity.setDeliveryResult(deliveryResult);
+            smsEntity.setTimestampSent(timestampSent);
+            if (writeBehindExecutor != null) {
+                writeBehind(() -> smsAuthorizationRepository.updateDeliveryResult(id, deliveryResult, timestampSent), id);
+            }
+            return smsEntity;
+        });
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+
+    /**
+     * Remove messages which expired before more than one expiration time.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.authorization.sms-otp.store.in-memory.cleanup-interval-in-millis}")
+    public void removeExpiredEntries() {
+        final long removeBefore = System.currentTimeMillis() - dataAdapterConfiguration.getSmsOtpExpirationTime() * 1000L;
+        final int sizeBefore = entries.size();
+        entries.values().removeIf(smsEntity -> smsEntity.getTimestampExpires().getTime() < removeBefore);
+        idempotencyKeys.values().removeIf(messageId -> !entries.containsKey(messageId));
+        final int removed = sizeBefore - entries.size();
+        if (removed > 0) {
+            logger.debug("Removed expired SMS OTP messages from in-memory store, count: {}", removed);
+        }
+    }
+
+    /**
+     * Shut down the write-behind executor, pending writes are given a short time to complete.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writeBehindExecutor == null) {
+            return;
+        }
+        writeBehindExecutor.shutdown();
+        try {
+            if (!writeBehindExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Pending SMS OTP audit writes were not completed, count: {}", writeBehindExecutor.getQueue().size());
+                writeBehindExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Submit a database write, the write is skipped in case the queue is full. The method is called from the map
+     * remapping functions, writes of a message are therefore queued in the same order as the changes are applied,
+     * submitting the write never blocks.
+     * @param write Database write.
+     * @param messageId Message ID.
+     */
+    private void writeBehind(Runnable write, String messageId) {
+        try {
+            writeBehindExecutor.execute(() -> {
+                try {
+                    write.run();
+                } catch (RuntimeException ex) {
+                    logger.warn("SMS OTP audit write failed, message ID: {}, error: {}", messageId, ex.getMessage());
+                    logger.debug(ex.getMessage(), ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            logger.warn("SMS OTP audit write queue is full, write skipped, message ID: {}", messageId);
+        }
+    }
+
+    /**
+     * Create a detached copy of an SMS authorization entity.
+     * @param smsEntity SMS authorization entity.
+     * @return Copy of the entity.
+     */
+    private static SmsAuthorizationEntity copyOf(SmsAuthorizationEntity smsEntity) {
+        final SmsAuthorizationEntity copy = new SmsAuthorizationEntity();
+        copy.setMessageId(smsEntity.getMessageId());
+        copy.setOperationId(smsEntity.getOperationId());
+        copy.setUserId(smsEntity.getUserId());
+        copy.setOrganizationId(smsEntity.getOrganizationId());
+        copy.setOperationName(smsEntity.getOperationName());
+        copy.setAuthorizationCode(smsEntity.getAuthorizationCode());
+        copy.setSalt(smsEntity.getSalt());
+        copy.setMessageText(smsEntity.getMessageText());
+        copy.setTemplateKey(smsEntity.getTemplateKey());
+        copy.setTemplateLocale(smsEntity.getTemplateLocale());
+        copy.setTemplateArgs(smsEntity.getTemplateArgs());
+        copy.setVerifyRequestCount(smsEntity.getVerifyRequestCount());
+        copy.setVerified(smsEntity.isVerified());
+        copy.setTimestampCreated(smsEntity.getTimestampCreated());
+        copy.setTimestampVerified(smsEntity.getTimestampVerified());
+        copy.setTimestampExpires(smsEntity.getTimestampExpires());
+        copy.setResendCount(smsEntity.getResendCount());
+        copy.setTimestampLastSent(smsEntity.getTimestampLastSent());
+        copy.setDeliveryResult(smsEntity.getDeliveryResult());
+        copy.setTimestampSent(smsEntity.getTimestampSent());
+        copy.setDeliveryStatus(smsEntity.getDeliveryStatus());
+        copy.setTimestampDelivered(smsEntity.getTimestampDelivered());
+        copy.setIdempotencyKey(smsEntity.getIdempotencyKey());
+        return copy;
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsAuthorizationRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationResend;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationVerification;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Store of SMS OTP authorization messages which persists messages in the database using JPA.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+@ConditionalOnProperty(name = "powerauth.authorization.sms-otp.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaOtpStore implements OtpStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaOtpStore.class);
+
+    private final SmsAuthorizationRepository smsAuthorizationRepository;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+
+    private volatile Boolean atomicVerificationEnabled;
+
+    /**
+     * Store constructor.
+     * @param smsAuthorizationRepository SMS authorization repository.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public JpaOtpStore(SmsAuthorizationRepository smsAuthorizationRepository, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.smsAuthorizationRepository = smsAuthorizationRepository;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+    }
+
+    @Override
+    public boolean createAuthorizationSms(SmsAuthorizationEntity smsEntity) {
+        // store entity in database
+        smsAuthorizationRepository.save(smsEntity);
+        return true;
+    }
+
+    @Override
+    public Optional<SmsAuthorizationEntity> findByIdempotencyKey(String idempotencyKey) {
+        return smsAuthorizationRepository.findFirstByIdempotencyKey(idempotencyKey);
+    }
+
+    @Override
+    @Transactional
+    public Optional<SmsAuthorizationVerification> verifyAuthorizationSms(String messageId, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries) {
+        if (isAtomicVerificationEnabled()) {
+            // Verify the authorization code using a single conditional update statement
+            return smsAuthorizationRepository.verifyAuthorizationCode(messageId, authorizationCode, allowMultipleVerifications, maxVerifyTries);
+        }
+        Optional<SmsAuthorizationEntity> smsEntityOptional = smsAuthorizationRepository.findById(messageId);
+        if (smsEntityOptional.isEmpty()) {
+            return Optional.empty();
+        }
+        SmsAuthorizationEntity smsEntity = smsEntityOptional.get();
+        SmsAuthorizationVerification verification = OtpStore.applyVerification(smsEntity, authorizationCode, allowMultipleVerifications, maxVerifyTries);
+        smsAuthorizationRepository.save(smsEntity);
+        return Optional.of(verification);
+    }
+
+    @Override
+    @Transactional
+    public Optional<SmsAuthorizationResend> resendAuthorizationSms(String messageId, String userId, String operationId, int maxResends, int maxVerifyTries, Date sentBefore, Date timestampExpires) {
+        // The message is locked, so that concurrent resends do not exceed the cool-down and resend limits
+        return smsAuthorizationRepository.findByIdForUpdate(messageId)
+                .map(smsEntity -> OtpStore.applyResend(smsEntity, userId, operationId, maxResends, maxVerifyTries, sentBefore, timestampExpires));
+    }
+
+    @Override
+    public void updateDeliveryResult(String messageId, SmsDeliveryResult deliveryResult, Date timestampSent) {
+        smsAuthorizationRepository.updateDeliveryResult(messageId, deliveryResult, timestampSent);
+    }
+
+    /**
+     * Whether atomic verification is enabled and supported by the database.
+     * @return Whether atomic verification should be used.
+     */
+    private boolean isAtomicVerificationEnabled() {
+        Boolean result = atomicVerificationEnabled;
+        if (result == null) {
+            result = dataAdapterConfiguration.isSmsOtpAtomicVerificationEnabled() && smsAuthorizationRepository.isAtomicVerificationSupported();
+            if (dataAdapterConfiguration.isSmsOtpAtomicVerificationEnabled() && !result) {
+                logger.warn("Atomic SMS OTP verification is not supported by the database, entity based verification is used");
+            }
+            atomicVerificationEnabled = result;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process membership index of live SMS OTP message IDs, used to reject verification of unknown message IDs
+ * without a database query.
+ * <p>
+ * The index is a time-bucketed Bloom filter. Each bucket covers one SMS OTP expiration period, message IDs are added
+ * to the current bucket and whole buckets age out once they are older than two expiration periods. A message ID
+ * is therefore known at least until its message expires plus one more expiration period. The filter may report
+ * false positives, which fall through to the OTP store, but never false negatives for message IDs created by this
+ * node. After startup the filter passes all message IDs through until messages created before the start age out.
+ * <p>
+ * The filter only knows message IDs created by this node, enable it for single node deployments and deployments
+ * with sticky sessions.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class MessageIdFilter {
+
+    private static final int BUCKET_COUNT = 3;
+
+    private final boolean enabled;
+    private final long bucketWidthMillis;
+    private final int bitCount;
+    private final int hashCount;
+    private final long warmUpUntil;
+    private final Bucket[] buckets = new Bucket[BUCKET_COUNT];
+
+    /**
+     * Filter constructor.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public MessageIdFilter(DataAdapterConfiguration dataAdapterConfiguration) {
+        this.enabled = dataAdapterConfiguration.isSmsOtpMessageIdFilterEnabled();
+        this.bucketWidthMillis = Math.max(1, dataAdapterConfiguration.getSmsOtpExpirationTime()) * 1000L;
+        final int expectedMessages = Math.max(1, dataAdapterConfiguration.getSmsOtpMessageIdFilterExpectedMessages());
+        final double falsePositiveProbability = dataAdapterConfiguration.getSmsOtpMessageIdFilterFalsePositiveProbability();
+        // Optimal Bloom filter size and number of hash functions for the expected number of messages per bucket
+        final double ln2 = Math.log(2);
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.ceil(-expectedMessages * Math.log(falsePositiveProbability) / (ln2 * ln2)));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedMessages * ln2));
+        this.warmUpUntil = System.currentTimeMillis() + (BUCKET_COUNT - 1) * bucketWidthMillis;
+        if (enabled) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] = new Bucket((bitCount + 63) / 64);
+            }
+        }
+    }
+
+    /**
+     * Add a message ID to the filter.
+     * @param messageId Message ID.
+     */
+    public void add(String messageId) {
+        add(messageId, System.currentTimeMillis());
+    }
+
+    /**
+     * Add a message ID to the filter at the given time.
+     * @param messageId Message ID.
+     * @param now Current timestamp in milliseconds.
+     */
+    void add(String messageId, long now) {
+        if (!enabled || messageId == null) {
+            return;
+        }
+        final Bucket bucket = currentBucket(now / bucketWidthMillis);
+        final long hash = hash(messageId);
+        final int hash1 = (int) hash;
+        final int hash2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            bucket.set(Math.floorMod(hash1 + i * hash2, bitCount));
+        }
+    }
+
+    /**
+     * Check whether a message ID may be known. Return value false means that the message ID is definitely unknown
+     * or the message expired long ago.
+     * @param messageId Message ID.
+     * @return Whether the message ID may be known.
+     */
+    public boolean mightContain(String messageId) {
+        return mightContain(messageId, System.currentTimeMillis());
+    }
+
+    /**
+     * Check whether a message ID may be known at the given time.
+     * @param messageId Message ID.
+     * @param now Current timestamp in milliseconds.
+     * @return Whether the message ID may be known.
+     */
+    boolean mightContain(String messageId, long now) {
+        if (!enabled) {
+            return true;
+        }
+        if (messageId == null) {
+            return false;
+        }
+        if (now < warmUpUntil) {
+            return true;
+        }
+        final long currentEpoch = now / bucketWidthMillis;
+        final long hash = hash(messageId);
+        final int hash1 = (int) hash;
+        final int hash2 = (int) (hash >>> 32);
+        for (Bucket bucket : buckets) {
+            final long epoch = bucket.epoch;
+            if (epoch > currentEpoch - BUCKET_COUNT && bucket.containsAll(hash1, hash2, hashCount, bitCount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the bucket for an epoch, the bucket is cleared in case it holds message IDs of an older epoch.
+     * @param epoch Epoch.
+     * @return Bucket for the epoch.
+     */
+    private Bucket currentBucket(long epoch) {
+        final Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) BUCKET_COUNT)];
+        if (bucket.epoch != epoch) {
+            synchronized (bucket) {
+                if (bucket.epoch < epoch) {
+                    bucket.clear();
+                    bucket.epoch = epoch;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Compute a 64-bit hash of a message ID using FNV-1a with a final avalanche step.
+     * @param messageId Message ID.
+     * @return Hash of the message ID.
+     */
+    private static long hash(String messageId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < messageId.length(); i++) {
+            hash ^= messageId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Bloom filter bucket holding message IDs created within a single epoch.
+     */
+    private static final class Bucket {
+
+        private final AtomicLongArray bits;
+        private volatile long epoch = Long.MIN_VALUE;
+
+        private Bucket(int words) {
+            this.bits = new AtomicLongArray(words);
+        }
+
+        private void set(int bit) {
+            final int word = bit >>> 6;
+            final long mask = 1L << bit;
+            long value = bits.get(word);
+            while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                value = bits.get(word);
+            }
+        }
+
+        private boolean containsAll(int hash1, int hash2, int hashCount, int bitCount) {
+            for (int i = 0; i < hashCount; i++) {
+                final int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void clear() {
+            for (int i = 0; i < bits.length(); i++) {
+                bits.set(i, 0L);
+            }
+        }
+
+    }
+
+}
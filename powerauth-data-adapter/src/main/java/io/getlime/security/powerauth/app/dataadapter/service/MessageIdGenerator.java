@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+/**
+ * Generator of SMS OTP authorization message identifiers.
+ * <p>
+ * The generator is selected using property powerauth.authorization.sms-otp.message-id.type, the default generator
+ * creates random identifiers.
+ *
+ * @author Wultra s.r.o.
+ */
+public interface MessageIdGenerator {
+
+    /**
+     * Generate a new message ID.
+     * @return Message ID.
+     */
+    String generateMessageId();
+
+}
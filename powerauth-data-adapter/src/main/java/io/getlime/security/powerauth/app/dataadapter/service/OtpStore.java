@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationResend;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationVerification;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsTemplateReference;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Store of SMS OTP authorization messages.
+ * <p>
+ * The store is selected using property powerauth.authorization.sms-otp.store.type, the default store persists
+ * messages in the database using JPA.
+ *
+ * @author Wultra s.r.o.
+ */
+public interface OtpStore {
+
+    /**
+     * Store a new SMS OTP authorization message.
+     * @param smsEntity SMS authorization entity.
+     * @return Whether the message was stored, false in case the store has no capacity left.
+     */
+    boolean createAuthorizationSms(SmsAuthorizationEntity smsEntity);
+
+    /**
+     * Find an SMS OTP authorization message by its idempotency key.
+     * @param idempotencyKey Idempotency key.
+     * @return SMS authorization entity, empty in case no message with the idempotency key exists.
+     */
+    Optional<SmsAuthorizationEntity> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Verify an authorization code and record the verification attempt. The verification request count
+     * is incremented and the message is marked as verified in case the verification succeeds.
+     *
+     * @param messageId Message ID.
+     * @param authorizationCode Authorization code.
+     * @param allowMultipleVerifications Whether authorization code can be verified multiple times.
+     * @param maxVerifyTries Maximum number of verification tries.
+     * @return Verification state, empty in case message does not exist.
+     */
+    Optional<SmsAuthorizationVerification> verifyAuthorizationSms(String messageId, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries);
+
+    /**
+     * Record a resend of an SMS OTP authorization message. The resend count is incremented and the expiration is
+     * reset in case the message may be resent.
+     *
+     * @param messageId Message ID.
+     * @param userId User ID of the message owner.
+     * @param operationId Operation ID of the message owner.
+     * @param maxResends Maximum number of resends.
+     * @param maxVerifyTries Maximum number of verification tries.
+     * @param sentBefore The message may be resent only in case it was last sent before this timestamp.
+     * @param timestampExpires New expiration timestamp.
+     * @return Resend state, empty in case message does not exist or it belongs to another user or operation.
+     */
+    Optional<SmsAuthorizationResend> resendAuthorizationSms(String messageId, String userId, String operationId, int maxResends, int maxVerifyTries, Date sentBefore, Date timestampExpires);
+
+    /**
+     * Record the result of delivery of an SMS OTP authorization message.
+     *
+     * @param messageId Message ID.
+     * @param deliveryResult Result of SMS delivery.
+     * @param timestampSent Timestamp when SMS delivery was completed.
+     */
+    void updateDeliveryResult(String messageId, SmsDeliveryResult deliveryResult, Date timestampSent);
+
+    /**
+     * Whether changes of messages are written within the database transaction of the caller.
+     *
+     * @return Whether the store takes part in database transactions.
+     */
+    default boolean isTransactional() {
+        return true;
+    }
+
+    /**
+     * Apply a verification attempt on an SMS authorization entity.
+     * @param smsEntity SMS authorization entity.
+     * @param authorizationCode Authorization code.
+     * @param allowMultipleVerifications Whether authorization code can be verified multiple times.
+     * @param maxVerifyTries Maximum number of verification tries.
+     * @return Verification state.
+     */
+    static SmsAuthorizationVerification applyVerification(SmsAuthorizationEntity smsEntity, String authorizationCode, boolean allowMultipleVerifications, int maxVerifyTries) {
+        // increase number of verification tries
+        smsEntity.setVerifyRequestCount(smsEntity.getVerifyRequestCount() + 1);
+
+        final String authorizationCodeExpected = smsEntity.getAuthorizationCode();
+        final boolean expired = smsEntity.isExpired();
+        boolean verifiedNow = false;
+        if (authorizationCodeExpected != null && !authorizationCodeExpected.isEmpty()
+                && !expired
+                && (allowMultipleVerifications || !smsEntity.isVerified())
+                && smsEntity.getVerifyRequestCount() <= maxVerifyTries
+                && authorizationCodeExpected.equals(authorizationCode)) {
+            // SMS OTP authorization succeeded, update entity verification status
+            smsEntity.setVerified(true);
+            smsEntity.setTimestampVerified(new Date());
+            verifiedNow = true;
+        }
+        return new SmsAuthorizationVerification(authorizationCodeExpected, smsEntity.getVerifyRequestCount(), smsEntity.isVerified(), verifiedNow, expired);
+    }
+
+    /**
+     * Apply a resend attempt on an SMS authorization entity.
+     * @param smsEntity SMS authorization entity.
+     * @param userId User ID of the message owner.
+     * @param operationId Operation ID of the message owner.
+     * @param maxResends Maximum number of resends.
+     * @param maxVerifyTries Maximum number of verification tries.
+     * @param sentBefore The message may be resent only in case it was last sent before this timestamp.
+     * @param timestampExpires New expiration timestamp.
+     * @return Resend state, null in case the message belongs to another user or operation.
+     */
+    static SmsAuthorizationResend applyResend(SmsAuthorizationEntity smsEntity, String userId, String operationId, int maxResends, int maxVerifyTries, Date sentBefore, Date timestampExpires) {
+        if (!smsEntity.getUserId().equals(userId) || !smsEntity.getOperationId().equals(operationId)) {
+            return null;
+        }
+        final String messageText = smsEntity.getMessageText();
+        final SmsTemplateReference templateReference = SmsTemplateReference.decode(smsEntity.getTemplateKey(), smsEntity.getTemplateLocale(), smsEntity.getTemplateArgs());
+        if (smsEntity.isVerified()) {
+            return new SmsAuthorizationResend(messageText, templateReference, false, true, false, false);
+        }
+        if (smsEntity.getVerifyRequestCount() >= maxVerifyTries) {
+            return new SmsAuthorizationResend(messageText, templateReference, false, false, true, false);
+        }
+        if (smsEntity.getResendCount() >= maxResends) {
+            return new SmsAuthorizationResend(messageText, templateReference, false, false, false, true);
+        }
+        final Date timestampLastSent = smsEntity.getTimestampLastSent() != null ? smsEntity.getTimestampLastSent() : smsEntity.getTimestampCreated();
+        if (timestampLastSent != null && timestampLastSent.after(sentBefore)) {
+            // Resend cool-down did not elapse yet
+            return new SmsAuthorizationResend(messageText, templateReference, false, false, false, false);
+        }
+        smsEntity.setResendCount(smsEntity.getResendCount() + 1);
+        smsEntity.setTimestampLastSent(new Date());
+        smsEntity.setTimestampExpires(timestampExpires);
+        return new SmsAuthorizationResend(messageText, templateReference, true, false, false, false);
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.exception.DataAdapterRemoteException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service for concurrent execution of independent verification steps, such as verification of an SMS authorization
+ * code and a password.
+ * <p>
+ * Each step is started on a new virtual thread in case the runtime supports them and both steps share a single
+ * deadline. The service always waits for both steps to complete, so that the response time does not reveal which step
+ * failed. The number of concurrently running steps is limited, a verification waits for free threads until the
+ * deadline and fails afterwards. In case any step throws an exception or the deadline is reached, the second step is
+ * cancelled. The first step is never interrupted once it is started, because it may change persistent state, such
+ * as the number of failed attempts of an SMS authorization. It is left to complete and its result is discarded.
+ * When the service is disabled, steps are executed sequentially by the calling thread.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class ParallelVerificationService {
+
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final ThreadFactory threadFactory;
+    private final Semaphore threadPermits;
+    private final Counter rejectedCounter;
+
+    /**
+     * Service constructor.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     * @param meterRegistry Meter registry.
+     */
+    @Autowired
+    public ParallelVerificationService(DataAdapterConfiguration dataAdapterConfiguration, MeterRegistry meterRegistry) {
+        this.enabled = dataAdapterConfiguration.isParallelVerificationEnabled();
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(dataAdapterConfiguration.getParallelVerificationTimeout());
+        this.threadFactory = enabled ? VirtualThreadFactory.create("verification-") : null;
+        this.threadPermits = new Semaphore(Math.max(2, dataAdapterConfiguration.getParallelVerificationMaxThreads()));
+        this.rejectedCounter = Counter.builder("powerauth.verification.parallel.rejected")
+                .description("Number of verifications rejected due to the thread limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get whether verification steps are executed concurrently.
+     * @return Whether verification steps are executed concurrently.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Execute two independent verification steps and wait for both results.
+     * @param first First verification step, the step is never interrupted once it is started.
+     * @param second Second verification step, the step is cancelled in case the first step fails.
+     * @param <A> Result type of the first step.
+     * @param <B> Result type of the second step.
+     * @return Results of both steps.
+     * @throws DataAdapterRemoteException Thrown when any step fails with a checked exception, the thread limit is
+     * reached or the steps do not complete before the deadline.
+     */
+    public <A, B> Results<A, B> invokeBoth(Callable<A> first, Callable<B> second) throws DataAdapterRemoteException {
+        if (!enabled) {
+            return new Results<>(call(first), call(second));
+        }
+        final long deadline = System.nanoTime() + timeoutNanos;
+        acquireThreads(deadline);
+        final Future<A> firstResult = fork(first);
+        final Future<B> secondResult = fork(second);
+        try {
+            final A a = join(firstResult, deadline);
+            final B b = join(secondResult, deadline);
+            return new Results<>(a, b);
+        } finally {
+            // Cancel the second step in case the first step failed or the deadline was reached, the first step
+            // is not interrupted and its result is discarded
+            secondResult.cancel(true);
+        }
+    }
+
+    /**
+     * Reserve threads for both verification steps, the threads are released when the steps complete.
+     * @param deadline Deadline in nanoseconds of {@link System#nanoTime()}.
+     * @throws DataAdapterRemoteException Thrown when the threads are not available before the deadline.
+     */
+    private void acquireThreads(long deadline) throws DataAdapterRemoteException {
+        try {
+            if (!threadPermits.tryAcquire(2, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                rejectedCounter.increment();
+                throw new DataAdapterRemoteException("Verification thread limit reached");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataAdapterRemoteException("Verification was interrupted", ex);
+        }
+    }
+
+    /**
+     * Start a verification step on a new thread, the reserved thread is released when the step completes.
+     * @param task Verification step.
+     * @param <T> Result type.
+     * @return Future result of the step.
+     */
+    private <T> Future<T> fork(Callable<T> task) {
+        final FutureTask<T> futureTask = new FutureTask<>(task);
+        threadFactory.newThread(() -> {
+            try {
+                futureTask.run();
+            } finally {
+                threadPermits.release();
+            }
+        }).start();
+        return futureTask;
+    }
+
+    /**
+     * Wait for the result of a verification step.
+     * @param result Future result of the step.
+     * @param deadline Deadline in nanoseconds of {@link System#nanoTime()}.
+     * @param <T> Result type.
+     * @return Result of the step.
+     * @throws DataAdapterRemoteException Thrown when the step fails with a checked exception or it does not complete
+     * before the deadline.
+     */
+    private <T> T join(Future<T> result, long deadline) throws DataAdapterRemoteException {
+        try {
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new DataAdapterRemoteException("Verification timed out", ex);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataAdapterRemoteException("Verification was interrupted", ex);
+        }
+    }
+
+    /**
+     * Execute a verification step by the calling thread.
+     * @param task Verification step.
+     * @param <T> Result type.
+     * @return Result of the step.
+     * @throws DataAdapterRemoteException Thrown when the step fails with a checked exception.
+     */
+    private static <T> T call(Callable<T> task) throws DataAdapterRemoteException {
+        try {
+            return task.call();
+        } catch (Exception ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    /**
+     * Convert a failure of a verification step to an exception thrown to the caller, unchecked exceptions and errors
+     * are rethrown as they are.
+     * @param cause Failure of the step.
+     * @return Remote exception to throw.
+     */
+    private static DataAdapterRemoteException unwrap(Throwable cause) {
+        if (cause instanceof DataAdapterRemoteException remoteException) {
+            return remoteException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new DataAdapterRemoteException("Verification failed", cause);
+    }
+
+    /**
+     * Results of two verification steps.
+     * @param first Result of the first step.
+     * @param second Result of the second step.
+     * @param <A> Result type of the first step.
+     * @param <B> Result type of the second step.
+     */
+    public record Results<A, B>(A first, B second) {
+    }
+
+}
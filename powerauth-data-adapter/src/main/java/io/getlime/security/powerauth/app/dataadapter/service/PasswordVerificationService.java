@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.exception.DataAdapterRemoteException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for verification of bcrypt password hashes.
+ * <p>
+ * Hashes are verified by a dedicated pool of threads sized to the number of CPU cores with a bounded queue, so that
+ * a peak of login requests is served at the rate the CPU allows while request threads serving other calls are not
+ * starved. Verifications which do not fit into the queue or do not complete in time fail as a remote error.
+ * <p>
+ * Verification of a missing user is performed against a dummy hash of the same cost factor, so that the response
+ * time does not reveal whether the user exists.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class PasswordVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerificationService.class);
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final String dummyHash;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Service constructor.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     * @param meterRegistry Meter registry.
+     */
+    @Autowired
+    public PasswordVerificationService(DataAdapterConfiguration dataAdapterConfiguration, MeterRegistry meterRegistry) {
+        this.passwordEncoder = new BCryptPasswordEncoder(dataAdapterConfiguration.getUserCredentialsBcryptStrength());
+        this.timeoutMillis = dataAdapterConfiguration.getUserCredentialsHashTimeout();
+        this.waitTimer = Timer.builder("powerauth.user.password.hash.wait")
+                .description("Time password verifications spend in the hash queue")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("powerauth.user.password.hash.time")
+                .description("Time spent verifying password hashes")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("powerauth.user.password.hash.rejected")
+                .description("Number of password verifications which did not fit into the hash queue")
+                .register(meterRegistry);
+        if (!dataAdapterConfiguration.isUserCredentialsEnabled()) {
+            this.executor = null;
+            this.dummyHash = null;
+            return;
+        }
+        final int configuredThreads = dataAdapterConfiguration.getUserCredentialsHashThreads();
+        final int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, dataAdapterConfiguration.getUserCredentialsHashQueueCapacity())), runnable -> {
+                    final Thread thread = new Thread(runnable, "password-hash-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("powerauth.user.password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("Number of password verifications waiting in the hash queue")
+                .register(meterRegistry);
+        // Compute the dummy hash and estimate the capacity of the hash pool for the configured cost factor
+        final long started = System.nanoTime();
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        final double hashMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        logger.info("Password hash cost factor: {}, hash time: {} ms, hash threads: {}, estimated capacity: {} logins per second",
+                dataAdapterConfiguration.getUserCredentialsBcryptStrength(), (long) hashMillis, threads, (long) (threads * 1000 / hashMillis));
+    }
+
+    /**
+     * Verify a password against a bcrypt hash.
+     * @param password Password.
+     * @param passwordHash Bcrypt hash of the password, null in case the user does not exist.
+     * @return Whether the password matches the hash, false in case the hash is null.
+     * @throws DataAdapterRemoteException Thrown when password verification is not enabled, the hash queue is full or
+     * verification does not complete in time.
+     */
+    public boolean verify(String password, String passwordHash) throws DataAdapterRemoteException {
+        if (executor == null) {
+            throw new DataAdapterRemoteException("Password verification is not enabled");
+        }
+        final String hash = passwordHash != null ? passwordHash : dummyHash;
+        final long submitted = System.nanoTime();
+        final Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                final long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return password != null && passwordEncoder.matches(password, hash);
+                } finally {
+                    hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw new DataAdapterRemoteException("Password verification capacity exceeded", ex);
+        }
+        try {
+            final Boolean matches = result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return passwordHash != null && Boolean.TRUE.equals(matches);
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            throw new DataAdapterRemoteException("Password verification timed out", ex);
+        } catch (ExecutionException ex) {
+            throw new DataAdapterRemoteException("Password verification failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new DataAdapterRemoteException("Password verification was interrupted", ex);
+        }
+    }
+
+    /**
+     * Shut down the hash thread pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Generator of random message identifiers in UUID version 4 format.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+@ConditionalOnProperty(name = "powerauth.authorization.sms-otp.message-id.type", havingValue = "random", matchIfMissing = true)
+public class RandomMessageIdGenerator implements MessageIdGenerator {
+
+    @Override
+    public String generateMessageId() {
+        return UUID.randomUUID().toString();
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsAuthorizationRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationPurgeBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Service which periodically purges expired and verified SMS OTP authorization messages.
+ * <p>
+ * Messages are purged in bounded batches with a pause between batches, so that the cleanup does not compete
+ * with regular traffic. Purged messages are either deleted or moved to the archive table.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsAuthorizationCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsAuthorizationCleanupService.class);
+
+    private final SmsAuthorizationRepository smsAuthorizationRepository;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+
+    /**
+     * Service constructor.
+     * @param smsAuthorizationRepository SMS authorization repository.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public SmsAuthorizationCleanupService(SmsAuthorizationRepository smsAuthorizationRepository, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.smsAuthorizationRepository = smsAuthorizationRepository;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+    }
+
+    /**
+     * Purge expired and verified SMS OTP authorization messages.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.authorization.sms-otp.cleanup.interval-in-millis}", initialDelayString = "${powerauth.authorization.sms-otp.cleanup.interval-in-millis}")
+    public void purgeAuthorizationSms() {
+        if (!dataAdapterConfiguration.isSmsOtpCleanupEnabled()) {
+            return;
+        }
+        final Instant now = Instant.now();
+        // Messages are kept for the retention time after they expire or get verified
+        final Date purgeBefore = Date.from(now.minusSeconds(dataAdapterConfiguration.getSmsOtpCleanupRetentionTime()));
+        final int batchSize = dataAdapterConfiguration.getSmsOtpCleanupBatchSize();
+        final boolean archive = dataAdapterConfiguration.isSmsOtpCleanupArchiveEnabled();
+
+        Date lastTimestampCreated = null;
+        String lastMessageId = null;
+        int purgedCount = 0;
+        try {
+            for (int i = 0; i < dataAdapterConfiguration.getSmsOtpCleanupMaxBatchesPerRun(); i++) {
+                final SmsAuthorizationPurgeBatch batch = smsAuthorizationRepository.purgeAuthorizationSms(purgeBefore, purgeBefore,
+                        lastTimestampCreated, lastMessageId, batchSize, archive);
+                purgedCount += batch.count();
+                if (batch.count() < batchSize) {
+                    break;
+                }
+                lastTimestampCreated = batch.lastTimestampCreated();
+                lastMessageId = batch.lastMessageId();
+                pause();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            logger.warn("Purging of SMS authorization messages failed, error: {}", ex.getMessage());
+            logger.debug("Exception detail: ", ex);
+        }
+        if (purgedCount > 0) {
+            logger.info("Purged SMS authorization messages, count: {}, archived: {}", purgedCount, archive);
+        }
+    }
+
+    /**
+     * Pause between batches to throttle the cleanup.
+     * @throws InterruptedException In case the thread is interrupted.
+     */
+    private void pause() throws InterruptedException {
+        final long pause = dataAdapterConfiguration.getSmsOtpCleanupBatchPause();
+        if (pause > 0) {
+            Thread.sleep(pause);
+        }
+    }
+
+}
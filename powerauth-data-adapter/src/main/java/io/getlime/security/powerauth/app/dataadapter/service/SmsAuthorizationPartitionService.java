@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsAuthorizationPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Service which maintains daily partitions of table da_sms_authorization on PostgreSQL.
+ * <p>
+ * Future partitions are created in advance and partitions older than the retention period are detached
+ * and dropped. Dropping a whole partition replaces row by row deletes of expired messages. Message IDs do not
+ * contain the partition key, so that lookups by message ID are not pruned and each partition is searched using its
+ * primary key index. The number of searched partitions is bounded by the retention period and the number of
+ * pre-created partitions. Uniqueness of message IDs across partitions is enforced by a trigger created by the
+ * partitioning changeset.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsAuthorizationPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsAuthorizationPartitionService.class);
+
+    private final SmsAuthorizationPartitionRepository partitionRepository;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+
+    /**
+     * Service constructor.
+     * @param partitionRepository Partition repository.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public SmsAuthorizationPartitionService(SmsAuthorizationPartitionRepository partitionRepository, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.partitionRepository = partitionRepository;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+    }
+
+    /**
+     * Maintain partitions once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create future partitions and remove partitions older than the retention period.
+     */
+    @Scheduled(cron = "${powerauth.authorization.sms-otp.partitioning.maintenance-cron}")
+    public void maintainPartitions() {
+        if (!dataAdapterConfiguration.isSmsOtpPartitioningEnabled()) {
+            return;
+        }
+        try {
+            if (!partitionRepository.isPartitioned()) {
+                logger.warn("Partitioning of table da_sms_authorization is enabled, however the table is not partitioned");
+                return;
+            }
+            final LocalDate today = LocalDate.now();
+            for (int i = 0; i <= dataAdapterConfiguration.getSmsOtpPartitioningPrecreateDays(); i++) {
+                partitionRepository.createPartition(today.plusDays(i));
+            }
+            // Partition for given day contains messages created on that day, messages expire shortly after creation
+            final LocalDate oldestRetainedDay = today.minusDays(dataAdapterConfiguration.getSmsOtpPartitioningRetentionDays());
+            final boolean drop = dataAdapterConfiguration.isSmsOtpPartitioningDropEnabled();
+            for (Map.Entry<LocalDate, String> partition : partitionRepository.findPartitions().entrySet()) {
+                if (!partition.getKey().isBefore(oldestRetainedDay)) {
+                    break;
+                }
+                partitionRepository.removePartition(partition.getKey(), drop);
+                logger.info("Removed partition of table da_sms_authorization: {}, dropped: {}", partition.getValue(), drop);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Maintenance of partitions of table da_sms_authorization failed, error: {}", ex.getMessage());
+            logger.debug("Exception detail: ", ex);
+        }
+    }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.exception.DataAdapterRemoteException;
+import io.getlime.security.powerauth.app.dataadapter.exception.InvalidOperationContextException;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.CreateSmsAuthorizationResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service which makes creation of SMS OTP authorization messages idempotent for requests with a client supplied
+ * request key.
+ * <p>
+ * Requests are identified by an idempotency key derived from the operation ID, the authentication method and the
+ * request key. The first request with a given idempotency key creates the message, duplicate requests received
+ * within the configured time window wait for the first request to complete and receive its response. The
+ * idempotency key is stored with the message and protected by a unique index, so that duplicates which reach
+ * other nodes or arrive after the cached response expired receive the stored message ID instead of a new message.
+ * <p>
+ * Only successful responses are cached, failed requests such as requests rejected by the rate limiter may be retried.
+ * Duplicates of a request which stored a message are answered based on the recorded delivery result:
+ * <ul>
+ *     <li>delivery succeeded - the stored message ID is returned</li>
+ *     <li>no delivery result - the delivery is still in progress, e.g. using the dispatch queue or the outbox, the stored
+ *     message ID is returned as accepted for delivery in the same way as the response of the original request</li>
+ *     <li>delivery failed - the stored message is delivered again under the same message ID, the retry counts
+ *     towards the maximum number of resends</li>
+ * </ul>
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsIdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsIdempotencyService.class);
+
+    private final ConcurrentHashMap<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    private final OtpStore otpStore;
+    private final DataAdapterConfiguration dataAdapterConfiguration;
+
+    /**
+     * Service constructor.
+     * @param otpStore OTP store.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public SmsIdempotencyService(OtpStore otpStore, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.otpStore = otpStore;
+        this.dataAdapterConfiguration = dataAdapterConfiguration;
+    }
+
+    /**
+     * Whether idempotent creation of SMS OTP messages is enabled.
+     * @return Whether idempotency is enabled.
+     */
+    public boolean isEnabled() {
+        return dataAdapterConfiguration.isSmsOtpIdempotencyEnabled();
+    }
+
+    /**
+     * Derive the idempotency key stored with SMS OTP messages.
+     * @param operationId Operation ID.
+     * @param authMethod Authentication method.
+     * @param requestKey Client supplied request key.
+     * @return Idempotency key.
+     */
+    public String deriveIdempotencyKey(String operationId, AuthMethod authMethod, String requestKey) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final String value = operationId + '\n' + authMethod + '\n' + requestKey;
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", ex);
+        }
+    }
+
+    /**
+     * Create an SMS OTP message unless a message with the same idempotency key was already created.
+     * @param idempotencyKey Idempotency key.
+     * @param action Action which creates and sends the SMS OTP message.
+     * @param retryAction Action which sends a stored SMS OTP message again in case its delivery failed.
+     * @return Response of the first request with the idempotency key, or response of the retried delivery.
+     * @throws InvalidOperationContextException Thrown when operation context is invalid.
+     * @throws DataAdapterRemoteException Thrown when the response of a concurrent request is not available in time.
+     */
+    public CreateSmsAuthorizationResponse execute(String idempotencyKey, CreateAction action, RetryAction retryAction) throws InvalidOperationContextException, DataAdapterRemoteException {
+        final long now = System.currentTimeMillis();
+        final CachedResponse entry = new CachedResponse(new CompletableFuture<>(), now + dataAdapterConfiguration.getSmsOtpIdempotencyTtl() * 1000L);
+        final CachedResponse existing = register(idempotencyKey, entry, now);
+        if (existing != null) {
+            logger.info("Duplicate request for SMS OTP message creation received, returning original response");
+            return await(existing);
+        }
+        try {
+            final Optional<SmsAuthorizationEntity> smsEntity = otpStore.findByIdempotencyKey(idempotencyKey);
+            final CreateSmsAuthorizationResponse result = smsEntity.isPresent()
+                    ? storedResponse(smsEntity.get(), retryAction)
+                    : create(idempotencyKey, action, retryAction);
+            if (!SmsDeliveryResult.SUCCEEDED.equals(result.getSmsDeliveryResult())) {
+                // Failed responses are not cached, concurrent duplicates receive the response, later requests are retried
+                responses.remove(idempotencyKey, entry);
+            }
+            entry.response().complete(result);
+            return result;
+        } catch (InvalidOperationContextException | RuntimeException ex) {
+            // Failed requests are not cached, the request may be retried
+            responses.remove(idempotencyKey, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Remove expired cached responses.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.authorization.sms-otp.idempotency.cleanup-interval-in-millis}")
+    public void removeExpiredResponses() {
+        final long now = System.currentTimeMillis();
+        responses.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * Register a cached response for an idempotency key.
+     * @param idempotencyKey Idempotency key.
+     * @param entry New cached response.
+     * @param now Current timestamp.
+     * @return Existing cached response, null in case the new cached response was registered or the cache is full.
+     */
+    private CachedResponse register(String idempotencyKey, CachedResponse entry, long now) {
+        if (responses.size() >= dataAdapterConfiguration.getSmsOtpIdempotencyMaxEntries()) {
+            removeExpiredResponses();
+        }
+        while (true) {
+            final CachedResponse existing = responses.get(idempotencyKey);
+            if (existing == null) {
+                if (responses.size() >= dataAdapterConfiguration.getSmsOtpIdempotencyMaxEntries()) {
+                    // Duplicates are still detected using the stored idempotency key
+                    return null;
+                }
+                if (responses.putIfAbsent(idempotencyKey, entry) == null) {
+                    return null;
+                }
+            } else if (existing.isExpired(now)) {
+                if (responses.replace(idempotencyKey, existing, entry)) {
+                    return null;
+                }
+            } else {
+                return existing;
+            }
+        }
+    }
+
+    /**
+     * Create an SMS OTP message, a concurrent request on another node is detected by the unique index.
+     * @param idempotencyKey Idempotency key.
+     * @param action Action which creates and sends the SMS OTP message.
+     * @param retryAction Action which sends a stored SMS OTP message again in case its delivery failed.
+     * @return Response of the request which created the message.
+     * @throws InvalidOperationContextException Thrown when operation context is invalid.
+     */
+    private CreateSmsAuthorizationResponse create(String idempotencyKey, CreateAction action, RetryAction retryAction) throws InvalidOperationContextException {
+        try {
+            return action.create();
+        } catch (DataIntegrityViolationException ex) {
+            final Optional<SmsAuthorizationEntity> smsEntity = otpStore.findByIdempotencyKey(idempotencyKey);
+            if (smsEntity.isEmpty()) {
+                throw ex;
+            }
+            logger.info("SMS OTP message with the same idempotency key was created concurrently, returning stored message ID");
+            return storedResponse(smsEntity.get(), retryAction);
+        }
+    }
+
+    /**
+     * Build a response for a stored message, a message with failed delivery is sent again.
+     * @param smsEntity Stored SMS authorization entity.
+     * @param retryAction Action which sends a stored SMS OTP message again.
+     * @return Response with stored message ID.
+     */
+    private CreateSmsAuthorizationResponse storedResponse(SmsAuthorizationEntity smsEntity, RetryAction retryAction) {
+        if (SmsDeliveryResult.FAILED.equals(smsEntity.getDeliveryResult())) {
+            logger.info("Delivery of SMS OTP message with the same idempotency key failed, sending the message again, message ID: {}", smsEntity.getMessageId());
+            return retryAction.retry(smsEntity.getMessageId());
+        }
+        final CreateSmsAuthorizationResponse response = new CreateSmsAuthorizationResponse();
+        response.setMessageId(smsEntity.getMessageId());
+        // Missing delivery result means that the message was accepted for delivery which is still in progress
+        response.setSmsDeliveryResult(SmsDeliveryResult.SUCCEEDED);
+        return response;
+    }
+
+    /**
+     * Wait for the response of a concurrent request with the same idempotency key.
+     * @param entry Cached response.
+     * @return Response of the concurrent request.
+     * @throws InvalidOperationContextException Thrown when the concurrent request failed due to invalid operation context.
+     * @throws DataAdapterRemoteException Thrown when the response is not available in time.
+     */
+    private CreateSmsAuthorizationResponse await(CachedResponse entry) throws InvalidOperationContextException, DataAdapterRemoteException {
+        try {
+            return entry.response().get(dataAdapterConfiguration.getSmsOtpIdempotencyWaitTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataAdapterRemoteException("Interrupted while waiting for SMS OTP message creation", ex);
+        } catch (TimeoutException ex) {
+            throw new DataAdapterRemoteException("SMS OTP message creation is still in progress", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof InvalidOperationContextException invalidOperationContext) {
+                throw invalidOperationContext;
+            }
+            throw new DataAdapterRemoteException("SMS OTP message creation failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Action which creates and sends an SMS OTP message.
+     */
+    @FunctionalInterface
+    public interface CreateAction {
+
+        /**
+         * Create and send an SMS OTP message.
+         * @return Response with message ID.
+         * @throws InvalidOperationContextException Thrown when operation context is invalid.
+         */
+        CreateSmsAuthorizationResponse create() throws InvalidOperationContextException;
+
+    }
+
+    /**
+     * Action which sends a stored SMS OTP message again.
+     */
+    @FunctionalInterface
+    public interface RetryAction {
+
+        /**
+         * Send a stored SMS OTP message again.
+         * @param messageId Message ID of the stored message.
+         * @return Response with message ID.
+         */
+        CreateSmsAuthorizationResponse retry(String messageId);
+
+    }
+
+    /**
+     * Cached response of a request.
+     * @param response Future response.
+     * @param expiresAt Timestamp when the cached response expires.
+     */
+    private record CachedResponse(CompletableFuture<CreateSmsAuthorizationResponse> response, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+}
@@ -16,11 +16,14 @@
 package io.getlime.security.powerauth.app.dataadapter.service;
 
 import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
-import io.getlime.security.powerauth.app.dataadapter.repository.SmsAuthorizationRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationResend;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationVerification;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsTemplateReference;
 import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.AuthorizationCode;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsAuthorizationResult;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
 import io.getlime.security.powerauth.lib.dataadapter.model.response.VerifySmsAuthorizationResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -37,17 +40,23 @@ import java.util.Optional;
 @Service
 public class SmsPersistenceService {
 
-    private final SmsAuthorizationRepository smsAuthorizationRepository;
+    private final OtpStore otpStore;
+    private final MessageIdFilter messageIdFilter;
+    private final SmsTemplateService smsTemplateService;
     private final DataAdapterConfiguration dataAdapterConfiguration;
 
     /**
      * SMS persistence service constructor.
-     * @param smsAuthorizationRepository SMS authorization repository.
+     * @param otpStore OTP store.
+     * @param messageIdFilter Message ID filter.
+     * @param smsTemplateService SMS template service.
      * @param dataAdapterConfiguration Data adapter configuration.
      */
     @Autowired
-    public SmsPersistenceService(SmsAuthorizationRepository smsAuthorizationRepository, DataAdapterConfiguration dataAdapterConfiguration) {
-        this.smsAuthorizationRepository = smsAuthorizationRepository;
+    public SmsPersistenceService(OtpStore otpStore, MessageIdFilter messageIdFilter, SmsTemplateService smsTemplateService, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.otpStore = otpStore;
+        this.messageIdFilter = messageIdFilter;
+        this.smsTemplateService = smsTemplateService;
         this.dataAdapterConfiguration = dataAdapterConfiguration;
     }
 
@@ -58,11 +67,14 @@ public class SmsPersistenceService {
      * @param messageId Message ID
      * @param operationContext Operation context.
      * @param authorizationCode Authorization code for SMS message.
+     * @param templateReference Reference to SMS text template used for rendering of the message text.
      * @param messageText Localized SMS message text.
-     * @return Created entity with SMS message details.
+     * @param idempotencyKey Idempotency key of the request which created the message, null in case it is not available.
+     * @return Created entity with SMS message details, empty in case the OTP store has no capacity left.
      */
-    public SmsAuthorizationEntity createAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext,
-                                                         AuthorizationCode authorizationCode, String messageText) {
+    public Optional<SmsAuthorizationEntity> createAuthorizationSms(String userId, String organizationId, String messageId, OperationContext operationContext,
+                                                         AuthorizationCode authorizationCode, SmsTemplateReference templateReference, String messageText,
+                                                         String idempotencyKey) {
 
         SmsAuthorizationEntity smsEntity = new SmsAuthorizationEntity();
         smsEntity.setMessageId(messageId);
@@ -72,18 +84,31 @@ public class SmsPersistenceService {
         smsEntity.setOperationName(operationContext.getName());
         smsEntity.setAuthorizationCode(authorizationCode.code());
         smsEntity.setSalt(authorizationCode.salt());
-        smsEntity.setMessageText(messageText);
+        if (dataAdapterConfiguration.isSmsOtpTemplateReferenceStorageEnabled() && templateReference != null) {
+            // Store template reference only, the message text is rendered again when it is needed
+            smsEntity.setTemplateKey(templateReference.templateKey());
+            smsEntity.setTemplateLocale(templateReference.locale());
+            smsEntity.setTemplateArgs(templateReference.encodeArgs());
+        } else {
+            smsEntity.setMessageText(messageText);
+        }
         smsEntity.setVerifyRequestCount(0);
         smsEntity.setTimestampCreated(new Date());
         ZonedDateTime timestampExpires = ZonedDateTime.now().plusSeconds(dataAdapterConfiguration.getSmsOtpExpirationTime());
         smsEntity.setTimestampExpires(Date.from(timestampExpires.toInstant()));
         smsEntity.setTimestampVerified(null);
         smsEntity.setVerified(false);
+        smsEntity.setResendCount(0);
+        smsEntity.setTimestampLastSent(smsEntity.getTimestampCreated());
+        smsEntity.setIdempotencyKey(idempotencyKey);
 
-        // store entity in database
-        smsAuthorizationRepository.save(smsEntity);
+        // store entity in OTP store
+        if (!otpStore.createAuthorizationSms(smsEntity)) {
+            return Optional.empty();
+        }
+        messageIdFilter.add(messageId);
 
-        return smsEntity;
+        return Optional.of(smsEntity);
     }
 
     /**
@@ -94,56 +119,129 @@ public class SmsPersistenceService {
      * @return Result of SMS verification.
      */
     public VerifySmsAuthorizationResponse verifyAuthorizationSms(String messageId, String authorizationCode, boolean allowMultipleVerifications) {
-        Optional<SmsAuthorizationEntity> smsEntityOptional = smsAuthorizationRepository.findById(messageId);
+        final int maxVerifyTries = dataAdapterConfiguration.getSmsOtpMaxVerifyTriesPerMessage();
+        final Optional<SmsAuthorizationVerification> verificationOptional;
+        if (messageIdFilter.mightContain(messageId)) {
+            verificationOptional = otpStore.verifyAuthorizationSms(messageId, authorizationCode, allowMultipleVerifications, maxVerifyTries);
+        } else {
+            // Unknown message IDs are rejected without querying the OTP store
+            verificationOptional = Optional.empty();
+        }
+
         VerifySmsAuthorizationResponse response = new VerifySmsAuthorizationResponse();
-        if (smsEntityOptional.isEmpty()) {
+        if (verificationOptional.isEmpty()) {
             response.setSmsAuthorizationResult(SmsAuthorizationResult.FAILED);
             response.setErrorMessage("smsAuthorization.invalidMessage");
             return response;
         }
-        SmsAuthorizationEntity smsEntity = smsEntityOptional.get();
-        // increase number of verification tries and save entity
-        smsEntity.setVerifyRequestCount(smsEntity.getVerifyRequestCount() + 1);
-        smsAuthorizationRepository.save(smsEntity);
+        SmsAuthorizationVerification verification = verificationOptional.get();
+        if (verification.verifiedNow()) {
+            response.setSmsAuthorizationResult(SmsAuthorizationResult.SUCCEEDED);
+            return response;
+        }
 
-        final Integer remainingAttempts = dataAdapterConfiguration.getSmsOtpMaxVerifyTriesPerMessage() - smsEntity.getVerifyRequestCount();
+        final Integer remainingAttempts = maxVerifyTries - verification.verifyRequestCount();
 
-        if (smsEntity.getAuthorizationCode() == null || smsEntity.getAuthorizationCode().isEmpty()) {
+        if (verification.authorizationCode() == null || verification.authorizationCode().isEmpty()) {
             response.setSmsAuthorizationResult(SmsAuthorizationResult.FAILED);
             response.setRemainingAttempts(remainingAttempts);
             response.setErrorMessage("smsAuthorization.invalidCode");
             return response;
         }
-        if (smsEntity.isExpired()) {
+        if (verification.expired()) {
             response.setSmsAuthorizationResult(SmsAuthorizationResult.FAILED);
             response.setErrorMessage("smsAuthorization.expired");
             return response;
         }
-        if (!allowMultipleVerifications && smsEntity.isVerified()) {
+        if (!allowMultipleVerifications && verification.verified()) {
             response.setSmsAuthorizationResult(SmsAuthorizationResult.FAILED);
             response.setErrorMessage("smsAuthorization.alreadyVerified");
             return response;
         }
-        if (smsEntity.getVerifyRequestCount() > dataAdapterConfiguration.getSmsOtpMaxVerifyTriesPerMessage()) {
+        if (verification.verifyRequestCount() > maxVerifyTries) {
             response.setSmsAuthorizationResult(SmsAuthorizationResult.FAILED);
             response.setErrorMessage("smsAuthorization.maxAttemptsExceeded");
             return response;
         }
-        String authorizationCodeExpected = smsEntity.getAuthorizationCode();
-        if (!authorizationCode.equals(authorizationCodeExpected)) {
-            response.setSmsAuthorizationResult(SmsAuthorizationResult.FAILED);
-            response.setRemainingAttempts(remainingAttempts);
-            response.setErrorMessage("smsAuthorization.failed");
-            return response;
-        }
+        // Authorization code does not match
+        response.setSmsAuthorizationResult(SmsAuthorizationResult.FAILED);
+        response.setRemainingAttempts(remainingAttempts);
+        response.setErrorMessage("smsAuthorization.failed");
+        return response;
+    }
 
-        // SMS OTP authorization succeeded when this line is reached, update entity verification status
-        smsEntity.setVerified(true);
-        smsEntity.setTimestampVerified(new Date());
-        smsAuthorizationRepository.save(smsEntity);
+    /**
+     * Record the result of delivery of an authorization SMS message.
+     * @param messageId Message ID.
+     * @param deliveryResult Result of SMS delivery.
+     */
+    public void recordDeliveryResult(String messageId, SmsDeliveryResult deliveryResult) {
+        otpStore.updateDeliveryResult(messageId, deliveryResult, new Date());
+    }
 
-        response.setSmsAuthorizationResult(SmsAuthorizationResult.SUCCEEDED);
-        return response;
+    /**
+     * Whether authorization SMS messages are stored within the database transaction of the caller.
+     * @return Whether the OTP store takes part in database transactions.
+     */
+    public boolean isTransactional() {
+        return otpStore.isTransactional();
+    }
+
+    /**
+     * Record a resend of an authorization SMS message. The message may be resent by its owner in case it was not
+     * verified yet, the resend cool-down elapsed and the maximum number of resends was not reached. The expiration
+     * of a resent message is reset.
+     * @param userId User ID.
+     * @param messageId Message ID.
+     * @param operationContext Operation context.
+     * @return Resend state, empty in case message does not exist or it belongs to another user or operation.
+     */
+    public Optional<SmsAuthorizationResend> resendAuthorizationSms(String userId, String messageId, OperationContext operationContext) {
+        return resendAuthorizationSms(userId, messageId, operationContext, dataAdapterConfiguration.getSmsOtpResendCooldown() * 1000L);
+    }
+
+    /**
+     * Record a retry of an authorization SMS message whose delivery failed. The resend cool-down does not apply,
+     * the retry counts towards the maximum number of resends and the expiration of the message is reset.
+     * @param userId User ID.
+     * @param messageId Message ID.
+     * @param operationContext Operation context.
+     * @return Resend state, empty in case message does not exist or it belongs to another user or operation.
+     */
+    public Optional<SmsAuthorizationResend> retryAuthorizationSms(String userId, String messageId, OperationContext operationContext) {
+        return resendAuthorizationSms(userId, messageId, operationContext, 0L);
+    }
+
+    /**
+     * Record a resend of an authorization SMS message.
+     * @param userId User ID.
+     * @param messageId Message ID.
+     * @param operationContext Operation context.
+     * @param cooldownMillis Resend cool-down in milliseconds.
+     * @return Resend state, empty in case message does not exist or it belongs to another user or operation.
+     */
+    private Optional<SmsAuthorizationResend> resendAuthorizationSms(String userId, String messageId, OperationContext operationContext, long cooldownMillis) {
+        if (!messageIdFilter.mightContain(messageId)) {
+            return Optional.empty();
+        }
+        final Date now = new Date();
+        final Date sentBefore = new Date(now.getTime() - cooldownMillis);
+        final Date timestampExpires = new Date(now.getTime() + dataAdapterConfiguration.getSmsOtpExpirationTime() * 1000L);
+        final Optional<SmsAuthorizationResend> resend = otpStore.resendAuthorizationSms(messageId, userId, operationContext.getId(),
+                dataAdapterConfiguration.getSmsOtpResendMaxCount(), dataAdapterConfiguration.getSmsOtpMaxVerifyTriesPerMessage(), sentBefore, timestampExpires);
+        if (resend.isEmpty() || !resend.get().resent()) {
+            return resend;
+        }
+        // Expiration of the message was extended
+        messageIdFilter.add(messageId);
+        final SmsAuthorizationResend result = resend.get();
+        if (result.messageText() == null && result.templateReference() != null) {
+            // Render message text of a message stored as a template reference
+            final SmsTemplateReference templateReference = result.templateReference();
+            final String messageText = smsTemplateService.render(templateReference.templateKey(), templateReference.locale(), templateReference.args().toArray(new String[0]));
+            return Optional.of(new SmsAuthorizationResend(messageText, templateReference, true, false, false, false));
+        }
+        return resend;
     }
 
 }
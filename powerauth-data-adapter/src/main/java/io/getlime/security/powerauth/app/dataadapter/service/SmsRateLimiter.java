@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory rate limiter for sending of SMS OTP messages.
+ * <p>
+ * Each user ID and each operation ID owns a token bucket which is refilled at a configured rate up to a configured
+ * burst size, a message may be sent only when both buckets contain a token. Buckets are kept in lock striped
+ * access-ordered maps. Buckets which were idle long enough to be refilled completely are removed periodically,
+ * such a bucket is equivalent to a full bucket, so that the periodic removal never relaxes the limit. Once the
+ * maximum number of keys is reached, the least recently used buckets are evicted even when they are partly drained,
+ * which relaxes the limit for the evicted keys, the maximum number of keys should therefore exceed the number
+ * of users and operations active within the refill time.
+ * <p>
+ * The limiter state is local to the node, the effective limit in a cluster is multiplied by the number of nodes
+ * unless sticky sessions are used.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsRateLimiter {
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final boolean enabled;
+    private final Limit userLimit;
+    private final Limit operationLimit;
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    /**
+     * Rate limiter constructor.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public SmsRateLimiter(DataAdapterConfiguration dataAdapterConfiguration) {
+        this.enabled = dataAdapterConfiguration.isSmsOtpRateLimitEnabled();
+        this.userLimit = Limit.of(dataAdapterConfiguration.getSmsOtpRateLimitUserRatePerSecond(), dataAdapterConfiguration.getSmsOtpRateLimitUserBurst());
+        this.operationLimit = Limit.of(dataAdapterConfiguration.getSmsOtpRateLimitOperationRatePerSecond(), dataAdapterConfiguration.getSmsOtpRateLimitOperationBurst());
+        final int maxKeysPerStripe = Math.max(1, dataAdapterConfiguration.getSmsOtpRateLimitMaxKeys() / STRIPE_COUNT);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(maxKeysPerStripe);
+        }
+    }
+
+    /**
+     * Try to acquire a permit for sending an SMS OTP message. A token is consumed from the user bucket and from
+     * the operation bucket only in case both buckets contain a token.
+     * @param userId User ID.
+     * @param operationId Operation ID.
+     * @return Whether the SMS OTP message may be sent.
+     */
+    public boolean tryAcquire(String userId, String operationId) {
+        return tryAcquire(userId, operationId, System.nanoTime());
+    }
+
+    /**
+     * Try to acquire a permit for sending an SMS OTP message at the given time.
+     * @param userId User ID.
+     * @param operationId Operation ID.
+     * @param now Current time in nanoseconds of {@link System#nanoTime()}.
+     * @return Whether the SMS OTP message may be sent.
+     */
+    boolean tryAcquire(String userId, String operationId, long now) {
+        if (!enabled) {
+            return true;
+        }
+        final Key userKey = userId == null ? null : new Key(KeyType.USER, userId);
+        final Key operationKey = operationId == null ? null : new Key(KeyType.OPERATION, operationId);
+        if (userKey != null && !stripeFor(userKey).tryAcquire(userKey, userLimit, now)) {
+            return false;
+        }
+        if (operationKey != null && !stripeFor(operationKey).tryAcquire(operationKey, operationLimit, now)) {
+            // Return the token consumed from the user bucket, the message is not sent
+            if (userKey != null) {
+                stripeFor(userKey).release(userKey, userLimit);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remove buckets which were idle long enough to be refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.authorization.sms-otp.rate-limit.cleanup-interval-in-millis}")
+    public void removeIdleBuckets() {
+        removeIdleBuckets(System.nanoTime());
+    }
+
+    /**
+     * Remove buckets which were idle long enough to be refilled completely at the given time.
+     * @param now Current time in nanoseconds of {@link System#nanoTime()}.
+     */
+    void removeIdleBuckets(long now) {
+        if (!enabled) {
+            return;
+        }
+        for (Stripe stripe : stripes) {
+            stripe.removeIdle(now);
+        }
+    }
+
+    private Stripe stripeFor(Key key) {
+        final int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * Type of rate limiter key.
+     */
+    private enum KeyType {
+        USER,
+        OPERATION
+    }
+
+    /**
+     * Rate limiter key.
+     * @param type Key type.
+     * @param value User ID or operation ID.
+     */
+    private record Key(KeyType type, String value) {
+    }
+
+    /**
+     * Token bucket limit.
+     * @param ratePerNano Tokens added per nanosecond.
+     * @param burst Maximum number of tokens.
+     */
+    private record Limit(double ratePerNano, double burst) {
+
+        /**
+         * Create a limit from configured values.
+         * @param ratePerSecond Tokens added per second.
+         * @param burst Maximum number of tokens.
+         * @return Token bucket limit.
+         */
+        static Limit of(double ratePerSecond, int burst) {
+            return new Limit(Math.max(ratePerSecond, Double.MIN_NORMAL) / 1_000_000_000d, Math.max(1, burst));
+        }
+
+        /**
+         * Get time in nanoseconds after which an empty bucket is full again.
+         * @return Refill time in nanoseconds.
+         */
+        long refillNanos() {
+            return (long) Math.min(Long.MAX_VALUE / 2, Math.ceil(burst / ratePerNano));
+        }
+    }
+
+    /**
+     * Token bucket state.
+     */
+    private static final class Bucket {
+
+        private final Limit limit;
+        private double tokens;
+        private long timestampRefilled;
+
+        Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.burst();
+            this.timestampRefilled = now;
+        }
+
+        void refill(long now) {
+            final long elapsed = now - timestampRefilled;
+            if (elapsed > 0) {
+                tokens = Math.min(limit.burst(), tokens + elapsed * limit.ratePerNano());
+                timestampRefilled = now;
+            }
+        }
+
+        boolean isIdle(long now) {
+            return now - timestampRefilled >= limit.refillNanos();
+        }
+    }
+
+    /**
+     * Bounded access-ordered map of buckets guarded by a single lock.
+     */
+    private static final class Stripe {
+
+        private final Map<Key, Bucket> buckets;
+
+        Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        synchronized boolean tryAcquire(Key key, Limit limit, long now) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(limit, now);
+                buckets.put(key, bucket);
+            }
+            bucket.refill(now);
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens--;
+            return true;
+        }
+
+        synchronized void release(Key key, Limit limit) {
+            final Bucket bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(limit.burst(), bucket.tokens + 1);
+            }
+        }
+
+        synchronized void removeIdle(long now) {
+            final Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isIdle(now)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+}
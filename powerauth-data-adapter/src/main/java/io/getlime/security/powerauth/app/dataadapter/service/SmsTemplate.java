@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Precompiled SMS text template.
+ * <p>
+ * The template is parsed once from a {@link MessageFormat} pattern into literal segments and argument indexes,
+ * rendering only appends the segments and arguments. Patterns with formatted arguments such as {0,number} are
+ * rendered using {@link MessageFormat}.
+ *
+ * @author Wultra s.r.o.
+ */
+final class SmsTemplate {
+
+    private final String pattern;
+    private final Locale locale;
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final int length;
+
+    private SmsTemplate(String pattern, Locale locale, String[] literals, int[] argumentIndexes) {
+        this.pattern = pattern;
+        this.locale = locale;
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        int literalLength = 0;
+        if (literals != null) {
+            for (String literal : literals) {
+                literalLength += literal.length();
+            }
+        }
+        this.length = literalLength;
+    }
+
+    /**
+     * Compile a template from a message pattern.
+     * @param pattern Message pattern.
+     * @param locale Locale used for patterns with formatted arguments.
+     * @return Compiled template.
+     */
+    static SmsTemplate compile(String pattern, Locale locale) {
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> argumentIndexes = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i += 2;
+                    continue;
+                }
+                quoted = !quoted;
+            } else if (quoted) {
+                literal.append(c);
+            } else if (c == '{') {
+                final int end = pattern.indexOf('}', i);
+                final Integer argumentIndex = end < 0 ? null : parseArgumentIndex(pattern.substring(i + 1, end));
+                if (argumentIndex == null) {
+                    // Formatted arguments and invalid patterns are rendered using MessageFormat
+                    return new SmsTemplate(pattern, locale, null, null);
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                argumentIndexes.add(argumentIndex);
+                i = end;
+            } else {
+                literal.append(c);
+            }
+            i++;
+        }
+        literals.add(literal.toString());
+        return new SmsTemplate(pattern, locale, literals.toArray(new String[0]), argumentIndexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Get the message pattern of the template.
+     * @return Message pattern.
+     */
+    String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Render the template.
+     * @param args Template arguments.
+     * @return Rendered text.
+     */
+    String render(String... args) {
+        if (literals == null) {
+            return new MessageFormat(pattern, locale).format(args);
+        }
+        int capacity = length;
+        for (String arg : args) {
+            capacity += arg == null ? 4 : arg.length();
+        }
+        final StringBuilder result = new StringBuilder(capacity);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            result.append(literals[i]);
+            final int argumentIndex = argumentIndexes[i];
+            if (argumentIndex < args.length) {
+                result.append(args[argumentIndex]);
+            } else {
+                // Same output as MessageFormat for missing arguments
+                result.append('{').append(argumentIndex).append('}');
+            }
+        }
+        result.append(literals[literals.length - 1]);
+        return result.toString();
+    }
+
+    /**
+     * Parse a simple argument index.
+     * @param argument Argument element without braces.
+     * @return Argument index or null in case the argument is not a simple argument index.
+     */
+    private static Integer parseArgumentIndex(String argument) {
+        if (argument.isEmpty() || argument.length() > 3) {
+            return null;
+        }
+        for (int i = 0; i < argument.length(); i++) {
+            if (argument.charAt(i) < '0' || argument.charAt(i) > '9') {
+                return null;
+            }
+        }
+        return Integer.parseInt(argument);
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for rendering SMS texts using precompiled templates.
+ * <p>
+ * Templates are kept in an immutable table by language and message code. Rendering reads the table without locking,
+ * templates missing in the table are compiled on first use and added by replacing the table. The table is rebuilt
+ * periodically from the message source and replaced atomically in case any message pattern changed.
+ * <p>
+ * Only the configured languages are kept in the table, so that requests with arbitrary languages do not grow it.
+ * Texts in other languages are rendered in the first configured language.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class SmsTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsTemplateService.class);
+
+    private static final String FALLBACK_LANGUAGE = "en";
+
+    private final MessageSource messageSource;
+    private final Set<String> languages;
+    private final String defaultLanguage;
+
+    private volatile Map<String, Map<String, SmsTemplate>> templates = Map.of();
+
+    /**
+     * Service constructor.
+     * @param messageSource Message source.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public SmsTemplateService(MessageSource messageSource, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.messageSource = messageSource;
+        final String[] preloadLanguages = dataAdapterConfiguration.getSmsOtpTemplatePreloadLanguages();
+        this.languages = preloadLanguages.length == 0 ? Set.of(FALLBACK_LANGUAGE) : Set.copyOf(Arrays.asList(preloadLanguages));
+        this.defaultLanguage = preloadLanguages.length == 0 ? FALLBACK_LANGUAGE : preloadLanguages[0];
+    }
+
+    /**
+     * Compile templates for given message codes in all configured languages.
+     * @param codes Message codes.
+     */
+    public synchronized void preload(Collection<String> codes) {
+        final Map<String, Map<String, SmsTemplate>> table = copyOf(templates);
+        for (String lang : languages) {
+            for (String code : codes) {
+                table.computeIfAbsent(lang, l -> new HashMap<>()).put(code, compile(code, lang));
+            }
+        }
+        templates = freeze(table);
+    }
+
+    /**
+     * Render SMS text. Texts in languages which are not configured are rendered in the default language.
+     * @param code Message code.
+     * @param lang Language for localization.
+     * @param args Message arguments.
+     * @return Rendered SMS text.
+     */
+    public String render(String code, String lang, String... args) {
+        final String language = resolveLanguage(lang);
+        final Map<String, SmsTemplate> languageTemplates = templates.get(language);
+        SmsTemplate template = languageTemplates == null ? null : languageTemplates.get(code);
+        if (template == null) {
+            template = load(code, language);
+        }
+        return template.render(args);
+    }
+
+    /**
+     * Rebuild the template table from the message source, the table is replaced in case any pattern changed.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.authorization.sms-otp.template.refresh-interval-in-millis}", initialDelayString = "${powerauth.authorization.sms-otp.template.refresh-interval-in-millis}")
+    public synchronized void refresh() {
+        final Map<String, Map<String, SmsTemplate>> current = templates;
+        final Map<String, Map<String, SmsTemplate>> table = new HashMap<>();
+        boolean changed = false;
+        try {
+            for (Map.Entry<String, Map<String, SmsTemplate>> languageEntry : current.entrySet()) {
+                final String lang = languageEntry.getKey();
+                for (Map.Entry<String, SmsTemplate> templateEntry : languageEntry.getValue().entrySet()) {
+                    final SmsTemplate template = compile(templateEntry.getKey(), lang);
+                    changed |= !template.getPattern().equals(templateEntry.getValue().getPattern());
+                    table.computeIfAbsent(lang, l -> new HashMap<>()).put(templateEntry.getKey(), template);
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("SMS templates were not refreshed, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+            return;
+        }
+        if (changed) {
+            templates = freeze(table);
+            logger.info("SMS templates were reloaded");
+        }
+    }
+
+    /**
+     * Compile a template missing in the table and add it to the table.
+     * @param code Message code.
+     * @param lang Language for localization.
+     * @return Compiled template.
+     */
+    private synchronized SmsTemplate load(String code, String lang) {
+        final Map<String, SmsTemplate> languageTemplates = templates.get(lang);
+        if (languageTemplates != null && languageTemplates.containsKey(code)) {
+            return languageTemplates.get(code);
+        }
+        final SmsTemplate template = compile(code, lang);
+        final Map<String, Map<String, SmsTemplate>> table = copyOf(templates);
+        table.computeIfAbsent(lang, l -> new HashMap<>()).put(code, template);
+        templates = freeze(table);
+        return template;
+    }
+
+    /**
+     * Resolve a requested language to one of the configured languages.
+     * @param lang Requested language, e.g. cs or en-US.
+     * @return Configured language, the default language in case the requested language is not configured.
+     */
+    private String resolveLanguage(String lang) {
+        if (lang == null) {
+            return defaultLanguage;
+        }
+        if (languages.contains(lang)) {
+            return lang;
+        }
+        final String language = Locale.forLanguageTag(lang).getLanguage();
+        return languages.contains(language) ? language : defaultLanguage;
+    }
+
+    /**
+     * Compile a template from the message source.
+     * @param code Message code.
+     * @param lang Language for localization.
+     * @return Compiled template.
+     */
+    private SmsTemplate compile(String code, String lang) {
+        final Locale locale = new Locale(lang);
+        // Message without arguments is resolved as a raw pattern
+        final String pattern = messageSource.getMessage(code, null, locale);
+        return SmsTemplate.compile(pattern, locale);
+    }
+
+    private static Map<String, Map<String, SmsTemplate>> copyOf(Map<String, Map<String, SmsTemplate>> table) {
+        final Map<String, Map<String, SmsTemplate>> copy = new HashMap<>();
+        table.forEach((lang, languageTemplates) -> copy.put(lang, new HashMap<>(languageTemplates)));
+        return copy;
+    }
+
+    private static Map<String, Map<String, SmsTemplate>> freeze(Map<String, Map<String, SmsTemplate>> table) {
+        final Map<String, Map<String, SmsTemplate>> frozen = new HashMap<>();
+        table.forEach((lang, languageTemplates) -> frozen.put(lang, Map.copyOf(languageTemplates)));
+        return Map.copyOf(frozen);
+    }
+
+}
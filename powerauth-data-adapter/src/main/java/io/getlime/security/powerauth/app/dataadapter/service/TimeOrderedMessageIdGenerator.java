@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generator of time-ordered message identifiers in UUID version 7 format.
+ * <p>
+ * The identifier starts with a millisecond timestamp, so new messages are inserted at the end of the primary key
+ * index instead of random index pages. The remaining 74 bits are random, they are drawn from a per-thread
+ * SecureRandom instance to avoid contention on a shared random generator. The identifier reveals the time when the
+ * message was created and it contains less random bits than a UUID version 4 identifier.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+@ConditionalOnProperty(name = "powerauth.authorization.sms-otp.message-id.type", havingValue = "time-ordered")
+public class TimeOrderedMessageIdGenerator implements MessageIdGenerator {
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    @Override
+    public String generateMessageId() {
+        final SecureRandom random = RANDOM.get();
+        final long timestamp = System.currentTimeMillis();
+        final long randomHigh = random.nextLong();
+        final long randomLow = random.nextLong();
+        // 48 bits of timestamp, 4 bits of version and 12 random bits
+        final long mostSignificantBits = (timestamp << 16) | 0x7000L | (randomHigh & 0x0FFFL);
+        // 2 bits of variant and 62 random bits
+        final long leastSignificantBits = (randomLow & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.exception.DataAdapterRemoteException;
+import io.getlime.security.powerauth.app.dataadapter.repository.UserCredentialsRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UserCredentials;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service providing built-in users stored in table da_user_credentials. Users are looked up within an organization,
+ * a user of another organization is handled as a missing user.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class UserCredentialsService {
+
+    private final UserCredentialsRepository userCredentialsRepository;
+    private final PasswordVerificationService passwordVerificationService;
+    private final UsernameIndex usernameIndex;
+    private final boolean enabled;
+
+    /**
+     * Service constructor.
+     * @param userCredentialsRepository User credentials repository.
+     * @param passwordVerificationService Password verification service.
+     * @param usernameIndex Username index.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     */
+    @Autowired
+    public UserCredentialsService(UserCredentialsRepository userCredentialsRepository, PasswordVerificationService passwordVerificationService, UsernameIndex usernameIndex, DataAdapterConfiguration dataAdapterConfiguration) {
+        this.userCredentialsRepository = userCredentialsRepository;
+        this.passwordVerificationService = passwordVerificationService;
+        this.usernameIndex = usernameIndex;
+        this.enabled = dataAdapterConfiguration.isUserCredentialsEnabled();
+    }
+
+    /**
+     * Whether users are authenticated against table da_user_credentials.
+     * @return Whether built-in user credentials are enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Translate username to user ID. The username index is used once it is loaded, so that unknown usernames are
+     * rejected without a database query.
+     * @param username Username.
+     * @param organizationId Organization ID, null in case organization is not checked.
+     * @return User ID, empty in case user does not exist.
+     * @throws DataAdapterRemoteException Thrown in case of database errors.
+     */
+    public Optional<String> resolveUserId(String username, String organizationId) throws DataAdapterRemoteException {
+        if (username != null && organizationId != null && usernameIndex.isReady()) {
+            return Optional.ofNullable(usernameIndex.findUserId(username, organizationId));
+        }
+        return findByUsername(username, organizationId).map(UserCredentials::userId);
+    }
+
+    /**
+     * Find user by username.
+     * @param username Username.
+     * @param organizationId Organization ID, null in case organization is not checked.
+     * @return User, empty in case user does not exist.
+     * @throws DataAdapterRemoteException Thrown in case of database errors.
+     */
+    public Optional<UserCredentials> findByUsername(String username, String organizationId) throws DataAdapterRemoteException {
+        if (username == null) {
+            return Optional.empty();
+        }
+        try {
+            return userCredentialsRepository.findByUsername(username, organizationId);
+        } catch (DataAccessException ex) {
+            throw new DataAdapterRemoteException("User lookup failed", ex);
+        }
+    }
+
+    /**
+     * Find user by user ID.
+     * @param userId User ID.
+     * @param organizationId Organization ID, null in case organization is not checked.
+     * @return User, empty in case user does not exist.
+     * @throws DataAdapterRemoteException Thrown in case of database errors.
+     */
+    public Optional<UserCredentials> findByUserId(String userId, String organizationId) throws DataAdapterRemoteException {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        try {
+            return userCredentialsRepository.findByUserId(userId).filter(user -> matchesOrganization(user, organizationId));
+        } catch (DataAccessException ex) {
+            throw new DataAdapterRemoteException("User lookup failed", ex);
+        }
+    }
+
+    /**
+     * Authenticate user using a password. The password hash is verified also for a missing user, so that the response
+     * time does not reveal whether the user exists.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param password Password.
+     * @return Whether the user exists and the password is valid.
+     * @throws DataAdapterRemoteException Thrown in case of database errors or when password verification is not available.
+     */
+    public boolean authenticate(String userId, String organizationId, String password) throws DataAdapterRemoteException {
+        final Optional<UserCredentials> user = findByUserId(userId, organizationId);
+        return passwordVerificationService.verify(password, user.map(UserCredentials::passwordHash).orElse(null));
+    }
+
+    private static boolean matchesOrganization(UserCredentials user, String organizationId) {
+        return organizationId == null || organizationId.equals(user.organizationId());
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.exception.DataAdapterRemoteException;
+import io.getlime.security.powerauth.app.dataadapter.exception.UserNotFoundException;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.UserDetailResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory cache of user details fetched from the backend.
+ * <p>
+ * Entries are keyed by user ID and organization ID and expire after a configured time, users which were not found
+ * are cached for a shorter time. Entries are kept in lock striped access-ordered maps, the least recently used
+ * entries are evicted once the maximum number of entries is reached. A stripe is selected by user ID, so that all
+ * entries of a user are invalidated within a single stripe. Each invalidation increments the generation of the
+ * stripe and details loaded concurrently with an invalidation are returned to the caller without being cached.
+ * <p>
+ * Cached details are copied on each access, callers may modify the returned details. The cache is local to the node,
+ * invalidation needs to be requested on each node. Changes of account status in the backend, e.g. a blocked account,
+ * are visible in lookupUser and authenticateUser only after the cached entry expires, the cache is therefore
+ * disabled by default.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class UserDetailCache {
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long notFoundTtlNanos;
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Loader of user details from the backend.
+     */
+    @FunctionalInterface
+    public interface UserDetailLoader {
+
+        /**
+         * Load user details.
+         * @return User details.
+         * @throws DataAdapterRemoteException Thrown in case of remote communication errors.
+         * @throws UserNotFoundException Thrown when user does not exist.
+         */
+        UserDetailResponse load() throws DataAdapterRemoteException, UserNotFoundException;
+    }
+
+    /**
+     * Cache constructor.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     * @param meterRegistry Meter registry.
+     */
+    @Autowired
+    public UserDetailCache(DataAdapterConfiguration dataAdapterConfiguration, MeterRegistry meterRegistry) {
+        this.enabled = dataAdapterConfiguration.isUserDetailCacheEnabled();
+        this.ttlNanos = Math.max(0, dataAdapterConfiguration.getUserDetailCacheTtl()) * 1_000_000_000L;
+        this.notFoundTtlNanos = Math.max(0, dataAdapterConfiguration.getUserDetailCacheNotFoundTtl()) * 1_000_000_000L;
+        final int maxEntriesPerStripe = Math.max(1, dataAdapterConfiguration.getUserDetailCacheMaxEntries() / STRIPE_COUNT);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(maxEntriesPerStripe);
+        }
+        this.hitCounter = requestCounter("hit", meterRegistry);
+        this.missCounter = requestCounter("miss", meterRegistry);
+    }
+
+    /**
+     * Get user details from the cache, the details are loaded using the loader and cached in case they are missing.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     * @param loader Loader of user details.
+     * @return User details.
+     * @throws DataAdapterRemoteException Thrown in case of remote communication errors.
+     * @throws UserNotFoundException Thrown when user does not exist.
+     */
+    public UserDetailResponse get(String userId, String organizationId, UserDetailLoader loader) throws DataAdapterRemoteException, UserNotFoundException {
+        if (!enabled || userId == null) {
+            return loader.load();
+        }
+        final Key key = new Key(userId, organizationId);
+        final Stripe stripe = stripeFor(userId);
+        final long now = System.nanoTime();
+        final Entry entry = stripe.get(key, now);
+        if (entry != null) {
+            hitCounter.increment();
+            if (entry.userDetail() == null) {
+                throw new UserNotFoundException(entry.notFoundMessage());
+            }
+            return copy(entry.userDetail());
+        }
+        missCounter.increment();
+        final long generation = stripe.generation();
+        final UserDetailResponse userDetail;
+        try {
+            userDetail = loader.load();
+        } catch (UserNotFoundException ex) {
+            if (notFoundTtlNanos > 0) {
+                stripe.put(key, new Entry(null, ex.getMessage(), System.nanoTime() + notFoundTtlNanos), generation);
+            }
+            throw ex;
+        }
+        if (userDetail != null && ttlNanos > 0) {
+            stripe.put(key, new Entry(copy(userDetail), null, System.nanoTime() + ttlNanos), generation);
+        }
+        return userDetail;
+    }
+
+    /**
+     * Invalidate cached details of a user.
+     * @param userId User ID.
+     * @param organizationId Organization ID, use null to invalidate details of the user in all organizations.
+     * @return Number of invalidated entries.
+     */
+    public int invalidate(String userId, String organizationId) {
+        Objects.requireNonNull(userId, "User ID must not be null");
+        return stripeFor(userId).invalidate(userId, organizationId);
+    }
+
+    /**
+     * Invalidate all cached user details.
+     * @return Number of invalidated entries.
+     */
+    public int invalidateAll() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.invalidateAll();
+        }
+        return count;
+    }
+
+    private Stripe stripeFor(String userId) {
+        final int hash = userId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    private static Counter requestCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("powerauth.user.detail.cache.requests")
+                .description("Number of user detail cache requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static UserDetailResponse copy(UserDetailResponse source) {
+        final UserDetailResponse result = new UserDetailResponse();
+        result.setId(source.getId());
+        result.setGivenName(source.getGivenName());
+        result.setFamilyName(source.getFamilyName());
+        result.setOrganizationId(source.getOrganizationId());
+        result.setAccountStatus(source.getAccountStatus());
+        if (source.getExtras() != null) {
+            result.getExtras().putAll(source.getExtras());
+        }
+        return result;
+    }
+
+    /**
+     * Cache key.
+     * @param userId User ID.
+     * @param organizationId Organization ID.
+     */
+    private record Key(String userId, String organizationId) {
+    }
+
+    /**
+     * Cache entry.
+     * @param userDetail User details, null in case user was not found.
+     * @param notFoundMessage Message of the exception thrown when user was not found.
+     * @param expiresAt Expiration time in nanoseconds.
+     */
+    private record Entry(UserDetailResponse userDetail, String notFoundMessage, long expiresAt) {
+    }
+
+    /**
+     * Bounded access-ordered map of entries guarded by a single lock.
+     */
+    private static final class Stripe {
+
+        private final Map<Key, Entry> entries;
+        private long generation;
+
+        Stripe(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized Entry get(Key key, long now) {
+            final Entry entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized void put(Key key, Entry entry, long loadGeneration) {
+            // Details loaded before the last invalidation may be stale
+            if (generation == loadGeneration) {
+                entries.put(key, entry);
+            }
+        }
+
+        synchronized int invalidate(String userId, String organizationId) {
+            generation++;
+            if (organizationId != null) {
+                return entries.remove(new Key(userId, organizationId)) != null ? 1 : 0;
+            }
+            int count = 0;
+            final Iterator<Key> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (userId.equals(iterator.next().userId())) {
+                    iterator.remove();
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        synchronized int invalidateAll() {
+            generation++;
+            final int count = entries.size();
+            entries.clear();
+            return count;
+        }
+    }
+
+}
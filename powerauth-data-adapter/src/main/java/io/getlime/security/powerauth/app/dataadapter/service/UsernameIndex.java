@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UsernameEntry;
+import io.getlime.security.powerauth.app.dataadapter.service.UsernameIndexSnapshot.UsernameKey;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of usernames which translates a username to a user ID without I/O, both for known and unknown usernames.
+ * <p>
+ * The index consists of an immutable compact snapshot of all usernames and an overlay of usernames updated since the
+ * snapshot was built. The overlay is refreshed periodically from mappings whose timestamp of the last update is newer
+ * than the last seen timestamp minus an overlap, which covers updates committed with a delay. The timestamp is used as
+ * the version of a mapping, an older version of a mapping never replaces a newer one. A renamed user is found under
+ * the new username and the previous username becomes unknown after the next refresh. The snapshot is rebuilt
+ * periodically and once the overlay grows too large, so that deleted users are removed from the index.
+ * <p>
+ * Lookups fall back to the database until the index is loaded for the first time.
+ *
+ * @author Wultra s.r.o.
+ */
+@Service
+public class UsernameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameIndex.class);
+
+    private static final OverlayEntry REMOVED = new OverlayEntry(null);
+
+    private final UsernameSource usernameSource;
+    private final boolean enabled;
+    private final long fullRefreshInterval;
+    private final long refreshOverlap;
+    private final int maxOverlayEntries;
+    private volatile State state;
+
+    /**
+     * Username index constructor.
+     * @param usernameSource Source of username mappings.
+     * @param dataAdapterConfiguration Data adapter configuration.
+     * @param meterRegistry Meter registry.
+     */
+    @Autowired
+    public UsernameIndex(UsernameSource usernameSource, DataAdapterConfiguration dataAdapterConfiguration, MeterRegistry meterRegistry) {
+        this.usernameSource = usernameSource;
+        this.enabled = dataAdapterConfiguration.isUsernameIndexEnabled();
+        this.fullRefreshInterval = dataAdapterConfiguration.getUsernameIndexFullRefreshInterval();
+        this.refreshOverlap = dataAdapterConfiguration.getUsernameIndexRefreshOverlap();
+        this.maxOverlayEntries = dataAdapterConfiguration.getUsernameIndexMaxOverlayEntries();
+        Gauge.builder("powerauth.user.username.index.size", this, index -> index.state == null ? 0 : index.state.snapshot.size())
+                .description("Number of usernames in the username index snapshot")
+                .register(meterRegistry);
+        Gauge.builder("powerauth.user.username.index.overlay.size", this, index -> index.state == null ? 0 : index.state.overlay.size())
+                .description("Number of usernames updated since the username index snapshot was built")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the index is loaded and can be used for lookups.
+     * @return Whether the index is ready.
+     */
+    public boolean isReady() {
+        return state != null;
+    }
+
+    /**
+     * Find user ID by username.
+     * @param username Username.
+     * @param organizationId Organization ID.
+     * @return User ID, null in case username is unknown or the index is not ready.
+     */
+    public String findUserId(String username, String organizationId) {
+        final State current = state;
+        if (current == null || username == null || organizationId == null) {
+            return null;
+        }
+        final OverlayEntry overlayEntry = current.overlay.get(new UsernameKey(username, organizationId));
+        if (overlayEntry != null) {
+            return overlayEntry.userId();
+        }
+        return current.snapshot.findUserId(username, organizationId);
+    }
+
+    /**
+     * Refresh the index with updated usernames, the snapshot is rebuilt when it is due.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.dataAdapter.usernameIndex.refreshIntervalInMillis}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            final State current = state;
+            if (current == null || System.currentTimeMillis() - current.timestampBuilt >= fullRefreshInterval
+                    || current.overlay.size() > maxOverlayEntries) {
+                rebuild();
+            } else {
+                applyUpdates(current);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Refresh of username index failed, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    private void rebuild() {
+        final long started = System.currentTimeMillis();
+        final UsernameIndexSnapshot.Builder builder = new UsernameIndexSnapshot.Builder();
+        final Date[] watermark = {new Date(0)};
+        usernameSource.forEachUsername(null, entry -> {
+            builder.add(entry.userId(), entry.username(), entry.organizationId());
+            if (entry.timestampLastUpdated() != null && entry.timestampLastUpdated().after(watermark[0])) {
+                watermark[0] = entry.timestampLastUpdated();
+            }
+        });
+        final State rebuilt = new State(builder.build(), watermark[0], started);
+        // Apply updates committed while the snapshot was being built
+        applyUpdates(rebuilt);
+        state = rebuilt;
+        logger.info("Username index was rebuilt, username count: {}, duration: {} ms", rebuilt.snapshot.size(), System.currentTimeMillis() - started);
+    }
+
+    private void applyUpdates(State current) {
+        final Date updatedSince = new Date(current.watermark.getTime() - refreshOverlap);
+        usernameSource.forEachUsername(updatedSince, entry -> apply(current, entry));
+    }
+
+    private void apply(State current, UsernameEntry entry) {
+        final String userId = entry.userId();
+        if (userId == null || entry.username() == null || entry.organizationId() == null) {
+            return;
+        }
+        final Date version = entry.timestampLastUpdated();
+        final UserVersion previous = current.users.get(userId);
+        if (previous != null && previous.version() != null && version != null && version.before(previous.version())) {
+            // A newer version of the mapping was already applied
+            return;
+        }
+        final UsernameKey previousKey = previous != null ? previous.key() : current.snapshot.findUsername(userId);
+        final UsernameKey key = new UsernameKey(entry.username(), entry.organizationId());
+        current.overlay.put(key, new OverlayEntry(userId));
+        current.users.put(userId, new UserVersion(key, version));
+        if (previousKey != null && !previousKey.equals(key)) {
+            // The previous username of a renamed user becomes unknown unless it was taken over by another user
+            current.overlay.compute(previousKey, (k, existing) -> {
+                final String mappedUserId = existing != null ? existing.userId() : current.snapshot.findUserId(k.username(), k.organizationId());
+                return userId.equals(mappedUserId) ? REMOVED : existing;
+            });
+        }
+        if (version != null && version.after(current.watermark)) {
+            current.watermark = version;
+        }
+    }
+
+    /**
+     * Username mapping in the overlay.
+     * @param userId User ID, null in case the username was removed.
+     */
+    private record OverlayEntry(String userId) {
+    }
+
+    /**
+     * Current username of a user in the overlay.
+     * @param key Organization and username.
+     * @param version Timestamp of the last update of the user.
+     */
+    private record UserVersion(UsernameKey key, Date version) {
+    }
+
+    /**
+     * Index state, the overlay and the watermark are updated by the refresh only.
+     */
+    private static final class State {
+
+        private final UsernameIndexSnapshot snapshot;
+        private final ConcurrentHashMap<UsernameKey, OverlayEntry> overlay = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, UserVersion> users = new ConcurrentHashMap<>();
+        private final long timestampBuilt;
+        private volatile Date watermark;
+
+        State(UsernameIndexSnapshot snapshot, Date watermark, long timestampBuilt) {
+            this.snapshot = snapshot;
+            this.watermark = watermark;
+            this.timestampBuilt = timestampBuilt;
+        }
+    }
+
+}
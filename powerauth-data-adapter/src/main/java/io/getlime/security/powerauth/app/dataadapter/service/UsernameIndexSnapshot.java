@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of username mappings with a compact memory layout.
+ * <p>
+ * Usernames and user IDs are stored as UTF-8 bytes in two shared byte arrays addressed by offset arrays, organizations
+ * are stored in a dictionary and referenced by a short index. Mappings are found using two open addressing hash tables,
+ * one keyed by organization and username and one keyed by user ID, which hold entry indexes only. A mapping takes
+ * the size of its username and user ID plus less than 50 bytes, compared to hundreds of bytes for maps of strings.
+ *
+ * @author Wultra s.r.o.
+ */
+final class UsernameIndexSnapshot {
+
+    private static final UsernameIndexSnapshot EMPTY = new Builder().build();
+
+    private final String[] organizations;
+    private final Map<String, Short> organizationIndexes;
+    private final short[] entryOrganizations;
+    private final byte[] usernames;
+    private final int[] usernameOffsets;
+    private final byte[] userIds;
+    private final int[] userIdOffsets;
+    private final int[] usernameSlots;
+    private final int[] userIdSlots;
+    private final int size;
+
+    private UsernameIndexSnapshot(Builder builder) {
+        this.organizations = new String[builder.organizations.size()];
+        builder.organizations.forEach((organizationId, index) -> organizations[index] = organizationId);
+        this.organizationIndexes = Map.copyOf(builder.organizations);
+        this.entryOrganizations = Arrays.copyOf(builder.entryOrganizations, builder.count);
+        this.usernames = Arrays.copyOf(builder.usernames, builder.usernamesLength);
+        this.usernameOffsets = Arrays.copyOf(builder.usernameOffsets, builder.count + 1);
+        this.userIds = Arrays.copyOf(builder.userIds, builder.userIdsLength);
+        this.userIdOffsets = Arrays.copyOf(builder.userIdOffsets, builder.count + 1);
+        final int capacity = tableCapacity(builder.count);
+        this.usernameSlots = new int[capacity];
+        this.userIdSlots = new int[capacity];
+        int size = 0;
+        for (int i = 0; i < builder.count; i++) {
+            // The first mapping of a username or a user ID wins
+            if (insertUsername(i)) {
+                size++;
+            }
+            insertUserId(i);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Get an empty snapshot.
+     * @return Empty snapshot.
+     */
+    static UsernameIndexSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Get number of distinct usernames in the snapshot.
+     * @return Number of usernames.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Find user ID by username.
+     * @param username Username.
+     * @param organizationId Organization ID.
+     * @return User ID, null in case username is unknown.
+     */
+    String findUserId(String username, String organizationId) {
+        final Short organization = organizationId == null ? null : organizationIndexes.get(organizationId);
+        if (organization == null) {
+            return null;
+        }
+        final int entry = findUsernameEntry(username.getBytes(StandardCharsets.UTF_8), organization);
+        return entry < 0 ? null : new String(userIds, userIdOffsets[entry], userIdOffsets[entry + 1] - userIdOffsets[entry], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Find the username mapped to a user ID.
+     * @param userId User ID.
+     * @return Organization and username of the user, null in case user ID is unknown.
+     */
+    UsernameKey findUsername(String userId) {
+        final byte[] key = userId.getBytes(StandardCharsets.UTF_8);
+        final int mask = userIdSlots.length - 1;
+        for (int slot = hash(key, 0) & mask; ; slot = (slot + 1) & mask) {
+            final int entry = userIdSlots[slot] - 1;
+            if (entry < 0) {
+                return null;
+            }
+            if (Arrays.equals(userIds, userIdOffsets[entry], userIdOffsets[entry + 1], key, 0, key.length)) {
+                final String username = new String(usernames, usernameOffsets[entry], usernameOffsets[entry + 1] - usernameOffsets[entry], StandardCharsets.UTF_8);
+                return new UsernameKey(username, organizations[entryOrganizations[entry]]);
+            }
+        }
+    }
+
+    private int findUsernameEntry(byte[] key, short organization) {
+        final int mask = usernameSlots.length - 1;
+        for (int slot = hash(key, organization) & mask; ; slot = (slot + 1) & mask) {
+            final int entry = usernameSlots[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            if (entryOrganizations[entry] == organization
+                    && Arrays.equals(usernames, usernameOffsets[entry], usernameOffsets[entry + 1], key, 0, key.length)) {
+                return entry;
+            }
+        }
+    }
+
+    private boolean insertUsername(int entry) {
+        final int from = usernameOffsets[entry];
+        final int to = usernameOffsets[entry + 1];
+        final short organization = entryOrganizations[entry];
+        final int mask = usernameSlots.length - 1;
+        for (int slot = hash(usernames, from, to, organization) & mask; ; slot = (slot + 1) & mask) {
+            final int existing = usernameSlots[slot] - 1;
+            if (existing < 0) {
+                usernameSlots[slot] = entry + 1;
+                return true;
+            }
+            if (entryOrganizations[existing] == organization
+                    && Arrays.equals(usernames, usernameOffsets[existing], usernameOffsets[existing + 1], usernames, from, to)) {
+                return false;
+            }
+        }
+    }
+
+    private void insertUserId(int entry) {
+        final int from = userIdOffsets[entry];
+        final int to = userIdOffsets[entry + 1];
+        final int mask = userIdSlots.length - 1;
+        for (int slot = hash(userIds, from, to, 0) & mask; ; slot = (slot + 1) & mask) {
+            final int existing = userIdSlots[slot] - 1;
+            if (existing < 0) {
+                userIdSlots[slot] = entry + 1;
+                return;
+            }
+            if (Arrays.equals(userIds, userIdOffsets[existing], userIdOffsets[existing + 1], userIds, from, to)) {
+                return;
+            }
+        }
+    }
+
+    private static int hash(byte[] key, int seed) {
+        return hash(key, 0, key.length, seed);
+    }
+
+    private static int hash(byte[] data, int from, int to, int seed) {
+        // FNV-1a with a final mix, so that similar usernames are spread across the table
+        int hash = 0x811c9dc5 ^ seed;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ (data[i] & 0xff)) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        return hash ^ (hash >>> 13);
+    }
+
+    private static int tableCapacity(int count) {
+        // Load factor of at most 0.5 keeps probe sequences short
+        int capacity = 16;
+        while (capacity < count * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Organization and username of a user.
+     * @param username Username.
+     * @param organizationId Organization ID.
+     */
+    record UsernameKey(String username, String organizationId) {
+    }
+
+    /**
+     * Builder of a snapshot, mappings are added in order of preference.
+     */
+    static final class Builder {
+
+        private final Map<String, Short> organizations = new HashMap<>();
+        private short[] entryOrganizations = new short[1024];
+        private byte[] usernames = new byte[16 * 1024];
+        private int usernamesLength;
+        private int[] usernameOffsets = new int[1025];
+        private byte[] userIds = new byte[16 * 1024];
+        private int userIdsLength;
+        private int[] userIdOffsets = new int[1025];
+        private int count;
+
+        /**
+         * Add a username mapping.
+         * @param userId User ID.
+         * @param username Username.
+         * @param organizationId Organization ID.
+         * @return Builder.
+         */
+        Builder add(String userId, String username, String organizationId) {
+            if (userId == null || username == null || organizationId == null) {
+                return this;
+            }
+            Short organization = organizations.get(organizationId);
+            if (organization == null) {
+                if (organizations.size() > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Too many organizations in username index");
+                }
+                organization = (short) organizations.size();
+                organizations.put(organizationId, organization);
+            }
+            if (count == entryOrganizations.length) {
+                final int capacity = entryOrganizations.length * 2;
+                entryOrganizations = Arrays.copyOf(entryOrganizations, capacity);
+                usernameOffsets = Arrays.copyOf(usernameOffsets, capacity + 1);
+                userIdOffsets = Arrays.copyOf(userIdOffsets, capacity + 1);
+            }
+            final byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+            final byte[] userIdBytes = userId.getBytes(StandardCharsets.UTF_8);
+            usernames = ensureCapacity(usernames, usernamesLength + usernameBytes.length);
+            System.arraycopy(usernameBytes, 0, usernames, usernamesLength, usernameBytes.length);
+            usernamesLength += usernameBytes.length;
+            userIds = ensureCapacity(userIds, userIdsLength + userIdBytes.length);
+            System.arraycopy(userIdBytes, 0, userIds, userIdsLength, userIdBytes.length);
+            userIdsLength += userIdBytes.length;
+            entryOrganizations[count] = organization;
+            count++;
+            usernameOffsets[count] = usernamesLength;
+            userIdOffsets[count] = userIdsLength;
+            return this;
+        }
+
+        /**
+         * Build the snapshot.
+         * @return Snapshot.
+         */
+        UsernameIndexSnapshot build() {
+            return new UsernameIndexSnapshot(this);
+        }
+
+        private static byte[] ensureCapacity(byte[] data, int length) {
+            if (length <= data.length) {
+                return data;
+            }
+            return Arrays.copyOf(data, Math.max(length, data.length * 2));
+        }
+    }
+
+}
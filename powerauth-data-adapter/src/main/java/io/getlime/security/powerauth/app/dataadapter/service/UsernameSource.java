@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UsernameEntry;
+
+import java.util.Date;
+import java.util.function.Consumer;
+
+/**
+ * Source of username mappings for the username index. The default source reads table da_user_credentials,
+ * deployments with another user store can provide their own primary bean implementing this interface.
+ *
+ * @author Wultra s.r.o.
+ */
+public interface UsernameSource {
+
+    /**
+     * Pass username mappings to the consumer. All mappings are passed ordered by user ID in case the timestamp is null,
+     * otherwise mappings updated at or after the timestamp are passed ordered by the timestamp of the last update.
+     * @param updatedSince Timestamp of the oldest update, null for all mappings.
+     * @param consumer Consumer of username mappings.
+     */
+    void forEachUsername(Date updatedSince, Consumer<UsernameEntry> consumer);
+
+}
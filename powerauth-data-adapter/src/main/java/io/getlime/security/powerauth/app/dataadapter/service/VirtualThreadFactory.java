@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of virtual threads for runtimes which support them (Java 21+). The application is built for Java 17,
+ * so that virtual threads are created using reflection and platform daemon threads are used as a fallback.
+ *
+ * @author Wultra s.r.o.
+ */
+public final class VirtualThreadFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadFactory.class);
+
+    private VirtualThreadFactory() {
+    }
+
+    /**
+     * Create a thread factory for virtual threads in case the runtime supports them, a factory for platform
+     * daemon threads is used otherwise.
+     * @param namePrefix Prefix of thread names.
+     * @return Thread factory.
+     */
+    public static ThreadFactory create(String namePrefix) {
+        try {
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = builderClass.getMethod("name", String.class, long.class).invoke(ofVirtual.invoke(null), namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            logger.info("Virtual threads are not available, platform threads are used for threads: {}", namePrefix);
+            final AtomicInteger threadCounter = new AtomicInteger();
+            return runnable -> {
+                final Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+}
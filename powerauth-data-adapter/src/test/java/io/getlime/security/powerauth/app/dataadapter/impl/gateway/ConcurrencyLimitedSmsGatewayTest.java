@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of the SMS gateway which limits concurrency of an upstream gateway.
+ *
+ * @author Wultra s.r.o.
+ */
+class ConcurrencyLimitedSmsGatewayTest {
+
+    @Test
+    void testConcurrencyLimit() throws Exception {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final SmsGateway upstream = new SmsGateway() {
+            @Override
+            public String getName() {
+                return "upstream";
+            }
+
+            @Override
+            public SmsDeliveryResult send(SmsMessage message) {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                active.decrementAndGet();
+                return SmsDeliveryResult.SUCCEEDED;
+            }
+        };
+        final SmsGateway gateway = new ConcurrencyLimitedSmsGateway(upstream, 2);
+        assertEquals("upstream", gateway.getName());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<SmsDeliveryResult>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                final SmsMessage message = new SmsMessage("message-" + i, "user-1", "RETAIL", "Code: 12345678");
+                results.add(executor.submit(() -> gateway.send(message)));
+            }
+            // Give all senders time to reach the gateway before the upstream calls are released
+            Thread.sleep(200);
+            assertEquals(2, active.get());
+            release.countDown();
+            for (Future<SmsDeliveryResult> result : results) {
+                assertEquals(SmsDeliveryResult.SUCCEEDED, result.get(5, TimeUnit.SECONDS));
+            }
+            assertTrue(maxActive.get() <= 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.gateway;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of routing of SMS messages over multiple SMS gateways.
+ *
+ * @author Wultra s.r.o.
+ */
+class RoutingSmsGatewayTest {
+
+    private static final long OPEN_DURATION_MILLIS = 30_000L;
+    private static final SmsMessage MESSAGE = new SmsMessage("message-1", "user-1", "RETAIL", "Code: 12345678");
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testFailoverOrder() {
+        final RoutingSmsGateway gateway = createGateway(
+                new TestGateway("primary", SmsDeliveryResult.FAILED, 0),
+                new TestGateway("secondary", SmsDeliveryResult.SUCCEEDED, 0),
+                new TestGateway("tertiary", SmsDeliveryResult.SUCCEEDED, 0));
+
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(List.of("primary", "secondary"), calls);
+        assertEquals(1.0, meterRegistry.get("powerauth.sms.gateway.route").tag("gateway", "primary").counter().count());
+        assertEquals(1.0, meterRegistry.get("powerauth.sms.gateway.route").tag("gateway", "secondary").counter().count());
+        assertEquals(0.0, meterRegistry.get("powerauth.sms.gateway.route").tag("gateway", "tertiary").counter().count());
+        assertEquals(1.0, meterRegistry.get("powerauth.sms.gateway.failover").tag("gateway", "secondary").counter().count());
+    }
+
+    @Test
+    void testAllGatewaysFailed() {
+        final TestGateway tertiary = new TestGateway("tertiary", SmsDeliveryResult.SUCCEEDED, 0);
+        tertiary.exception = true;
+        final RoutingSmsGateway gateway = createGateway(
+                new TestGateway("primary", SmsDeliveryResult.FAILED, 0),
+                new TestGateway("secondary", SmsDeliveryResult.FAILED, 0),
+                tertiary);
+
+        assertEquals(SmsDeliveryResult.FAILED, gateway.send(MESSAGE));
+        assertEquals(List.of("primary", "secondary", "tertiary"), calls);
+    }
+
+    @Test
+    void testCircuitBreakerOpens() {
+        final RoutingSmsGateway gateway = createGateway(
+                new TestGateway("primary", SmsDeliveryResult.FAILED, 0),
+                new TestGateway("secondary", SmsDeliveryResult.SUCCEEDED, 20));
+
+        openPrimaryCircuit(gateway);
+        assertEquals(1.0, meterRegistry.get("powerauth.sms.gateway.circuit.open").tag("gateway", "primary").gauge().value());
+
+        // The open circuit breaker excludes the gateway until the open duration elapses
+        clock.addAndGet(OPEN_DURATION_MILLIS - 1);
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(List.of("secondary"), calls);
+    }
+
+    @Test
+    void testFailedTrialReopensCircuit() {
+        final RoutingSmsGateway gateway = createGateway(
+                new TestGateway("primary", SmsDeliveryResult.FAILED, 0),
+                new TestGateway("secondary", SmsDeliveryResult.SUCCEEDED, 20));
+        openPrimaryCircuit(gateway);
+
+        clock.addAndGet(OPEN_DURATION_MILLIS);
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(List.of("primary", "secondary"), calls);
+
+        calls.clear();
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(List.of("secondary"), calls);
+        assertEquals(1.0, meterRegistry.get("powerauth.sms.gateway.circuit.open").tag("gateway", "primary").gauge().value());
+    }
+
+    @Test
+    void testSingleTrialClosesCircuit() throws Exception {
+        final TestGateway primary = new TestGateway("primary", SmsDeliveryResult.FAILED, 0);
+        final TestGateway secondary = new TestGateway("secondary", SmsDeliveryResult.SUCCEEDED, 20);
+        final RoutingSmsGateway gateway = createGateway(primary, secondary);
+        openPrimaryCircuit(gateway);
+
+        clock.addAndGet(OPEN_DURATION_MILLIS);
+        primary.result = SmsDeliveryResult.SUCCEEDED;
+        primary.started = new CountDownLatch(1);
+        primary.release = new CountDownLatch(1);
+        final CompletableFuture<SmsDeliveryResult> trial = CompletableFuture.supplyAsync(() -> gateway.send(MESSAGE));
+        assertTrue(primary.started.await(5, TimeUnit.SECONDS));
+
+        // Only a single trial message is sent while the trial is in flight
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(List.of("primary", "secondary"), calls);
+
+        primary.release.countDown();
+        assertEquals(SmsDeliveryResult.SUCCEEDED, trial.get(5, TimeUnit.SECONDS));
+
+        // The closed gateway is routed again, the failed delivery fails over to it
+        primary.started = null;
+        primary.release = null;
+        secondary.result = SmsDeliveryResult.FAILED;
+        calls.clear();
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertTrue(calls.contains("primary"));
+        assertEquals(0.0, meterRegistry.get("powerauth.sms.gateway.circuit.open").tag("gateway", "primary").gauge().value());
+    }
+
+    @Test
+    void testAllCircuitsOpen() {
+        final RoutingSmsGateway gateway = createGateway(new TestGateway("primary", SmsDeliveryResult.FAILED, 0));
+        gateway.send(MESSAGE);
+        gateway.send(MESSAGE);
+        assertEquals(1.0, meterRegistry.get("powerauth.sms.gateway.circuit.open").tag("gateway", "primary").gauge().value());
+
+        // The gateway closest to recovery is used when no other gateway is available
+        calls.clear();
+        assertEquals(SmsDeliveryResult.FAILED, gateway.send(MESSAGE));
+        assertEquals(List.of("primary"), calls);
+    }
+
+    /**
+     * Open the circuit breaker of the primary gateway which fails fast, the secondary gateway is slower so that
+     * the primary gateway is ranked first until its circuit breaker opens.
+     * @param gateway Routing gateway.
+     */
+    private void openPrimaryCircuit(RoutingSmsGateway gateway) {
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(List.of("primary", "secondary", "primary", "secondary"), calls);
+        calls.clear();
+        assertEquals(SmsDeliveryResult.SUCCEEDED, gateway.send(MESSAGE));
+        assertEquals(List.of("secondary"), calls);
+        calls.clear();
+    }
+
+    private RoutingSmsGateway createGateway(SmsGateway... gateways) {
+        // Circuit breaker opens after two calls in case at least every other call fails
+        return new RoutingSmsGateway("routing", List.of(gateways), 0.5, 0.5, 2, OPEN_DURATION_MILLIS, meterRegistry, clock::get);
+    }
+
+    /**
+     * Gateway which records calls and returns a configured result.
+     */
+    private final class TestGateway implements SmsGateway {
+
+        private final String name;
+        private final long latencyMillis;
+        private volatile SmsDeliveryResult result;
+        private volatile boolean exception;
+        private volatile CountDownLatch started;
+        private volatile CountDownLatch release;
+
+        private TestGateway(String name, SmsDeliveryResult result, long latencyMillis) {
+            this.name = name;
+            this.result = result;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public SmsDeliveryResult send(SmsMessage message) {
+            calls.add(name);
+            try {
+                if (started != null) {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (exception) {
+                throw new IllegalStateException("Gateway failed");
+            }
+            return result;
+        }
+
+    }
+
+}
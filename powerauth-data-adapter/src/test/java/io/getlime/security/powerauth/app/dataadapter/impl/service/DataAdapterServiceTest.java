@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.UserFailedAttemptRepository;
+import io.getlime.security.powerauth.app.dataadapter.service.DataAdapterI18NService;
+import io.getlime.security.powerauth.app.dataadapter.service.FailedAttemptCounter;
+import io.getlime.security.powerauth.app.dataadapter.service.MessageIdGenerator;
+import io.getlime.security.powerauth.app.dataadapter.service.ParallelVerificationService;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsIdempotencyService;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsPersistenceService;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsRateLimiter;
+import io.getlime.security.powerauth.app.dataadapter.service.UserCredentialsService;
+import io.getlime.security.powerauth.app.dataadapter.service.UserDetailCache;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.AuthenticationContext;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.AccountStatus;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.PasswordProtectionType;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsAuthorizationResult;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.UserAuthenticationResult;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.UserAuthenticationResponse;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.UserDetailResponse;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.VerifySmsAndPasswordResponse;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.VerifySmsAuthorizationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of counting of failed authentication attempts in user authentication.
+ *
+ * @author Wultra s.r.o.
+ */
+class DataAdapterServiceTest {
+
+    private static final String USER_ID = "user-1";
+    private static final String ORGANIZATION_ID = "RETAIL";
+    private static final String VALID_PASSWORD = "test";
+
+    private SmsPersistenceService smsPersistenceService;
+    private ParallelVerificationService parallelVerificationService;
+    private FailedAttemptCounter failedAttemptCounter;
+    private DataAdapterService dataAdapterService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Users are blocked after 5 failed attempts
+        final DataAdapterConfiguration configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.isFailedAttemptsEnabled()).thenReturn(true);
+        when(configuration.getFailedAttemptsMaxAttempts()).thenReturn(5);
+        when(configuration.getFailedAttemptsWindow()).thenReturn(900L);
+        when(configuration.getFailedAttemptsBlockDuration()).thenReturn(300L);
+        when(configuration.getFailedAttemptsMaxEntries()).thenReturn(1000);
+        when(configuration.getFailedAttemptsFlushBatchSize()).thenReturn(100);
+        failedAttemptCounter = new FailedAttemptCounter(mock(UserFailedAttemptRepository.class), configuration);
+
+        smsPersistenceService = mock(SmsPersistenceService.class);
+        parallelVerificationService = mock(ParallelVerificationService.class);
+        final UserDetailCache userDetailCache = mock(UserDetailCache.class);
+        when(userDetailCache.get(eq(USER_ID), eq(ORGANIZATION_ID), any())).thenReturn(new UserDetailResponse());
+        dataAdapterService = new DataAdapterService(mock(DataAdapterI18NService.class), smsPersistenceService, mock(SmsDeliveryService.class),
+                mock(OperationValueExtractionService.class), mock(MessageIdGenerator.class), mock(SmsOutboxService.class),
+                mock(SmsDispatchService.class), mock(SmsRateLimiter.class), mock(SmsIdempotencyService.class), mock(OperationRegistry.class),
+                userDetailCache, mock(UserCredentialsService.class), failedAttemptCounter, parallelVerificationService);
+    }
+
+    @Test
+    void testValidPasswordResetsFailedAttempts() throws Exception {
+        recordFailures(2);
+
+        final UserAuthenticationResponse response = dataAdapterService.authenticateUser(USER_ID, VALID_PASSWORD, authenticationContext(), ORGANIZATION_ID, new OperationContext());
+
+        assertEquals(UserAuthenticationResult.SUCCEEDED, response.getAuthenticationResult());
+        assertEquals(5, failedAttemptCounter.getStatus(USER_ID).remainingAttempts());
+    }
+
+    @Test
+    void testInvalidPasswordCountsFailedAttempt() throws Exception {
+        recordFailures(2);
+
+        final UserAuthenticationResponse response = dataAdapterService.authenticateUser(USER_ID, "invalid", authenticationContext(), ORGANIZATION_ID, new OperationContext());
+
+        assertEquals(UserAuthenticationResult.FAILED, response.getAuthenticationResult());
+        assertEquals(2, response.getRemainingAttempts());
+    }
+
+    @Test
+    void testFailedSmsDoesNotResetFailedAttempts() throws Exception {
+        recordFailures(2);
+        mockSmsVerification(SmsAuthorizationResult.FAILED);
+
+        final VerifySmsAndPasswordResponse response = verifySmsAndPassword();
+
+        assertEquals(SmsAuthorizationResult.FAILED, response.getSmsAuthorizationResult());
+        assertEquals(UserAuthenticationResult.SUCCEEDED, response.getUserAuthenticationResult());
+        assertEquals(3, failedAttemptCounter.getStatus(USER_ID).remainingAttempts());
+    }
+
+    @Test
+    void testFailedSmsDoesNotResetFailedAttemptsInParallel() throws Exception {
+        enableParallelVerification();
+        recordFailures(2);
+        mockSmsVerification(SmsAuthorizationResult.FAILED);
+
+        final VerifySmsAndPasswordResponse response = verifySmsAndPassword();
+
+        assertEquals(SmsAuthorizationResult.FAILED, response.getSmsAuthorizationResult());
+        assertEquals(UserAuthenticationResult.SUCCEEDED, response.getUserAuthenticationResult());
+        assertEquals(3, failedAttemptCounter.getStatus(USER_ID).remainingAttempts());
+    }
+
+    @Test
+    void testSuccessfulSmsAndPasswordResetsFailedAttempts() throws Exception {
+        recordFailures(2);
+        mockSmsVerification(SmsAuthorizationResult.SUCCEEDED);
+
+        final VerifySmsAndPasswordResponse response = verifySmsAndPassword();
+
+        assertEquals(SmsAuthorizationResult.SUCCEEDED, response.getSmsAuthorizationResult());
+        assertEquals(UserAuthenticationResult.SUCCEEDED, response.getUserAuthenticationResult());
+        assertEquals(5, failedAttemptCounter.getStatus(USER_ID).remainingAttempts());
+    }
+
+    @Test
+    void testSuccessfulSmsAndPasswordResetsFailedAttemptsInParallel() throws Exception {
+        enableParallelVerification();
+        recordFailures(2);
+        mockSmsVerification(SmsAuthorizationResult.SUCCEEDED);
+
+        final VerifySmsAndPasswordResponse response = verifySmsAndPassword();
+
+        assertEquals(UserAuthenticationResult.SUCCEEDED, response.getUserAuthenticationResult());
+        assertEquals(5, failedAttemptCounter.getStatus(USER_ID).remainingAttempts());
+    }
+
+    private void recordFailures(int count) {
+        for (int i = 0; i < count; i++) {
+            failedAttemptCounter.recordFailure(USER_ID);
+        }
+    }
+
+    private void mockSmsVerification(SmsAuthorizationResult result) {
+        final VerifySmsAuthorizationResponse smsResponse = new VerifySmsAuthorizationResponse();
+        smsResponse.setSmsAuthorizationResult(result);
+        when(smsPersistenceService.verifyAuthorizationSms("message-1", "12345678", true)).thenReturn(smsResponse);
+    }
+
+    private void enableParallelVerification() throws Exception {
+        when(parallelVerificationService.isEnabled()).thenReturn(true);
+        when(parallelVerificationService.invokeBoth(any(), any())).thenAnswer(invocation -> {
+            final Callable<?> first = invocation.getArgument(0);
+            final Callable<?> second = invocation.getArgument(1);
+            return new ParallelVerificationService.Results<>(first.call(), second.call());
+        });
+    }
+
+    private VerifySmsAndPasswordResponse verifySmsAndPassword() throws Exception {
+        return dataAdapterService.verifyAuthorizationSmsAndPassword(USER_ID, ORGANIZATION_ID, AccountStatus.ACTIVE, "message-1", "12345678",
+                new OperationContext(), authenticationContext(), VALID_PASSWORD);
+    }
+
+    private static AuthenticationContext authenticationContext() {
+        final AuthenticationContext authenticationContext = new AuthenticationContext();
+        authenticationContext.setPasswordProtection(PasswordProtectionType.NO_PROTECTION);
+        return authenticationContext;
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.impl.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsOutboxRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsOutboxMessage;
+import io.getlime.security.powerauth.app.dataadapter.service.SmsPersistenceService;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of delivery of SMS OTP authorization messages from the outbox.
+ *
+ * @author Wultra s.r.o.
+ */
+class SmsOutboxServiceTest {
+
+    private static final SmsOutboxMessage MESSAGE = new SmsOutboxMessage("message-1", "user-1", "RETAIL", "operation-1", "Code: 12345678", 1);
+
+    private SmsPersistenceService smsPersistenceService;
+    private SmsDeliveryService smsDeliveryService;
+    private SmsOutboxRepository smsOutboxRepository;
+    private DataAdapterConfiguration configuration;
+    private SmsOutboxService smsOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        smsPersistenceService = mock(SmsPersistenceService.class);
+        smsDeliveryService = mock(SmsDeliveryService.class);
+        smsOutboxRepository = mock(SmsOutboxRepository.class);
+        configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.isSmsOtpOutboxEnabled()).thenReturn(true);
+        when(configuration.getSmsOtpOutboxWorkers()).thenReturn(1);
+        when(configuration.getSmsOtpOutboxBatchSize()).thenReturn(10);
+        when(configuration.getSmsOtpOutboxLeaseTime()).thenReturn(60_000L);
+        when(configuration.getSmsOtpOutboxMaxAttempts()).thenReturn(2);
+        when(configuration.getSmsOtpOutboxRetryBackoff()).thenReturn(1000L);
+        when(smsPersistenceService.isTransactional()).thenReturn(true);
+        when(smsOutboxRepository.claim(anyInt(), anyLong())).thenReturn(List.of(MESSAGE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (smsOutboxService != null) {
+            smsOutboxService.shutdown();
+        }
+    }
+
+    @Test
+    void testOutboxRequiresTransactionalOtpStore() {
+        when(smsPersistenceService.isTransactional()).thenReturn(false);
+
+        assertThrows(IllegalStateException.class,
+                () -> new SmsOutboxService(smsPersistenceService, smsDeliveryService, smsOutboxRepository, configuration));
+    }
+
+    @Test
+    void testDisabledOutboxAcceptsInMemoryOtpStore() {
+        when(configuration.isSmsOtpOutboxEnabled()).thenReturn(false);
+        when(smsPersistenceService.isTransactional()).thenReturn(false);
+
+        smsOutboxService = new SmsOutboxService(smsPersistenceService, smsDeliveryService, smsOutboxRepository, configuration);
+        smsOutboxService.dispatch();
+
+        verify(smsOutboxRepository, never()).claim(anyInt(), anyLong());
+    }
+
+    @Test
+    void testDeliveryResultRecordedInOtpStore() {
+        when(smsDeliveryService.sendAuthorizationSms("user-1", "RETAIL", "message-1", "Code: 12345678", null))
+                .thenReturn(SmsDeliveryResult.SUCCEEDED);
+        smsOutboxService = new SmsOutboxService(smsPersistenceService, smsDeliveryService, smsOutboxRepository, configuration);
+
+        smsOutboxService.dispatch();
+
+        final InOrder order = inOrder(smsPersistenceService, smsOutboxRepository);
+        order.verify(smsPersistenceService).recordDeliveryResult("message-1", SmsDeliveryResult.SUCCEEDED);
+        order.verify(smsOutboxRepository).complete("message-1");
+    }
+
+    @Test
+    void testFailedDeliveryRescheduled() {
+        when(smsDeliveryService.sendAuthorizationSms("user-1", "RETAIL", "message-1", "Code: 12345678", null))
+                .thenReturn(SmsDeliveryResult.FAILED);
+        smsOutboxService = new SmsOutboxService(smsPersistenceService, smsDeliveryService, smsOutboxRepository, configuration);
+
+        smsOutboxService.dispatch();
+
+        verify(smsOutboxRepository).reschedule(eq("message-1"), any());
+        verify(smsPersistenceService, never()).recordDeliveryResult(any(), any());
+        verify(smsOutboxRepository, never()).complete(any());
+    }
+
+}
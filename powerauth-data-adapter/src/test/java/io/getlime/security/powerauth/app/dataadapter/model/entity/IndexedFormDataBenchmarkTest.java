@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.model.entity;
+
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.FormData;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.Attribute;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.FormFieldConfig;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.attribute.KeyValueAttribute;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Benchmark of attribute and field configuration lookups in large operation forms, comparing scans of the form data
+ * lists with lookups using {@link IndexedFormData}.
+ * <p>
+ * The benchmark is executed only when the duration is set, e.g.
+ * {@code mvn test -Dtest=IndexedFormDataBenchmarkTest -Dbenchmark.formData.durationInSeconds=5}. Each measured
+ * request creates a new indexed view, the same as a request processed by the data adapter, and looks up the given
+ * number of attributes and field configurations. The form sizes are set using property benchmark.formData.attributes,
+ * the numbers of lookups per request are set using property benchmark.formData.lookups.
+ *
+ * @author Wultra s.r.o.
+ */
+@EnabledIfSystemProperty(named = "benchmark.formData.durationInSeconds", matches = "\\d+")
+class IndexedFormDataBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedFormDataBenchmarkTest.class);
+
+    @Test
+    void testLookupThroughput() {
+        final long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("benchmark.formData.durationInSeconds"));
+        for (String attributesValue : System.getProperty("benchmark.formData.attributes", "50,100,200").split(",")) {
+            final int attributeCount = Integer.parseInt(attributesValue.trim());
+            final FormData formData = createFormData(attributeCount);
+            for (String lookupsValue : System.getProperty("benchmark.formData.lookups", "1,2,5,10").split(",")) {
+                final String[] ids = lookupIds(attributeCount, Integer.parseInt(lookupsValue.trim()));
+                // Both lookups must find the same attributes and field configurations
+                final IndexedFormData indexedFormData = new IndexedFormData(formData);
+                for (String id : ids) {
+                    assertSame(findAttribute(formData, id), indexedFormData.getAttribute(id));
+                    assertSame(findConfig(formData, id), indexedFormData.getConfig(id));
+                }
+                // Warm up before the measurement
+                measure(formData, ids, false, durationNanos / 5);
+                measure(formData, ids, true, durationNanos / 5);
+                final long scanRequests = measure(formData, ids, false, durationNanos);
+                final long indexedRequests = measure(formData, ids, true, durationNanos);
+                logger.info("Form attributes: {}, lookups per request: {}, scan: {} ns per request, indexed: {} ns per request",
+                        attributeCount, ids.length, String.format("%.0f", durationNanos / (double) scanRequests),
+                        String.format("%.0f", durationNanos / (double) indexedRequests));
+            }
+        }
+    }
+
+    /**
+     * Measure the number of requests processed within the duration.
+     * @param formData Form data.
+     * @param ids Attribute IDs looked up in each request.
+     * @param indexed Whether lookups use the indexed view.
+     * @param durationNanos Duration in nanoseconds.
+     * @return Number of processed requests.
+     */
+    private static long measure(FormData formData, String[] ids, boolean indexed, long durationNanos) {
+        final long deadline = System.nanoTime() + durationNanos;
+        long requests = 0;
+        long found = 0;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 100; i++) {
+                if (indexed) {
+                    final IndexedFormData indexedFormData = new IndexedFormData(formData);
+                    for (String id : ids) {
+                        found += indexedFormData.getAttribute(id) != null ? 1 : 0;
+                        found += indexedFormData.getConfig(id) != null ? 1 : 0;
+                    }
+                } else {
+                    for (String id : ids) {
+                        found += findAttribute(formData, id) != null ? 1 : 0;
+                        found += findConfig(formData, id) != null ? 1 : 0;
+                    }
+                }
+            }
+            requests += 100;
+        }
+        // Every looked up attribute and field configuration exists
+        assertEquals(requests * ids.length * 2, found);
+        return requests;
+    }
+
+    /**
+     * Find the first attribute with given ID by scanning the form data parameters.
+     */
+    private static Attribute findAttribute(FormData formData, String id) {
+        for (Attribute attribute : formData.getParameters()) {
+            if (id.equals(attribute.getId())) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the last field configuration with given ID by scanning the form data configuration.
+     */
+    private static FormFieldConfig findConfig(FormData formData, String id) {
+        FormFieldConfig result = null;
+        for (FormFieldConfig config : formData.getConfig()) {
+            if (id.equals(config.getId())) {
+                result = config;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create form data with given number of key-value attributes, each attribute has a field configuration.
+     */
+    private static FormData createFormData(int attributeCount) {
+        final List<Attribute> parameters = new ArrayList<>(attributeCount);
+        final List<FormFieldConfig> configs = new ArrayList<>(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            final KeyValueAttribute attribute = new KeyValueAttribute();
+            attribute.setId("operation.attribute" + i);
+            attribute.setValue("value" + i);
+            parameters.add(attribute);
+            final FormFieldConfig config = new FormFieldConfig();
+            config.setId("operation.attribute" + i);
+            config.setEnabled(true);
+            config.setDefaultValue("value" + i);
+            configs.add(config);
+        }
+        final FormData formData = new FormData();
+        formData.setParameters(parameters);
+        formData.setConfig(configs);
+        return formData;
+    }
+
+    /**
+     * IDs of attributes spread over the form, the first ID is the last attribute of the form.
+     */
+    private static String[] lookupIds(int attributeCount, int lookups) {
+        final String[] ids = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            ids[i] = "operation.attribute" + (attributeCount - 1 - (long) i * attributeCount / lookups);
+        }
+        return ids;
+    }
+
+}
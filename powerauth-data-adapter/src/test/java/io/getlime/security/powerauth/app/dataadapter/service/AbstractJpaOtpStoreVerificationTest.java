@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.SmsAuthorizationRepository;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsAuthorizationVerification;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verification tests of SMS OTP authorization messages stored using JPA, executed against each supported database.
+ * Each test runs in a transaction which is rolled back after the test.
+ *
+ * @author Wultra s.r.o.
+ */
+@Transactional
+abstract class AbstractJpaOtpStoreVerificationTest {
+
+    protected static final String MESSAGE_ID = "a1b2c3d4-0000-0000-0000-000000000001";
+    protected static final String AUTHORIZATION_CODE = "12345678";
+    protected static final int MAX_VERIFY_TRIES = 3;
+
+    @Autowired
+    protected JpaOtpStore otpStore;
+
+    @Autowired
+    protected SmsAuthorizationRepository smsAuthorizationRepository;
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    @MockitoBean
+    protected DataAdapterConfiguration dataAdapterConfiguration;
+
+    /**
+     * Whether the database supports atomic verification using a single statement.
+     * @return Whether atomic verification is expected.
+     */
+    protected abstract boolean isAtomicVerificationExpected();
+
+    @BeforeEach
+    void setUp() {
+        when(dataAdapterConfiguration.isSmsOtpAtomicVerificationEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void testAtomicVerificationSupport() {
+        assertEquals(isAtomicVerificationExpected(), smsAuthorizationRepository.isAtomicVerificationSupported());
+    }
+
+    @Test
+    void testVerifyCorrectCode() {
+        persist(createEntity(0, 300_000L));
+
+        final SmsAuthorizationVerification verification = verify(AUTHORIZATION_CODE, false);
+
+        assertTrue(verification.verifiedNow());
+        assertTrue(verification.verified());
+        assertFalse(verification.expired());
+        assertEquals(1, verification.verifyRequestCount());
+        assertEquals(AUTHORIZATION_CODE, verification.authorizationCode());
+        final SmsAuthorizationEntity stored = reload();
+        assertTrue(stored.isVerified());
+        assertNotNull(stored.getTimestampVerified());
+        assertEquals(1, stored.getVerifyRequestCount());
+    }
+
+    @Test
+    void testVerifyWrongCode() {
+        persist(createEntity(0, 300_000L));
+
+        final SmsAuthorizationVerification verification = verify("87654321", false);
+
+        assertFalse(verification.verifiedNow());
+        assertFalse(verification.verified());
+        assertFalse(verification.expired());
+        assertEquals(1, verification.verifyRequestCount());
+        final SmsAuthorizationEntity stored = reload();
+        assertFalse(stored.isVerified());
+        assertNull(stored.getTimestampVerified());
+        assertEquals(1, stored.getVerifyRequestCount());
+    }
+
+    @Test
+    void testVerifyLastAllowedAttempt() {
+        persist(createEntity(MAX_VERIFY_TRIES - 1, 300_000L));
+
+        final SmsAuthorizationVerification verification = verify(AUTHORIZATION_CODE, false);
+
+        assertTrue(verification.verifiedNow());
+        assertEquals(MAX_VERIFY_TRIES, verification.verifyRequestCount());
+        assertTrue(reload().isVerified());
+    }
+
+    @Test
+    void testVerifyMaxAttemptsReached() {
+        persist(createEntity(MAX_VERIFY_TRIES, 300_000L));
+
+        final SmsAuthorizationVerification verification = verify(AUTHORIZATION_CODE, false);
+
+        assertFalse(verification.verifiedNow());
+        assertFalse(verification.verified());
+        assertEquals(MAX_VERIFY_TRIES + 1, verification.verifyRequestCount());
+        final SmsAuthorizationEntity stored = reload();
+        assertFalse(stored.isVerified());
+        assertEquals(MAX_VERIFY_TRIES + 1, stored.getVerifyRequestCount());
+    }
+
+    @Test
+    void testVerifyExpired() {
+        persist(createEntity(0, -1_000L));
+
+        final SmsAuthorizationVerification verification = verify(AUTHORIZATION_CODE, false);
+
+        assertFalse(verification.verifiedNow());
+        assertFalse(verification.verified());
+        assertTrue(verification.expired());
+        assertEquals(1, verification.verifyRequestCount());
+        final SmsAuthorizationEntity stored = reload();
+        assertFalse(stored.isVerified());
+        assertEquals(1, stored.getVerifyRequestCount());
+    }
+
+    @Test
+    void testVerifyMissingMessage() {
+        final Optional<SmsAuthorizationVerification> verification = otpStore.verifyAuthorizationSms(MESSAGE_ID, AUTHORIZATION_CODE, false, MAX_VERIFY_TRIES);
+
+        assertTrue(verification.isEmpty());
+    }
+
+    @Test
+    void testVerifyAlreadyVerified() {
+        persist(createEntity(0, 300_000L));
+        assertTrue(verify(AUTHORIZATION_CODE, false).verifiedNow());
+
+        final SmsAuthorizationVerification repeated = verify(AUTHORIZATION_CODE, false);
+        assertFalse(repeated.verifiedNow());
+        assertTrue(repeated.verified());
+        assertEquals(2, repeated.verifyRequestCount());
+
+        final SmsAuthorizationVerification allowed = verify(AUTHORIZATION_CODE, true);
+        assertTrue(allowed.verifiedNow());
+        assertEquals(3, allowed.verifyRequestCount());
+    }
+
+    protected SmsAuthorizationVerification verify(String authorizationCode, boolean allowMultipleVerifications) {
+        final SmsAuthorizationVerification verification = otpStore.verifyAuthorizationSms(MESSAGE_ID, authorizationCode, allowMultipleVerifications, MAX_VERIFY_TRIES)
+                .orElseThrow();
+        entityManager.flush();
+        entityManager.clear();
+        return verification;
+    }
+
+    protected void persist(SmsAuthorizationEntity smsEntity) {
+        entityManager.persistAndFlush(smsEntity);
+        entityManager.clear();
+    }
+
+    protected SmsAuthorizationEntity reload() {
+        return entityManager.find(SmsAuthorizationEntity.class, MESSAGE_ID);
+    }
+
+    protected static SmsAuthorizationEntity createEntity(int verifyRequestCount, long expiresInMillis) {
+        final Date now = new Date();
+        final SmsAuthorizationEntity smsEntity = new SmsAuthorizationEntity();
+        smsEntity.setMessageId(MESSAGE_ID);
+        smsEntity.setOperationId("operation-1");
+        smsEntity.setUserId("user-1");
+        smsEntity.setOrganizationId("RETAIL");
+        smsEntity.setOperationName("login");
+        smsEntity.setAuthorizationCode(AUTHORIZATION_CODE);
+        smsEntity.setSalt(new byte[16]);
+        smsEntity.setMessageText("Authorization code: " + AUTHORIZATION_CODE);
+        smsEntity.setVerifyRequestCount(verifyRequestCount);
+        smsEntity.setTimestampCreated(now);
+        smsEntity.setTimestampExpires(new Date(now.getTime() + expiresInMillis));
+        smsEntity.setTimestampLastSent(now);
+        return smsEntity;
+    }
+
+}
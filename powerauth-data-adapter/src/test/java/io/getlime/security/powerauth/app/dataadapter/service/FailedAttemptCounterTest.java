@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.UserFailedAttemptRepository;
+import io.getlime.security.powerauth.app.dataadapter.service.FailedAttemptCounter.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of the counters of failed authentication attempts.
+ *
+ * @author Wultra s.r.o.
+ */
+class FailedAttemptCounterTest {
+
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long BLOCK_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private UserFailedAttemptRepository repository;
+    private DataAdapterConfiguration configuration;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        // Users are blocked for 5 minutes after 3 failed attempts within a minute, one counter is kept per stripe
+        repository = mock(UserFailedAttemptRepository.class);
+        configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.isFailedAttemptsEnabled()).thenReturn(true);
+        when(configuration.getFailedAttemptsMaxAttempts()).thenReturn(3);
+        when(configuration.getFailedAttemptsWindow()).thenReturn(60L);
+        when(configuration.getFailedAttemptsBlockDuration()).thenReturn(300L);
+        when(configuration.getFailedAttemptsMaxEntries()).thenReturn(64);
+        when(configuration.getFailedAttemptsFlushBatchSize()).thenReturn(100);
+        // Eviction checks blocking using the system clock
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void testDisabledCounter() {
+        when(configuration.isFailedAttemptsEnabled()).thenReturn(false);
+        final FailedAttemptCounter counter = new FailedAttemptCounter(repository, configuration);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new Status(false, null), counter.recordFailure("user-1", now));
+        }
+        assertEquals(new Status(false, null), counter.getStatus("user-1", now));
+        verify(repository, never()).findByUserId("user-1");
+    }
+
+    @Test
+    void testBlocking() {
+        final FailedAttemptCounter counter = new FailedAttemptCounter(repository, configuration);
+
+        assertEquals(new Status(false, 3), counter.getStatus("user-1", now));
+        assertEquals(new Status(false, 2), counter.recordFailure("user-1", now));
+        assertEquals(new Status(false, 1), counter.recordFailure("user-1", now + 1000));
+        assertEquals(new Status(true, 0), counter.recordFailure("user-1", now + 2000));
+        assertEquals(new Status(true, 0), counter.getStatus("user-1", now + 3000));
+
+        // Other users are not affected
+        assertEquals(new Status(false, 3), counter.getStatus("user-2", now + 3000));
+    }
+
+    @Test
+    void testUnblocking() {
+        final FailedAttemptCounter counter = new FailedAttemptCounter(repository, configuration);
+        for (int i = 0; i < 3; i++) {
+            counter.recordFailure("user-1", now);
+        }
+
+        // Failed attempts of a blocked user do not extend the block
+        assertEquals(new Status(true, 0), counter.recordFailure("user-1", now + BLOCK_MILLIS - 1));
+        assertEquals(new Status(true, 0), counter.getStatus("user-1", now + BLOCK_MILLIS - 1));
+
+        // The counter starts again once the block expires
+        assertEquals(new Status(false, 3), counter.getStatus("user-1", now + BLOCK_MILLIS));
+        assertEquals(new Status(false, 2), counter.recordFailure("user-1", now + BLOCK_MILLIS));
+    }
+
+    @Test
+    void testReset() {
+        final FailedAttemptCounter counter = new FailedAttemptCounter(repository, configuration);
+        counter.recordFailure("user-1", now);
+        counter.recordFailure("user-1", now);
+
+        counter.reset("user-1");
+
+        assertEquals(new Status(false, 3), counter.getStatus("user-1", now));
+        assertEquals(new Status(false, 2), counter.recordFailure("user-1", now));
+    }
+
+    @Test
+    void testSlidingWindow() {
+        final FailedAttemptCounter counter = new FailedAttemptCounter(repository, configuration);
+        counter.recordFailure("user-1", now);
+        counter.recordFailure("user-1", now);
+
+        // Half of the previous window overlaps the sliding window
+        assertEquals(new Status(false, 2), counter.getStatus("user-1", now + WINDOW_MILLIS + WINDOW_MILLIS / 2));
+        // Failed attempts older than two windows are not counted
+        assertEquals(new Status(false, 3), counter.getStatus("user-1", now + 2 * WINDOW_MILLIS));
+    }
+
+    @Test
+    void testBlockedCounterNeverEvicted() {
+        final FailedAttemptCounter counter = new FailedAttemptCounter(repository, configuration);
+        counter.recordFailure("user-evicted", now);
+        counter.recordFailure("user-evicted", now);
+        for (int i = 0; i < 3; i++) {
+            counter.recordFailure("user-blocked", now);
+        }
+
+        // Fill the stripes with more counters than their capacity
+        for (int i = 0; i < 10_000; i++) {
+            counter.recordFailure("user-" + i, now);
+        }
+
+        // The evicted counter is kept until it is written to the database
+        assertEquals(new Status(false, 1), counter.getStatus("user-evicted", now));
+        counter.flush();
+        clearInvocations(repository);
+        for (int i = 0; i < 10_000; i++) {
+            counter.recordFailure("user-" + i, now);
+        }
+
+        // The written counter is looked up in the database once evicted, the blocked counter stays in memory
+        assertEquals(new Status(false, 3), counter.getStatus("user-evicted", now));
+        verify(repository).findByUserId("user-evicted");
+        assertEquals(new Status(true, 0), counter.getStatus("user-blocked", now));
+        verify(repository, never()).findByUserId("user-blocked");
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of the time-bucketed Bloom filter of SMS OTP message IDs.
+ *
+ * @author Wultra s.r.o.
+ */
+class MessageIdFilterTest {
+
+    private static final int EXPIRATION_TIME_SECONDS = 300;
+    private static final long BUCKET_WIDTH_MILLIS = EXPIRATION_TIME_SECONDS * 1000L;
+
+    private DataAdapterConfiguration configuration;
+
+    /**
+     * Start of an epoch after the warm-up of a filter created now.
+     */
+    private long epochStart;
+
+    @BeforeEach
+    void setUp() {
+        configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.isSmsOtpMessageIdFilterEnabled()).thenReturn(true);
+        when(configuration.getSmsOtpExpirationTime()).thenReturn(EXPIRATION_TIME_SECONDS);
+        when(configuration.getSmsOtpMessageIdFilterExpectedMessages()).thenReturn(1000);
+        when(configuration.getSmsOtpMessageIdFilterFalsePositiveProbability()).thenReturn(0.01);
+        epochStart = (System.currentTimeMillis() / BUCKET_WIDTH_MILLIS + 10) * BUCKET_WIDTH_MILLIS;
+    }
+
+    @Test
+    void testDisabledFilterPassesAllMessageIds() {
+        when(configuration.isSmsOtpMessageIdFilterEnabled()).thenReturn(false);
+        final MessageIdFilter filter = new MessageIdFilter(configuration);
+
+        assertTrue(filter.mightContain("unknown", epochStart));
+    }
+
+    @Test
+    void testWarmUpPassesUnknownMessageIds() {
+        final long created = System.currentTimeMillis();
+        final MessageIdFilter filter = new MessageIdFilter(configuration);
+
+        assertTrue(filter.mightContain("unknown", created));
+        assertTrue(filter.mightContain("unknown", created + 2 * BUCKET_WIDTH_MILLIS - 1_000));
+        assertFalse(filter.mightContain("unknown", System.currentTimeMillis() + 2 * BUCKET_WIDTH_MILLIS + 1));
+    }
+
+    @Test
+    void testMessageIdKnownUntilBucketAgesOut() {
+        final MessageIdFilter filter = new MessageIdFilter(configuration);
+        final long created = epochStart + BUCKET_WIDTH_MILLIS - 1;
+        filter.add("message-1", created);
+
+        assertTrue(filter.mightContain("message-1", created));
+        assertTrue(filter.mightContain("message-1", created + BUCKET_WIDTH_MILLIS));
+        // Message expires after one period, it stays known for one more period
+        assertTrue(filter.mightContain("message-1", epochStart + 3 * BUCKET_WIDTH_MILLIS - 1));
+        assertFalse(filter.mightContain("message-1", epochStart + 3 * BUCKET_WIDTH_MILLIS));
+        assertFalse(filter.mightContain("message-2", created));
+    }
+
+    @Test
+    void testBucketRotationClearsOldMessageIds() {
+        final MessageIdFilter filter = new MessageIdFilter(configuration);
+        filter.add("message-1", epochStart);
+        filter.add("message-2", epochStart + BUCKET_WIDTH_MILLIS);
+        // The bucket of the first epoch is reused and cleared three epochs later
+        filter.add("message-3", epochStart + 3 * BUCKET_WIDTH_MILLIS);
+
+        final long now = epochStart + 3 * BUCKET_WIDTH_MILLIS;
+        assertFalse(filter.mightContain("message-1", now));
+        assertTrue(filter.mightContain("message-2", now));
+        assertTrue(filter.mightContain("message-3", now));
+        // Reusing the bucket does not bring back message IDs of the cleared epoch
+        assertFalse(filter.mightContain("message-1", epochStart + 4 * BUCKET_WIDTH_MILLIS));
+    }
+
+    @Test
+    void testNullMessageId() {
+        final MessageIdFilter filter = new MessageIdFilter(configuration);
+        filter.add(null, epochStart);
+
+        assertFalse(filter.mightContain(null, epochStart));
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        final MessageIdFilter filter = new MessageIdFilter(configuration);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("message-" + i, epochStart);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("message-" + i, epochStart));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("unknown-" + i, epochStart)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "False positive count: " + falsePositives);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark of insert throughput and primary key index size for random and time-ordered message IDs.
+ * <p>
+ * The benchmark requires a PostgreSQL database and it is executed only when the JDBC URL is set, e.g.
+ * {@code mvn test -Dtest=MessageIdGeneratorBenchmarkTest -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/powerauth
+ * -Dbenchmark.jdbc.username=powerauth -Dbenchmark.jdbc.password=}. The number of inserted rows is set using
+ * property benchmark.rows.
+ *
+ * @author Wultra s.r.o.
+ */
+@EnabledIfSystemProperty(named = "benchmark.jdbc.url", matches = ".+")
+class MessageIdGeneratorBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageIdGeneratorBenchmarkTest.class);
+
+    private static final String TABLE_NAME = "da_message_id_benchmark";
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    void testRandomMessageIds() throws SQLException {
+        benchmark("random", new RandomMessageIdGenerator());
+    }
+
+    @Test
+    void testTimeOrderedMessageIds() throws SQLException {
+        benchmark("time-ordered", new TimeOrderedMessageIdGenerator());
+    }
+
+    private void benchmark(String type, MessageIdGenerator generator) throws SQLException {
+        final int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc.url"),
+                System.getProperty("benchmark.jdbc.username"), System.getProperty("benchmark.jdbc.password"))) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE_NAME);
+                statement.execute("CREATE TABLE " + TABLE_NAME + " (message_id VARCHAR(256) NOT NULL PRIMARY KEY, timestamp_created TIMESTAMP NOT NULL)");
+                connection.commit();
+            }
+            try {
+                final long started = System.nanoTime();
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE_NAME + " (message_id, timestamp_created) VALUES (?, ?)")) {
+                    for (int i = 1; i <= rows; i++) {
+                        insert.setString(1, generator.generateMessageId());
+                        insert.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+                        insert.addBatch();
+                        if (i % BATCH_SIZE == 0 || i == rows) {
+                            insert.executeBatch();
+                            connection.commit();
+                        }
+                    }
+                }
+                final long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT COUNT(*), pg_relation_size('" + TABLE_NAME + "_pkey') FROM " + TABLE_NAME)) {
+                    rs.next();
+                    assertEquals(rows, rs.getLong(1));
+                    logger.info("Message ID type: {}, rows: {}, time: {} ms, inserts per second: {}, primary key index size: {} kB",
+                            type, rows, elapsedMillis, rows * 1000L / elapsedMillis, rs.getLong(2) / 1024);
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE " + TABLE_NAME);
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of bcrypt password verification throughput for cost factors around the configured one.
+ * <p>
+ * The benchmark is executed only when the target number of logins per second is set, e.g.
+ * {@code mvn test -Dtest=PasswordVerificationBenchmarkTest -Dbenchmark.bcrypt.loginsPerSecond=200}. For each cost factor
+ * the benchmark measures verifications per second of a pool with one thread per CPU core, the same pool size as the
+ * default of powerauth.dataAdapter.userCredentials.hashThreads, and reports whether the target is reached. The tested
+ * cost factors are set using property benchmark.bcrypt.strengths, the benchmark duration for each cost factor is set
+ * using property benchmark.bcrypt.durationInSeconds.
+ *
+ * @author Wultra s.r.o.
+ */
+@EnabledIfSystemProperty(named = "benchmark.bcrypt.loginsPerSecond", matches = "\\d+")
+class PasswordVerificationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerificationBenchmarkTest.class);
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Test
+    void testBcryptThroughput() throws InterruptedException, ExecutionException {
+        final int target = Integer.getInteger("benchmark.bcrypt.loginsPerSecond");
+        final long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("benchmark.bcrypt.durationInSeconds", 10));
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int strongestReachingTarget = -1;
+        try {
+            for (String value : System.getProperty("benchmark.bcrypt.strengths", "8,9,10,11,12").split(",")) {
+                final int strength = Integer.parseInt(value.trim());
+                final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+                final String hash = passwordEncoder.encode(PASSWORD);
+                // Warm up before the measurement
+                passwordEncoder.matches(PASSWORD, hash);
+                final long deadline = System.nanoTime() + durationNanos;
+                final long started = System.nanoTime();
+                final List<Future<Integer>> results = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        int count = 0;
+                        while (System.nanoTime() < deadline) {
+                            assertTrue(passwordEncoder.matches(PASSWORD, hash));
+                            count++;
+                        }
+                        return count;
+                    }));
+                }
+                long verifications = 0;
+                for (Future<Integer> result : results) {
+                    verifications += result.get();
+                }
+                final double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                final long perSecond = (long) (verifications / elapsedSeconds);
+                final double averageMillis = threads * elapsedSeconds * 1000 / Math.max(1, verifications);
+                final boolean reached = perSecond >= target;
+                if (reached) {
+                    strongestReachingTarget = Math.max(strongestReachingTarget, strength);
+                }
+                logger.info("Bcrypt cost factor: {}, hash threads: {}, verification time: {} ms, logins per second: {}, target {} reached: {}",
+                        strength, threads, String.format("%.1f", averageMillis), perSecond, target, reached);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (strongestReachingTarget < 0) {
+            logger.info("No tested cost factor reaches {} logins per second with {} hash threads", target, threads);
+        } else {
+            logger.info("Highest cost factor reaching {} logins per second with {} hash threads: {}", target, threads, strongestReachingTarget);
+        }
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.entity.SmsAuthorizationEntity;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.SmsDeliveryResult;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.CreateSmsAuthorizationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of idempotent creation of SMS OTP messages.
+ *
+ * @author Wultra s.r.o.
+ */
+class SmsIdempotencyServiceTest {
+
+    private static final String IDEMPOTENCY_KEY = "idempotency-key";
+
+    private OtpStore otpStore;
+    private SmsIdempotencyService idempotencyService;
+    private final AtomicInteger createCount = new AtomicInteger();
+    private final AtomicInteger retryCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        otpStore = mock(OtpStore.class);
+        when(otpStore.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        final DataAdapterConfiguration configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.isSmsOtpIdempotencyEnabled()).thenReturn(true);
+        when(configuration.getSmsOtpIdempotencyTtl()).thenReturn(60L);
+        when(configuration.getSmsOtpIdempotencyWaitTimeout()).thenReturn(5000L);
+        when(configuration.getSmsOtpIdempotencyMaxEntries()).thenReturn(1000);
+        idempotencyService = new SmsIdempotencyService(otpStore, configuration);
+    }
+
+    @Test
+    void testDuplicateRequest() throws Exception {
+        final CreateSmsAuthorizationResponse first = execute(SmsDeliveryResult.SUCCEEDED);
+        final CreateSmsAuthorizationResponse duplicate = execute(SmsDeliveryResult.SUCCEEDED);
+
+        assertEquals(first.getMessageId(), duplicate.getMessageId());
+        assertEquals(1, createCount.get());
+        assertEquals(0, retryCount.get());
+    }
+
+    @Test
+    void testDuplicateRequestOfStoredMessage() throws Exception {
+        // The cached response is not available, e.g. the duplicate reached another node
+        storeMessage(SmsDeliveryResult.SUCCEEDED);
+
+        final CreateSmsAuthorizationResponse response = execute(SmsDeliveryResult.SUCCEEDED);
+
+        assertEquals("stored-message", response.getMessageId());
+        assertEquals(SmsDeliveryResult.SUCCEEDED, response.getSmsDeliveryResult());
+        assertEquals(0, createCount.get());
+        assertEquals(0, retryCount.get());
+    }
+
+    @Test
+    void testDuplicateRequestOfPendingMessage() throws Exception {
+        // Delivery of the stored message is still in progress
+        storeMessage(null);
+
+        final CreateSmsAuthorizationResponse response = execute(SmsDeliveryResult.SUCCEEDED);
+
+        assertEquals("stored-message", response.getMessageId());
+        assertEquals(SmsDeliveryResult.SUCCEEDED, response.getSmsDeliveryResult());
+        assertNull(response.getErrorMessage());
+        assertEquals(0, createCount.get());
+        assertEquals(0, retryCount.get());
+    }
+
+    @Test
+    void testConcurrentDuplicateRequests() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<CreateSmsAuthorizationResponse> first = executor.submit(() -> idempotencyService.execute(IDEMPOTENCY_KEY, () -> {
+                started.countDown();
+                await(release);
+                return response("message-" + createCount.incrementAndGet(), SmsDeliveryResult.SUCCEEDED);
+            }, this::retry));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            final Future<CreateSmsAuthorizationResponse> duplicate = executor.submit(() -> execute(SmsDeliveryResult.SUCCEEDED));
+            // The duplicate waits for the first request
+            Thread.sleep(100);
+            assertEquals(0, createCount.get());
+            release.countDown();
+
+            assertEquals("message-1", first.get(5, TimeUnit.SECONDS).getMessageId());
+            assertEquals("message-1", duplicate.get(5, TimeUnit.SECONDS).getMessageId());
+            assertEquals(1, createCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentRequestOnAnotherNode() throws Exception {
+        // The message is stored by another node between the lookup and the insert
+        final SmsAuthorizationEntity smsEntity = smsEntity(null);
+        when(otpStore.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(Optional.empty(), Optional.of(smsEntity));
+
+        final CreateSmsAuthorizationResponse response = idempotencyService.execute(IDEMPOTENCY_KEY, () -> {
+            createCount.incrementAndGet();
+            throw new DataIntegrityViolationException("Duplicate idempotency key");
+        }, this::retry);
+
+        assertEquals("stored-message", response.getMessageId());
+        assertEquals(SmsDeliveryResult.SUCCEEDED, response.getSmsDeliveryResult());
+        assertEquals(1, createCount.get());
+    }
+
+    @Test
+    void testRetryAfterFailedDelivery() throws Exception {
+        final CreateSmsAuthorizationResponse failed = execute(SmsDeliveryResult.FAILED);
+        assertEquals(SmsDeliveryResult.FAILED, failed.getSmsDeliveryResult());
+        storeMessage(SmsDeliveryResult.FAILED);
+
+        // Failed response is not cached, the stored message is sent again under the same message ID
+        final CreateSmsAuthorizationResponse retried = execute(SmsDeliveryResult.SUCCEEDED);
+        assertEquals("stored-message", retried.getMessageId());
+        assertEquals(SmsDeliveryResult.SUCCEEDED, retried.getSmsDeliveryResult());
+        assertEquals(1, createCount.get());
+        assertEquals(1, retryCount.get());
+
+        // Successful retry is cached
+        final CreateSmsAuthorizationResponse duplicate = execute(SmsDeliveryResult.SUCCEEDED);
+        assertEquals("stored-message", duplicate.getMessageId());
+        assertEquals(1, createCount.get());
+        assertEquals(1, retryCount.get());
+    }
+
+    @Test
+    void testFailedRetry() throws Exception {
+        storeMessage(SmsDeliveryResult.FAILED);
+
+        final CreateSmsAuthorizationResponse response = idempotencyService.execute(IDEMPOTENCY_KEY, () -> fail("Message must not be created again"), messageId -> {
+            retryCount.incrementAndGet();
+            return response(messageId, SmsDeliveryResult.FAILED);
+        });
+        assertEquals(SmsDeliveryResult.FAILED, response.getSmsDeliveryResult());
+
+        // Each later request retries the delivery again
+        execute(SmsDeliveryResult.SUCCEEDED);
+        assertEquals(2, retryCount.get());
+        assertEquals(0, createCount.get());
+    }
+
+    private CreateSmsAuthorizationResponse execute(SmsDeliveryResult deliveryResult) throws Exception {
+        return idempotencyService.execute(IDEMPOTENCY_KEY, () -> response("message-" + createCount.incrementAndGet(), deliveryResult), this::retry);
+    }
+
+    private CreateSmsAuthorizationResponse retry(String messageId) {
+        retryCount.incrementAndGet();
+        return response(messageId, SmsDeliveryResult.SUCCEEDED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(ex);
+        }
+    }
+
+    private void storeMessage(SmsDeliveryResult deliveryResult) {
+        when(otpStore.findByIdempotencyKey(IDEMPOTENCY_KEY)).thenReturn(Optional.of(smsEntity(deliveryResult)));
+    }
+
+    private static SmsAuthorizationEntity smsEntity(SmsDeliveryResult deliveryResult) {
+        final SmsAuthorizationEntity smsEntity = new SmsAuthorizationEntity();
+        smsEntity.setMessageId("stored-message");
+        smsEntity.setIdempotencyKey(IDEMPOTENCY_KEY);
+        smsEntity.setDeliveryResult(deliveryResult);
+        return smsEntity;
+    }
+
+    private static CreateSmsAuthorizationResponse response(String messageId, SmsDeliveryResult deliveryResult) {
+        final CreateSmsAuthorizationResponse response = new CreateSmsAuthorizationResponse();
+        response.setMessageId(messageId);
+        response.setSmsDeliveryResult(deliveryResult);
+        return response;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of the token bucket rate limiter of SMS OTP messages.
+ *
+ * @author Wultra s.r.o.
+ */
+class SmsRateLimiterTest {
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private DataAdapterConfiguration configuration;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        // Users may send 3 messages at once and one message per minute afterwards, each operation 2 messages at once
+        configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.isSmsOtpRateLimitEnabled()).thenReturn(true);
+        when(configuration.getSmsOtpRateLimitUserRatePerSecond()).thenReturn(1.0 / 60);
+        when(configuration.getSmsOtpRateLimitUserBurst()).thenReturn(3);
+        when(configuration.getSmsOtpRateLimitOperationRatePerSecond()).thenReturn(1.0 / 60);
+        when(configuration.getSmsOtpRateLimitOperationBurst()).thenReturn(2);
+        when(configuration.getSmsOtpRateLimitMaxKeys()).thenReturn(10_000);
+        now = System.nanoTime();
+    }
+
+    @Test
+    void testDisabledLimiter() {
+        when(configuration.isSmsOtpRateLimitEnabled()).thenReturn(false);
+        final SmsRateLimiter rateLimiter = new SmsRateLimiter(configuration);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(rateLimiter.tryAcquire("user-1", "operation-1", now));
+        }
+    }
+
+    @Test
+    void testUserBurst() {
+        final SmsRateLimiter rateLimiter = new SmsRateLimiter(configuration);
+
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-1", now));
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-2", now));
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-3", now));
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-4", now));
+        // Buckets of other users are independent
+        assertTrue(rateLimiter.tryAcquire("user-2", "operation-5", now));
+    }
+
+    @Test
+    void testOperationBurst() {
+        final SmsRateLimiter rateLimiter = new SmsRateLimiter(configuration);
+
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-1", now));
+        assertTrue(rateLimiter.tryAcquire("user-2", "operation-1", now));
+        assertFalse(rateLimiter.tryAcquire("user-3", "operation-1", now));
+        assertTrue(rateLimiter.tryAcquire(null, "operation-2", now));
+    }
+
+    @Test
+    void testRejectedOperationReturnsUserToken() {
+        final SmsRateLimiter rateLimiter = new SmsRateLimiter(configuration);
+
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-1", now));
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-1", now));
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-1", now));
+        // The rejected message did not consume the last token of the user
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-2", now));
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-3", now));
+    }
+
+    @Test
+    void testRefill() {
+        final SmsRateLimiter rateLimiter = new SmsRateLimiter(configuration);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire("user-1", "operation-" + i, now));
+        }
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-3", now + MINUTE_NANOS - 1_000_000));
+
+        // One token is added per minute
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-3", now + MINUTE_NANOS));
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-4", now + MINUTE_NANOS));
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-4", now + 2 * MINUTE_NANOS));
+    }
+
+    @Test
+    void testRefillLimitedByBurst() {
+        final SmsRateLimiter rateLimiter = new SmsRateLimiter(configuration);
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-0", now));
+
+        // A bucket idle for an hour holds no more tokens than the burst size
+        final long later = now + 60 * MINUTE_NANOS;
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(rateLimiter.tryAcquire("user-1", "operation-" + i, later));
+        }
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-4", later));
+    }
+
+    @Test
+    void testIdleRemovalDoesNotRelaxLimit() {
+        final SmsRateLimiter rateLimiter = new SmsRateLimiter(configuration);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire("user-1", "operation-" + i, now));
+        }
+
+        // A drained bucket is not idle until it is refilled completely
+        rateLimiter.removeIdleBuckets(now + 2 * MINUTE_NANOS);
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-3", now + 2 * MINUTE_NANOS));
+        assertTrue(rateLimiter.tryAcquire("user-1", "operation-4", now + 2 * MINUTE_NANOS));
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-5", now + 2 * MINUTE_NANOS));
+
+        // A removed bucket is replaced by a full bucket, which is the same state as a completely refilled one
+        final long idle = now + 5 * MINUTE_NANOS;
+        rateLimiter.removeIdleBuckets(idle);
+        for (int i = 6; i < 9; i++) {
+            assertTrue(rateLimiter.tryAcquire("user-1", "operation-" + i, idle));
+        }
+        assertFalse(rateLimiter.tryAcquire("user-1", "operation-9", idle));
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark of SMS text rendering before and after the introduction of precompiled templates.
+ * <p>
+ * The benchmark is executed only when the benchmark duration is set, e.g.
+ * {@code mvn test -Dtest=SmsTemplateBenchmarkTest -Dbenchmark.smsTemplate.durationInSeconds=10}. Three variants render
+ * the payment SMS text from the bundled message resources using one thread per CPU core:
+ * <ul>
+ *     <li>new message source - the original rendering, a new message source was created for each SMS text</li>
+ *     <li>shared message source - a shared message source formats the text using a cached MessageFormat</li>
+ *     <li>precompiled template - rendering using {@link SmsTemplateService}</li>
+ * </ul>
+ *
+ * @author Wultra s.r.o.
+ */
+@EnabledIfSystemProperty(named = "benchmark.smsTemplate.durationInSeconds", matches = "\\d+")
+class SmsTemplateBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsTemplateBenchmarkTest.class);
+
+    private static final String CODE = "authorize_payment.smsText";
+    private static final String LANG = "en";
+    private static final String[] ARGS = {"100.00", "CZK", "CZ6508000000192000145399", "12345678"};
+
+    @Test
+    void testRenderThroughput() throws InterruptedException, ExecutionException {
+        final MessageSource sharedMessageSource = createMessageSource();
+        final DataAdapterConfiguration configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.getSmsOtpTemplatePreloadLanguages()).thenReturn(new String[]{LANG});
+        final SmsTemplateService smsTemplateService = new SmsTemplateService(sharedMessageSource, configuration);
+        smsTemplateService.preload(List.of(CODE));
+
+        final String expected = sharedMessageSource.getMessage(CODE, ARGS, new Locale(LANG));
+        benchmark("new message source", expected, () -> createMessageSource().getMessage(CODE, ARGS, new Locale(LANG)));
+        benchmark("shared message source", expected, () -> sharedMessageSource.getMessage(CODE, ARGS, new Locale(LANG)));
+        benchmark("precompiled template", expected, () -> smsTemplateService.render(CODE, LANG, ARGS));
+    }
+
+    private void benchmark(String variant, String expected, Supplier<String> renderer) throws InterruptedException, ExecutionException {
+        final long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("benchmark.smsTemplate.durationInSeconds"));
+        final int threads = Runtime.getRuntime().availableProcessors();
+        // Warm up before the measurement
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected, renderer.get());
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final long started = System.nanoTime();
+            final long deadline = started + durationNanos;
+            final List<Future<Long>> results = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        if (renderer.get().length() != expected.length()) {
+                            throw new IllegalStateException("Unexpected SMS text");
+                        }
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            long renders = 0;
+            for (Future<Long> result : results) {
+                renders += result.get();
+            }
+            final double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            logger.info("SMS text rendering: {}, threads: {}, renders per second: {}, average time: {} us",
+                    variant, threads, (long) (renders / elapsedSeconds), String.format("%.2f", threads * elapsedSeconds * 1_000_000 / Math.max(1, renders)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create a message source in the same way as {@link DataAdapterI18NService}.
+     * @return Message source.
+     */
+    private static MessageSource createMessageSource() {
+        final ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:/static/resources/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setCacheSeconds(-1);
+        return messageSource;
+    }
+
+}
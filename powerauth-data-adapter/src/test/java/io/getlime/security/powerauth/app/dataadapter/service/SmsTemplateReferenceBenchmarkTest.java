@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.repository.model.SmsTemplateReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark of row size, WAL volume and insert throughput of SMS OTP messages stored with the full message text
+ * and stored as a template reference.
+ * <p>
+ * The benchmark requires a PostgreSQL database and it is executed only when the JDBC URL is set, e.g.
+ * {@code mvn test -Dtest=SmsTemplateReferenceBenchmarkTest -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/powerauth
+ * -Dbenchmark.jdbc.username=powerauth -Dbenchmark.jdbc.password=}. The number of inserted rows is set using
+ * property benchmark.rows. Rows are inserted into a table with the columns of table da_sms_authorization.
+ *
+ * @author Wultra s.r.o.
+ */
+@EnabledIfSystemProperty(named = "benchmark.jdbc.url", matches = ".+")
+class SmsTemplateReferenceBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmsTemplateReferenceBenchmarkTest.class);
+
+    private static final String TABLE_NAME = "da_sms_template_benchmark";
+    private static final int BATCH_SIZE = 1000;
+    private static final String TEMPLATE_KEY = "authorize_payment.smsText";
+    private static final String LOCALE = "en";
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Test
+    void testMessageText() throws SQLException {
+        benchmark("message text", false);
+    }
+
+    @Test
+    void testTemplateReference() throws SQLException {
+        benchmark("template reference", true);
+    }
+
+    private void benchmark(String layout, boolean templateReference) throws SQLException {
+        final int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        final SmsTemplate template = loadTemplate();
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc.url"),
+                System.getProperty("benchmark.jdbc.username"), System.getProperty("benchmark.jdbc.password"))) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE_NAME);
+                statement.execute("CREATE TABLE " + TABLE_NAME + " (message_id VARCHAR(256) NOT NULL PRIMARY KEY, operation_id VARCHAR(256) NOT NULL, "
+                        + "user_id VARCHAR(256) NOT NULL, organization_id VARCHAR(256), operation_name VARCHAR(32) NOT NULL, "
+                        + "authorization_code VARCHAR(32) NOT NULL, salt BYTEA NOT NULL, message_text TEXT, verify_request_count INTEGER, "
+                        + "verified BOOLEAN DEFAULT FALSE, timestamp_created TIMESTAMP, timestamp_verified TIMESTAMP, timestamp_expires TIMESTAMP, "
+                        + "template_key VARCHAR(64), template_locale VARCHAR(16), template_args VARCHAR(1024))");
+                connection.commit();
+            }
+            try {
+                final long walStart = currentWalPosition(connection);
+                final long started = System.nanoTime();
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE_NAME + " (message_id, operation_id, user_id, "
+                        + "organization_id, operation_name, authorization_code, salt, message_text, verify_request_count, verified, timestamp_created, "
+                        + "timestamp_expires, template_key, template_locale, template_args) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE, ?, ?, ?, ?, ?)")) {
+                    for (int i = 1; i <= rows; i++) {
+                        final String code = String.format("%08d", random.nextInt(100_000_000));
+                        final List<String> args = List.of(String.format("%d.%02d", random.nextInt(100_000), random.nextInt(100)), "CZK",
+                                String.format("CZ65%020d", random.nextLong(100_000_000_000_000_000L)), code);
+                        final byte[] salt = new byte[16];
+                        random.nextBytes(salt);
+                        final long now = System.currentTimeMillis();
+                        insert.setString(1, UUID.randomUUID().toString());
+                        insert.setString(2, UUID.randomUUID().toString());
+                        insert.setString(3, "user-" + random.nextInt(1_000_000));
+                        insert.setString(4, "RETAIL");
+                        insert.setString(5, "authorize_payment");
+                        insert.setString(6, code);
+                        insert.setBytes(7, salt);
+                        insert.setTimestamp(9, new Timestamp(now));
+                        insert.setTimestamp(10, new Timestamp(now + 300_000L));
+                        if (templateReference) {
+                            insert.setString(8, null);
+                            insert.setString(11, TEMPLATE_KEY);
+                            insert.setString(12, LOCALE);
+                            insert.setString(13, new SmsTemplateReference(TEMPLATE_KEY, LOCALE, args).encodeArgs());
+                        } else {
+                            insert.setString(8, template.render(args.toArray(new String[0])));
+                            insert.setString(11, null);
+                            insert.setString(12, null);
+                            insert.setString(13, null);
+                        }
+                        insert.addBatch();
+                        if (i % BATCH_SIZE == 0 || i == rows) {
+                            insert.executeBatch();
+                            connection.commit();
+                        }
+                    }
+                }
+                final long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                final long walBytes = currentWalPosition(connection) - walStart;
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT COUNT(*), AVG(pg_column_size(t.*)), pg_table_size('" + TABLE_NAME + "') FROM " + TABLE_NAME + " t")) {
+                    rs.next();
+                    assertEquals(rows, rs.getLong(1));
+                    logger.info("SMS message layout: {}, rows: {}, time: {} ms, inserts per second: {}, average row size: {} B, table size: {} kB, WAL per row: {} B",
+                            layout, rows, elapsedMillis, rows * 1000L / elapsedMillis, Math.round(rs.getDouble(2)), rs.getLong(3) / 1024, walBytes / rows);
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE " + TABLE_NAME);
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static long currentWalPosition(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::bigint")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Compile the payment SMS text template from the bundled message resources.
+     * @return Compiled template.
+     */
+    private static SmsTemplate loadTemplate() {
+        final ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:/static/resources/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        final Locale locale = new Locale(LOCALE);
+        return SmsTemplate.compile(messageSource.getMessage(TEMPLATE_KEY, null, locale), locale);
+    }
+
+}
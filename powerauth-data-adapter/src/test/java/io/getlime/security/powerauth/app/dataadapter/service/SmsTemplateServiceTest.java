@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of rendering of SMS texts using precompiled templates.
+ *
+ * @author Wultra s.r.o.
+ */
+class SmsTemplateServiceTest {
+
+    private static final String CODE = "login.smsText";
+
+    private StaticMessageSource messageSource;
+    private SmsTemplateService smsTemplateService;
+
+    @BeforeEach
+    void setUp() {
+        messageSource = new StaticMessageSource();
+        messageSource.addMessage(CODE, new Locale("en"), "Authorization code for login is {0}.");
+        messageSource.addMessage(CODE, new Locale("cs"), "Autorizační kód pro přihlášení je {0}.");
+        final DataAdapterConfiguration configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.getSmsOtpTemplatePreloadLanguages()).thenReturn(new String[]{"en", "cs"});
+        smsTemplateService = new SmsTemplateService(messageSource, configuration);
+        smsTemplateService.preload(List.of(CODE));
+    }
+
+    @Test
+    void testRenderConfiguredLanguages() {
+        assertEquals("Authorization code for login is 12345678.", smsTemplateService.render(CODE, "en", "12345678"));
+        assertEquals("Autorizační kód pro přihlášení je 12345678.", smsTemplateService.render(CODE, "cs", "12345678"));
+    }
+
+    @Test
+    void testRenderLanguageTag() {
+        assertEquals("Authorization code for login is 12345678.", smsTemplateService.render(CODE, "en-US", "12345678"));
+        assertEquals("Autorizační kód pro přihlášení je 12345678.", smsTemplateService.render(CODE, "CS", "12345678"));
+    }
+
+    @Test
+    void testRenderUnknownLanguageInDefaultLanguage() {
+        messageSource.addMessage(CODE, new Locale("de"), "Autorisierungscode für die Anmeldung ist {0}.");
+
+        assertEquals("Authorization code for login is 12345678.", smsTemplateService.render(CODE, "de", "12345678"));
+        assertEquals("Authorization code for login is 12345678.", smsTemplateService.render(CODE, "xx-unknown", "12345678"));
+        assertEquals("Authorization code for login is 12345678.", smsTemplateService.render(CODE, null, "12345678"));
+    }
+
+    @Test
+    void testRefreshChangedPattern() {
+        messageSource.addMessage(CODE, new Locale("en"), "Your login code is {0}.");
+
+        assertEquals("Authorization code for login is 12345678.", smsTemplateService.render(CODE, "en", "12345678"));
+        smsTemplateService.refresh();
+        assertEquals("Your login code is 12345678.", smsTemplateService.render(CODE, "en", "12345678"));
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test of precompiled SMS text templates, rendering must produce the same output as {@link MessageFormat}.
+ *
+ * @author Wultra s.r.o.
+ */
+class SmsTemplateTest {
+
+    private static final Object[] ARGS = {"12345678", "100.00", "CZK"};
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "Authorization code for login is {0}.",
+            "Authorization code for payment of {1} {2} is {0}.",
+            "{0}{1}{0}",
+            "It''s {0}",
+            "''{0}''",
+            "'it''s' quoted {0}",
+            "'{0}' is literal, {0} is not",
+            "Quoted braces '{' and '}' around {0}",
+            "a'{'b'}'c",
+            "Closing } brace outside of argument {0}",
+            "Unterminated 'quote {0}",
+            "Missing argument {5}"
+    })
+    void testRenderSameAsMessageFormat(String pattern) {
+        final SmsTemplate template = SmsTemplate.compile(pattern, Locale.ENGLISH);
+
+        assertEquals(new MessageFormat(pattern, Locale.ENGLISH).format(ARGS), template.render("12345678", "100.00", "CZK"));
+    }
+
+    @Test
+    void testNullArgument() {
+        final String pattern = "Code {0}";
+
+        assertEquals(new MessageFormat(pattern, Locale.ENGLISH).format(new Object[]{null}), SmsTemplate.compile(pattern, Locale.ENGLISH).render((String) null));
+    }
+
+    @Test
+    void testFormattedArgumentFallsBackToMessageFormat() {
+        final String pattern = "Amount {0,number,#.##} {1}";
+        final SmsTemplate template = SmsTemplate.compile(pattern, Locale.ENGLISH);
+
+        // String arguments cannot be formatted as numbers, MessageFormat rejects them in the same way
+        assertThrows(IllegalArgumentException.class, () -> new MessageFormat(pattern, Locale.ENGLISH).format(ARGS));
+        assertThrows(IllegalArgumentException.class, () -> template.render("100.00", "CZK"));
+    }
+
+    @Test
+    void testFormattedArgumentWithoutArgumentsFallsBackToMessageFormat() {
+        final String pattern = "Sent on {0,date,yyyy-MM-dd}";
+        final SmsTemplate template = SmsTemplate.compile(pattern, Locale.ENGLISH);
+
+        assertEquals(new MessageFormat(pattern, Locale.ENGLISH).format(new Object[0]), template.render());
+    }
+
+    @Test
+    void testInvalidArgumentFallsBackToMessageFormat() {
+        final SmsTemplate template = SmsTemplate.compile("Code { 0 }", Locale.ENGLISH);
+
+        assertThrows(IllegalArgumentException.class, template::render);
+    }
+
+}
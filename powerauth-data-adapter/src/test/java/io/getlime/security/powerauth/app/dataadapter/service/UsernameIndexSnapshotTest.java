@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.service.UsernameIndexSnapshot.UsernameKey;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test of the compact snapshot of username mappings.
+ *
+ * @author Wultra s.r.o.
+ */
+class UsernameIndexSnapshotTest {
+
+    @Test
+    void testEmptySnapshot() {
+        final UsernameIndexSnapshot snapshot = UsernameIndexSnapshot.empty();
+
+        assertEquals(0, snapshot.size());
+        assertNull(snapshot.findUserId("alice", "RETAIL"));
+        assertNull(snapshot.findUsername("user-1"));
+    }
+
+    @Test
+    void testLookups() {
+        final UsernameIndexSnapshot snapshot = new UsernameIndexSnapshot.Builder()
+                .add("user-1", "alice", "RETAIL")
+                .add("user-2", "bob", "RETAIL")
+                .add("user-3", "alice", "SME")
+                .build();
+
+        assertEquals(3, snapshot.size());
+        assertEquals("user-1", snapshot.findUserId("alice", "RETAIL"));
+        assertEquals("user-2", snapshot.findUserId("bob", "RETAIL"));
+        assertEquals("user-3", snapshot.findUserId("alice", "SME"));
+        assertNull(snapshot.findUserId("bob", "SME"));
+        assertNull(snapshot.findUserId("carol", "RETAIL"));
+        assertNull(snapshot.findUserId("alice", "UNKNOWN"));
+        assertNull(snapshot.findUserId("alice", null));
+        assertEquals(new UsernameKey("alice", "SME"), snapshot.findUsername("user-3"));
+        assertNull(snapshot.findUsername("user-4"));
+    }
+
+    @Test
+    void testFirstMappingWins() {
+        final UsernameIndexSnapshot snapshot = new UsernameIndexSnapshot.Builder()
+                .add("user-1", "alice", "RETAIL")
+                .add("user-2", "alice", "RETAIL")
+                .add("user-1", "alice2", "RETAIL")
+                .build();
+
+        assertEquals(2, snapshot.size());
+        assertEquals("user-1", snapshot.findUserId("alice", "RETAIL"));
+        assertEquals("user-1", snapshot.findUserId("alice2", "RETAIL"));
+        assertEquals(new UsernameKey("alice", "RETAIL"), snapshot.findUsername("user-1"));
+        assertEquals(new UsernameKey("alice", "RETAIL"), snapshot.findUsername("user-2"));
+    }
+
+    @Test
+    void testIncompleteMappingsSkipped() {
+        final UsernameIndexSnapshot snapshot = new UsernameIndexSnapshot.Builder()
+                .add(null, "alice", "RETAIL")
+                .add("user-2", null, "RETAIL")
+                .add("user-3", "carol", null)
+                .build();
+
+        assertEquals(0, snapshot.size());
+        assertNull(snapshot.findUserId("alice", "RETAIL"));
+        assertNull(snapshot.findUsername("user-3"));
+    }
+
+    @Test
+    void testNonAsciiUsernames() {
+        final UsernameIndexSnapshot snapshot = new UsernameIndexSnapshot.Builder()
+                .add("user-1", "žluťoučký.kůň", "RETAIL")
+                .add("uživatel-2", "bob", "RETAIL")
+                .build();
+
+        assertEquals("user-1", snapshot.findUserId("žluťoučký.kůň", "RETAIL"));
+        assertNull(snapshot.findUserId("zlutoucky.kun", "RETAIL"));
+        assertEquals(new UsernameKey("bob", "RETAIL"), snapshot.findUsername("uživatel-2"));
+    }
+
+    @Test
+    void testLargeSnapshot() {
+        // More mappings and bytes than the initial capacity of the builder
+        final UsernameIndexSnapshot.Builder builder = new UsernameIndexSnapshot.Builder();
+        for (int i = 0; i < 50_000; i++) {
+            builder.add("user-" + i, "username-with-a-longer-name-" + i, "ORGANIZATION-" + (i % 3));
+        }
+        final UsernameIndexSnapshot snapshot = builder.build();
+
+        assertEquals(50_000, snapshot.size());
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals("user-" + i, snapshot.findUserId("username-with-a-longer-name-" + i, "ORGANIZATION-" + (i % 3)));
+            assertEquals(new UsernameKey("username-with-a-longer-name-" + i, "ORGANIZATION-" + (i % 3)), snapshot.findUsername("user-" + i));
+        }
+        assertNull(snapshot.findUserId("username-with-a-longer-name-1", "ORGANIZATION-0"));
+        assertNull(snapshot.findUserId("username-with-a-longer-name-50000", "ORGANIZATION-2"));
+    }
+
+}
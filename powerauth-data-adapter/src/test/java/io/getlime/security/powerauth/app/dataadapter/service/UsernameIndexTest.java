@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.dataadapter.service;
+
+import io.getlime.security.powerauth.app.dataadapter.configuration.DataAdapterConfiguration;
+import io.getlime.security.powerauth.app.dataadapter.repository.model.UsernameEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of the username index, its overlay of updated usernames and the swap of rebuilt snapshots.
+ *
+ * @author Wultra s.r.o.
+ */
+class UsernameIndexTest {
+
+    private final TestUsernameSource usernameSource = new TestUsernameSource();
+
+    @Test
+    void testNotReadyBeforeFirstRefresh() {
+        usernameSource.put("user-1", "alice", 1000);
+        final UsernameIndex index = createIndex(Long.MAX_VALUE, 1000);
+
+        assertFalse(index.isReady());
+        assertNull(index.findUserId("alice", "RETAIL"));
+
+        index.refresh();
+        assertTrue(index.isReady());
+        assertEquals("user-1", index.findUserId("alice", "RETAIL"));
+    }
+
+    @Test
+    void testUpdatesApplied() {
+        usernameSource.put("user-1", "alice", 1000);
+        usernameSource.put("user-2", "bob", 1000);
+        final UsernameIndex index = createIndex(Long.MAX_VALUE, 1000);
+        index.refresh();
+
+        usernameSource.put("user-1", "alice.new", 2000);
+        usernameSource.put("user-3", "carol", 2000);
+        index.refresh();
+
+        assertEquals("user-1", index.findUserId("alice.new", "RETAIL"));
+        assertNull(index.findUserId("alice", "RETAIL"));
+        assertEquals("user-2", index.findUserId("bob", "RETAIL"));
+        assertEquals("user-3", index.findUserId("carol", "RETAIL"));
+        assertEquals(1, usernameSource.fullLoads);
+    }
+
+    @Test
+    void testOlderVersionIgnored() {
+        usernameSource.put("user-1", "alice", 1000);
+        final UsernameIndex index = createIndex(Long.MAX_VALUE, 1000);
+        index.refresh();
+        usernameSource.put("user-1", "alice.new", 3000);
+        index.refresh();
+
+        // An older version of the mapping arrives late within the refresh overlap
+        usernameSource.put("user-1", "alice.old", 2500);
+        index.refresh();
+
+        assertEquals("user-1", index.findUserId("alice.new", "RETAIL"));
+        assertNull(index.findUserId("alice.old", "RETAIL"));
+    }
+
+    @Test
+    void testSnapshotSwappedWhenOverlayTooLarge() {
+        usernameSource.put("user-1", "alice", 1000);
+        usernameSource.put("user-2", "bob", 1000);
+        // Mappings within the refresh overlap are applied to the overlay of a rebuilt snapshot too
+        final UsernameIndex index = createIndex(Long.MAX_VALUE, 3);
+        index.refresh();
+
+        // The deleted user stays in the old snapshot until the snapshot is rebuilt
+        usernameSource.remove("user-2");
+        usernameSource.put("user-3", "carol", 2000);
+        usernameSource.put("user-4", "dave", 2000);
+        index.refresh();
+        assertEquals(1, usernameSource.fullLoads);
+        assertEquals("user-2", index.findUserId("bob", "RETAIL"));
+        assertEquals("user-4", index.findUserId("dave", "RETAIL"));
+
+        // The overlay exceeds the limit, the snapshot is rebuilt and swapped
+        index.refresh();
+        assertEquals(2, usernameSource.fullLoads);
+        assertNull(index.findUserId("bob", "RETAIL"));
+        assertEquals("user-1", index.findUserId("alice", "RETAIL"));
+        assertEquals("user-3", index.findUserId("carol", "RETAIL"));
+        assertEquals("user-4", index.findUserId("dave", "RETAIL"));
+    }
+
+    @Test
+    void testSnapshotSwappedWhenFullRefreshDue() {
+        usernameSource.put("user-1", "alice", 1000);
+        final UsernameIndex index = createIndex(0, 1000);
+        index.refresh();
+
+        usernameSource.remove("user-1");
+        index.refresh();
+
+        assertEquals(2, usernameSource.fullLoads);
+        assertNull(index.findUserId("alice", "RETAIL"));
+    }
+
+    @Test
+    void testLookupsDuringRebuild() throws Exception {
+        usernameSource.put("user-1", "alice", 1000);
+        final UsernameIndex index = createIndex(0, 1000);
+        index.refresh();
+
+        usernameSource.put("user-1", "alice.new", 2000);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        usernameSource.beforeFullLoad = () -> {
+            loading.countDown();
+            await(release);
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> rebuild = executor.submit(index::refresh);
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // The previous snapshot answers lookups until the rebuilt snapshot is swapped in
+            assertEquals("user-1", index.findUserId("alice", "RETAIL"));
+            assertNull(index.findUserId("alice.new", "RETAIL"));
+
+            // An update committed while the snapshot is being built is applied before the swap
+            usernameSource.put("user-2", "bob", 3000);
+            release.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertNull(index.findUserId("alice", "RETAIL"));
+        assertEquals("user-1", index.findUserId("alice.new", "RETAIL"));
+        assertEquals("user-2", index.findUserId("bob", "RETAIL"));
+    }
+
+    @Test
+    void testFailedRebuildKeepsSnapshot() {
+        usernameSource.put("user-1", "alice", 1000);
+        final UsernameIndex index = createIndex(0, 1000);
+        index.refresh();
+
+        usernameSource.beforeFullLoad = () -> {
+            throw new IllegalStateException("Database is not available");
+        };
+        index.refresh();
+
+        assertTrue(index.isReady());
+        assertEquals("user-1", index.findUserId("alice", "RETAIL"));
+    }
+
+    private UsernameIndex createIndex(long fullRefreshInterval, int maxOverlayEntries) {
+        final DataAdapterConfiguration configuration = mock(DataAdapterConfiguration.class);
+        when(configuration.isUsernameIndexEnabled()).thenReturn(true);
+        when(configuration.getUsernameIndexFullRefreshInterval()).thenReturn(fullRefreshInterval);
+        when(configuration.getUsernameIndexRefreshOverlap()).thenReturn(1000L);
+        when(configuration.getUsernameIndexMaxOverlayEntries()).thenReturn(maxOverlayEntries);
+        return new UsernameIndex(usernameSource, configuration, new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(ex);
+        }
+    }
+
+    /**
+     * Source of username mappings of organization RETAIL kept in memory.
+     */
+    private static final class TestUsernameSource implements UsernameSource {
+
+        private final List<UsernameEntry> entries = new ArrayList<>();
+        private volatile Runnable beforeFullLoad = () -> {};
+        private int fullLoads;
+
+        synchronized void put(String userId, String username, long timestampLastUpdated) {
+            entries.removeIf(entry -> entry.userId().equals(userId));
+            entries.add(new UsernameEntry(userId, username, "RETAIL", new Date(timestampLastUpdated)));
+        }
+
+        synchronized void remove(String userId) {
+            entries.removeIf(entry -> entry.userId().equals(userId));
+        }
+
+        @Override
+        public void forEachUsername(Date updatedSince, Consumer<UsernameEntry> consumer) {
+            final List<UsernameEntry> result;
+            if (updatedSince == null) {
+                fullLoads++;
+                final List<UsernameEntry> loaded = snapshot();
+                beforeFullLoad.run();
+                result = loaded;
+                result.sort(Comparator.comparing(UsernameEntry::userId));
+            } else {
+                result = snapshot();
+                result.removeIf(entry -> entry.timestampLastUpdated().before(updatedSince));
+                result.sort(Comparator.comparing(UsernameEntry::timestampLastUpdated));
+            }
+            result.forEach(consumer);
+        }
+
+        private synchronized List<UsernameEntry> snapshot() {
+            return new ArrayList<>(entries);
+        }
+    }
+
+}